@@ -0,0 +1,266 @@
+package com.petros.bibernate.action;
+
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.session.context.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Queue of the {@link EntityAction EntityActions} of a session. Actions are executed in the order of their priority.
+ * Within the same priority, the actions are grouped by entity class in the order of the foreign keys between the
+ * classes, see {@link EntityDependencyOrder}: inserts, upserts and updates of referenced classes come first, deletes of
+ * referencing classes come first. Inserts and upserts have the same priority, so an upserted entity is written before
+ * the inserted entities that refer to it. Actions of the same class, or of classes that refer to each other, keep the
+ * order they were added in.
+ * <p>
+ * When the batch size is greater than 1, consecutive inserts or updates of entities of the same class are executed
+ * together with JDBC batching, at most batch size entities per batch. Consecutive deletes of entities of the same
+ * class are executed with set-based {@code DELETE ... WHERE id IN (...)} statements.
+ * <p>
+ * Before the actions are executed, the actions on the same entity instance are coalesced, because every action writes
+ * the state the entity has when it is executed:
+ * <ul>
+ *     <li>an insert followed by a delete cancel each other out;</li>
+ *     <li>an upsert followed by a delete are both kept and run in that order, the upsert makes sure the delete finds
+ *     a row;</li>
+ *     <li>a delete followed by an upsert is dropped, and a delete followed by an insert is dropped and the insert
+ *     becomes an upsert, so the row ends up with the state of the entity instead of being deleted after it is
+ *     written;</li>
+ *     <li>updates and upserts following an insert or an upsert are dropped;</li>
+ *     <li>repeated updates are merged into one update of all their changed properties;</li>
+ *     <li>updates preceding or following a delete are dropped.</li>
+ * </ul>
+ */
+@Slf4j
+public class ActionQueue {
+    private final List<EntityAction> actions = new ArrayList<>();
+    private final Set<Object> insertedEntities = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final int batchSize;
+
+    /**
+     * Creates a queue that executes inserts and updates in JDBC batches of the given size.
+     *
+     * @param batchSize the maximum number of statements in a batch, batching is disabled if it is less than 2
+     */
+    public ActionQueue(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates a queue that executes every action with its own statement.
+     */
+    public ActionQueue() {
+        this(0);
+    }
+
+    public void add(EntityAction action) {
+        actions.add(action);
+        if (action instanceof InsertEntityAction insertAction) {
+            insertedEntities.add(insertAction.getEntity());
+        }
+    }
+
+    /**
+     * Checks whether the insert of the given entity instance is queued.
+     *
+     * @param entity the entity
+     * @return true if the entity is inserted by a queued action
+     */
+    public boolean containsInsert(Object entity) {
+        return insertedEntities.contains(entity);
+    }
+
+    public boolean isEmpty() {
+        return actions.isEmpty();
+    }
+
+    public int size() {
+        return actions.size();
+    }
+
+    public void clear() {
+        actions.clear();
+        insertedEntities.clear();
+    }
+
+    /**
+     * Executes all queued actions and removes them from the queue.
+     *
+     * @param connection         the database connection to use for executing the actions
+     * @param persistenceContext the persistence context to use for managing the entities
+     */
+    public void executeActions(Connection connection, PersistenceContext persistenceContext) {
+        coalesceActions(persistenceContext);
+        insertedEntities.clear();
+        sortActions();
+        log.trace("Executing {} entity actions", actions.size());
+        int index = 0;
+        while (index < actions.size()) {
+            var action = actions.get(index);
+            if (batchSize > 1 && action instanceof BatchableEntityAction batchableAction) {
+                var batch = collectBatch(index, batchableAction);
+                if (batch.size() > 1) {
+                    batchableAction.executeBatch(batch, connection, persistenceContext);
+                } else {
+                    action.execute(connection, persistenceContext);
+                }
+                index += batch.size();
+            } else {
+                action.execute(connection, persistenceContext);
+                index++;
+            }
+        }
+        actions.clear();
+    }
+
+    private void coalesceActions(PersistenceContext persistenceContext) {
+        int queuedActions = actions.size();
+        var pendingActions = new IdentityHashMap<Object, PendingActions>();
+        var coalesced = new ArrayList<EntityAction>(queuedActions);
+        for (EntityAction action : actions) {
+            if (!(action instanceof BatchableEntityAction entityAction)) {
+                coalesced.add(action);
+                continue;
+            }
+            var entity = entityAction.getEntity();
+            var pending = pendingActions.computeIfAbsent(entity, e -> new PendingActions());
+            if (action instanceof InsertEntityAction) {
+                if (pending.delete >= 0) {
+                    pending.delete = cancel(coalesced, pending.delete);
+                    pending.deleted = false;
+                    action = new UpsertEntityAction(entityAction.getPersister(), entity);
+                }
+                pending.write = coalesced.size();
+                coalesced.add(action);
+            } else if (action instanceof UpsertEntityAction) {
+                if (pending.delete >= 0) {
+                    pending.delete = cancel(coalesced, pending.delete);
+                }
+                pending.deleted = false;
+                if (pending.write < 0) {
+                    pending.write = coalesced.size();
+                    coalesced.add(action);
+                    pending.update = cancel(coalesced, pending.update);
+                }
+            } else if (action instanceof UpdateEntityAction update) {
+                if (pending.write >= 0 || pending.deleted) {
+                    continue;
+                }
+                if (pending.update >= 0) {
+                    coalesced.set(pending.update, merge((UpdateEntityAction) coalesced.get(pending.update), update));
+                } else {
+                    pending.update = coalesced.size();
+                    coalesced.add(action);
+                }
+            } else if (action instanceof DeleteEntityAction) {
+                pending.update = cancel(coalesced, pending.update);
+                if (pending.write >= 0 && coalesced.get(pending.write) instanceof InsertEntityAction) {
+                    // the row was never written, the entity is forgotten as if it had not been persisted
+                    pending.write = cancel(coalesced, pending.write);
+                    removeFromContext(entityAction, persistenceContext);
+                } else if (!pending.deleted) {
+                    pending.delete = coalesced.size();
+                    coalesced.add(action);
+                }
+                pending.deleted = true;
+            } else {
+                coalesced.add(action);
+            }
+        }
+        actions.clear();
+        coalesced.stream().filter(Objects::nonNull).forEach(actions::add);
+        if (actions.size() < queuedActions) {
+            log.trace("Coalesced {} entity actions into {}", queuedActions, actions.size());
+        }
+    }
+
+    private static int cancel(List<EntityAction> actions, int index) {
+        if (index >= 0) {
+            actions.set(index, null);
+        }
+        return -1;
+    }
+
+    private static UpdateEntityAction merge(UpdateEntityAction first, UpdateEntityAction second) {
+        if (first.getDirtyProperties() == null || second.getDirtyProperties() == null) {
+            return new UpdateEntityAction(first.getPersister(), first.getEntity());
+        }
+        var dirtyProperties = (BitSet) first.getDirtyProperties().clone();
+        dirtyProperties.or(second.getDirtyProperties());
+        return new UpdateEntityAction(first.getPersister(), first.getEntity(), dirtyProperties);
+    }
+
+    private static void removeFromContext(BatchableEntityAction action, PersistenceContext persistenceContext) {
+        var entity = action.getEntity();
+        var id = action.getPersister().getMetadataRegistry().getMetadata(entity.getClass()).getIdValue(entity);
+        if (id != null && persistenceContext.getCachedEntity(entity.getClass(), id).orElse(null) == entity) {
+            persistenceContext.remove(entity);
+        }
+    }
+
+    private void sortActions() {
+        var entityClasses = new HashSet<Class<?>>();
+        EntityMetadataRegistry metadataRegistry = null;
+        for (EntityAction action : actions) {
+            if (action instanceof BatchableEntityAction entityAction) {
+                entityClasses.add(entityAction.getEntity().getClass());
+                metadataRegistry = entityAction.getPersister().getMetadataRegistry();
+            }
+        }
+        if (metadataRegistry == null) {
+            actions.sort(Comparator.comparingInt(EntityAction::priority));
+            return;
+        }
+        var ranks = EntityDependencyOrder.rank(entityClasses, metadataRegistry);
+        actions.sort(Comparator.comparingInt(EntityAction::priority)
+                .thenComparingInt(action -> getDependencyRank(action, ranks)));
+    }
+
+    private static int getDependencyRank(EntityAction action, Map<Class<?>, Integer> ranks) {
+        if (!(action instanceof BatchableEntityAction entityAction)) {
+            return 0;
+        }
+        int rank = ranks.get(entityAction.getEntity().getClass());
+        return action.priority() == EntityActionPriority.DELETE.getPriority() ? -rank : rank;
+    }
+
+    /**
+     * The positions of the queued actions on a single entity instance, -1 if there is no such action.
+     */
+    private static final class PendingActions {
+        /**
+         * The insert or upsert writing the whole entity.
+         */
+        private int write = -1;
+        private int update = -1;
+        /**
+         * The queued delete of the entity, -1 when there is none or it was cancelled.
+         */
+        private int delete = -1;
+        private boolean deleted;
+    }
+
+    private List<Object> collectBatch(int fromIndex, BatchableEntityAction first) {
+        List<Object> batch = new ArrayList<>();
+        batch.add(first.getEntity());
+        int maxBatchSize = first.getMaxBatchSize(batchSize);
+        for (int i = fromIndex + 1; i < actions.size() && batch.size() < maxBatchSize; i++) {
+            if (!(actions.get(i) instanceof BatchableEntityAction next) || !first.canBatchWith(next)) {
+                break;
+            }
+            batch.add(next.getEntity());
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,50 @@
+package com.petros.bibernate.action;
+
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.session.context.PersistenceContext;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * An {@link EntityAction} that can be executed together with other actions of the same kind in a single JDBC batch.
+ * The {@link ActionQueue} batches consecutive actions for which {@link #canBatchWith(BatchableEntityAction)} holds.
+ */
+interface BatchableEntityAction extends EntityAction {
+
+    EntityPersister getPersister();
+
+    Object getEntity();
+
+    /**
+     * Checks whether this action and the given action can be executed in the same batch. By default, these are
+     * actions of the same kind on entities of the same class executed by the same persister.
+     *
+     * @param other another batchable action
+     * @return true if both actions can be executed in the same batch
+     */
+    default boolean canBatchWith(BatchableEntityAction other) {
+        return getClass() == other.getClass()
+                && getPersister() == other.getPersister()
+                && getEntity().getClass() == other.getEntity().getClass();
+    }
+
+    /**
+     * Gets the maximum number of actions in a batch.
+     *
+     * @param batchSize the configured JDBC batch size
+     * @return the maximum number of actions that can be executed in a single batch
+     */
+    default int getMaxBatchSize(int batchSize) {
+        return batchSize;
+    }
+
+    /**
+     * Executes the action for the entities of this action and the given batchable actions in a single JDBC batch.
+     *
+     * @param entities           the entities of all actions of the batch, starting with the entity of this action
+     * @param connection         the database connection to use for executing the actions
+     * @param persistenceContext the persistence context to use for managing the entities
+     */
+    void executeBatch(List<Object> entities, Connection connection, PersistenceContext persistenceContext);
+}
@@ -3,18 +3,21 @@ package com.petros.bibernate.action;
 import com.petros.bibernate.dao.EntityPersister;
 import com.petros.bibernate.session.context.PersistenceContext;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
+import java.util.List;
 
 /**
  * Represents a delete action for an entity.
  */
 @Builder
+@Getter
 @RequiredArgsConstructor
 @Slf4j
-public class DeleteEntityAction implements EntityAction {
+public class DeleteEntityAction implements BatchableEntityAction {
 
     private final EntityPersister persister;
     private final Object entity;
@@ -27,6 +30,22 @@ public class DeleteEntityAction implements EntityAction {
         log.trace("Entity deleted: {}", entity);
     }
 
+    /**
+     * Deletes are executed as set-based statements that the persister splits by the parameter limit of the database,
+     * so the number of deletes in a batch is not limited by the JDBC batch size.
+     */
+    @Override
+    public int getMaxBatchSize(int batchSize) {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void executeBatch(List<Object> entities, Connection connection, PersistenceContext persistenceContext) {
+        log.trace("Deleting batch of {} entities", entities.size());
+        persister.deleteAll(entities, connection).forEach(persistenceContext::remove);
+        log.trace("Batch of {} entities deleted", entities.size());
+    }
+
     @Override
     public int priority() {
         return EntityActionPriority.DELETE.getPriority();
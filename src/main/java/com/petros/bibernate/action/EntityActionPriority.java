@@ -5,11 +5,12 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * This enum defines the priorities for various entity actions.
- * The priorities are used to order the actions during a transaction.
+ * The priorities are used to order the actions during a transaction. Inserts and upserts share a priority, so they
+ * are ordered by the foreign keys between their entity classes only.
  */
 @RequiredArgsConstructor
 public enum EntityActionPriority {
-    INSERT(1), UPDATE(2), DELETE(3);
+    INSERT(1), UPSERT(1), UPDATE(2), DELETE(3);
 
     /**
      * The priority value for the entity action.
@@ -0,0 +1,86 @@
+package com.petros.bibernate.action;
+
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.PropertyMetadata;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranks entity classes by the foreign keys of their {@link com.petros.bibernate.annotation.ManyToOne} and
+ * {@link com.petros.bibernate.annotation.OneToOne} relations: a class is ranked after the classes it refers to, so
+ * rows inserted in the order of the ranks never refer to rows that are not inserted yet, and rows deleted in the
+ * reverse order are never referred to by rows that are not deleted yet.
+ * <p>
+ * Classes that refer to each other, directly or through other classes, get the same rank, because no order satisfies
+ * all of their foreign keys. Every other class gets a rank of its own, so the actions of a class stay together.
+ */
+final class EntityDependencyOrder {
+    private final EntityMetadataRegistry metadataRegistry;
+    private final Map<Class<?>, Integer> ranks = new HashMap<>();
+    private final Map<Class<?>, Integer> visitIndexes = new HashMap<>();
+    private final Map<Class<?>, Integer> lowLinks = new HashMap<>();
+    private final Deque<Class<?>> stack = new ArrayDeque<>();
+    private int nextRank;
+
+    private EntityDependencyOrder(EntityMetadataRegistry metadataRegistry) {
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    /**
+     * Ranks the given entity classes and the classes they depend on.
+     *
+     * @param entityClasses    the entity classes to rank
+     * @param metadataRegistry the registry of the entity metadata
+     * @return the rank of every class, referenced classes have lower ranks than the classes referring to them
+     */
+    static Map<Class<?>, Integer> rank(Collection<Class<?>> entityClasses, EntityMetadataRegistry metadataRegistry) {
+        var order = new EntityDependencyOrder(metadataRegistry);
+        // visiting the classes in a fixed order makes the ranks of independent classes deterministic
+        entityClasses.stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .filter(entityClass -> !order.visitIndexes.containsKey(entityClass))
+                .forEach(order::visit);
+        return order.ranks;
+    }
+
+    // Tarjan's algorithm, it completes the strongly connected components of the graph in reverse topological order,
+    // that is every class after the classes it refers to
+    private void visit(Class<?> entityClass) {
+        int index = visitIndexes.size();
+        visitIndexes.put(entityClass, index);
+        lowLinks.put(entityClass, index);
+        stack.push(entityClass);
+        for (Class<?> dependency : getDependencies(entityClass)) {
+            if (!visitIndexes.containsKey(dependency)) {
+                visit(dependency);
+                lowLinks.put(entityClass, Math.min(lowLinks.get(entityClass), lowLinks.get(dependency)));
+            } else if (stack.contains(dependency)) {
+                lowLinks.put(entityClass, Math.min(lowLinks.get(entityClass), visitIndexes.get(dependency)));
+            }
+        }
+        if (lowLinks.get(entityClass) == index) {
+            int rank = nextRank++;
+            Class<?> member;
+            do {
+                member = stack.pop();
+                ranks.put(member, rank);
+            } while (member != entityClass);
+        }
+    }
+
+    private List<Class<?>> getDependencies(Class<?> entityClass) {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        return metadata.getRelationProperties().stream()
+                .filter(PropertyMetadata::isToOne)
+                .<Class<?>>map(PropertyMetadata::getRelatedEntityType)
+                .filter(relatedType -> relatedType != entityClass)
+                .toList();
+    }
+}
@@ -3,19 +3,22 @@ package com.petros.bibernate.action;
 import com.petros.bibernate.dao.EntityPersister;
 import com.petros.bibernate.session.context.PersistenceContext;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
+import java.util.List;
 
 
 /**
  * Represents an insert action for an entity.
  */
 @Builder
+@Getter
 @RequiredArgsConstructor
 @Slf4j
-public class InsertEntityAction implements EntityAction {
+public class InsertEntityAction implements BatchableEntityAction {
 
     private final EntityPersister persister;
     private final Object entity;
@@ -29,6 +32,13 @@ public class InsertEntityAction implements EntityAction {
 
     }
 
+    @Override
+    public void executeBatch(List<Object> entities, Connection connection, PersistenceContext persistenceContext) {
+        log.trace("Inserting batch of {} entities", entities.size());
+        persister.insertAll(entities, connection).forEach(persistenceContext::cache);
+        log.trace("Batch of {} entities inserted", entities.size());
+    }
+
     @Override
     public int priority() {
         return EntityActionPriority.INSERT.getPriority();
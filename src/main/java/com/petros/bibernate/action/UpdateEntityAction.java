@@ -2,28 +2,66 @@ package com.petros.bibernate.action;
 
 import com.petros.bibernate.dao.EntityPersister;
 import com.petros.bibernate.session.context.PersistenceContext;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
 
 /**
- * Represents an update action for an entity.
+ * Represents an update action for an entity. If the changed properties of the entity are known, only their columns are
+ * updated.
  */
+@Getter
 @RequiredArgsConstructor
 @Slf4j
-public class UpdateEntityAction implements EntityAction {
+public class UpdateEntityAction implements BatchableEntityAction {
 
     private final EntityPersister persister;
     private final Object entity;
+    /**
+     * The indexes of the changed snapshot properties, or null if all updatable columns are written.
+     */
+    private final BitSet dirtyProperties;
+
+    public UpdateEntityAction(EntityPersister persister, Object entity) {
+        this(persister, entity, null);
+    }
 
     @Override
     public void execute(Connection connection, PersistenceContext persistenceContext) {
         log.trace("Updating entity: {}", entity);
-        persister.update(this.entity, connection);
+        if (dirtyProperties == null) {
+            persister.update(this.entity, connection);
+        } else {
+            persister.update(this.entity, dirtyProperties, connection);
+        }
         log.trace("Entity updated: {}", entity);
     }
 
+    @Override
+    public void executeBatch(List<Object> entities, Connection connection, PersistenceContext persistenceContext) {
+        log.trace("Updating batch of {} entities", entities.size());
+        if (dirtyProperties == null) {
+            persister.updateAll(entities, connection);
+        } else {
+            persister.updateAll(entities, dirtyProperties, connection);
+        }
+        log.trace("Batch of {} entities updated", entities.size());
+    }
+
+    /**
+     * Updates can only share a statement if the same columns are written.
+     */
+    @Override
+    public boolean canBatchWith(BatchableEntityAction other) {
+        return BatchableEntityAction.super.canBatchWith(other)
+                && Objects.equals(dirtyProperties, ((UpdateEntityAction) other).dirtyProperties);
+    }
+
     @Override
     public int priority() {
         return EntityActionPriority.UPDATE.getPriority();
@@ -0,0 +1,43 @@
+package com.petros.bibernate.action;
+
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.session.context.PersistenceContext;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Represents an upsert action for an entity: the entity is inserted, or its row is updated if it already exists.
+ */
+@Builder
+@Getter
+@RequiredArgsConstructor
+@Slf4j
+public class UpsertEntityAction implements BatchableEntityAction {
+
+    private final EntityPersister persister;
+    private final Object entity;
+
+    @Override
+    public void execute(Connection connection, PersistenceContext persistenceContext) {
+        log.trace("Upserting entity: {}", entity);
+        persistenceContext.cache(persister.upsert(this.entity, connection));
+        log.trace("Entity upserted: {}", entity);
+    }
+
+    @Override
+    public void executeBatch(List<Object> entities, Connection connection, PersistenceContext persistenceContext) {
+        log.trace("Upserting batch of {} entities", entities.size());
+        persister.upsertAll(entities, connection).forEach(persistenceContext::cache);
+        log.trace("Batch of {} entities upserted", entities.size());
+    }
+
+    @Override
+    public int priority() {
+        return EntityActionPriority.UPSERT.getPriority();
+    }
+}
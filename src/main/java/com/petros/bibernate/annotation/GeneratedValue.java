@@ -12,11 +12,31 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * in conjunction with the Id annotation.
  * The use of the GeneratedValue annotation is only required to be supported for simple primary keys.
  * This annotation indicates that the ID is generated automatically and does not need to be inserted manually.
+ * <p>
+ * Ids generated by the database when the row is inserted ({@link GenerationType#IDENTITY}) are known only after the
+ * entity is flushed. Ids of the other strategies are assigned when the entity is persisted.
  *
  * @see Id
+ * @see GenerationType
  * @since 1.0
  */
 @Target({METHOD, FIELD})
 @Retention(RUNTIME)
 public @interface GeneratedValue {
+    /**
+     * The strategy used to generate the id.
+     */
+    GenerationType strategy() default GenerationType.IDENTITY;
+
+    /**
+     * The name of the sequence for {@link GenerationType#SEQUENCE}, defaults to the table name followed by
+     * {@code _seq}. The name of the row of the id table for {@link GenerationType#TABLE}, defaults to the table name.
+     * The class name of the {@link com.petros.bibernate.id.IdGenerator} for {@link GenerationType#CUSTOM}.
+     */
+    String generator() default "";
+
+    /**
+     * The number of ids reserved with a single database call.
+     */
+    int allocationSize() default 50;
 }
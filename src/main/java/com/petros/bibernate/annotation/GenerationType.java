@@ -0,0 +1,40 @@
+package com.petros.bibernate.annotation;
+
+/**
+ * Defines how the values of a {@link GeneratedValue} id are generated.
+ *
+ * @see GeneratedValue
+ * @since 1.0
+ */
+public enum GenerationType {
+    /**
+     * The id is generated by an identity (auto increment) column when the row is inserted and is read back from the
+     * generated keys of the insert statement.
+     */
+    IDENTITY,
+    /**
+     * The id is taken from a database sequence before the entity is inserted. Every sequence call reserves
+     * {@link GeneratedValue#allocationSize()} ids, so the sequence must be incremented by the allocation size.
+     */
+    SEQUENCE,
+    /**
+     * The id is taken from a row of the {@code bibernate_sequences} table before the entity is inserted. Every update
+     * of the row reserves {@link GeneratedValue#allocationSize()} ids. Use it with databases without sequences.
+     */
+    TABLE,
+    /**
+     * The id is a time-ordered version 7 {@link java.util.UUID} generated when the entity is persisted. The id
+     * property must be a {@link java.util.UUID} or a {@link String}.
+     */
+    UUID,
+    /**
+     * The id is a time-ordered 64-bit number composed of a timestamp, the configured node id and a counter, generated
+     * when the entity is persisted. The id property must be a {@link Long}.
+     */
+    SNOWFLAKE,
+    /**
+     * The id is generated when the entity is persisted by the {@link com.petros.bibernate.id.IdGenerator} whose class
+     * name is given by {@link GeneratedValue#generator()}.
+     */
+    CUSTOM
+}
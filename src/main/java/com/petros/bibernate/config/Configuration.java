@@ -27,16 +27,105 @@ public interface Configuration {
      */
     String JDBC_POOL_SIZE = "bibernate.jdbc.connection-pool.size";
 
+    /**
+     * The key for the maximum number of idle prepared statements cached by every pooled connection.
+     */
+    String JDBC_STATEMENT_CACHE_SIZE = "bibernate.jdbc.statement-cache.size";
+
+    /**
+     * The key for the JDBC batch size property.
+     */
+    String JDBC_BATCH_SIZE = "bibernate.jdbc.batch-size";
+
+    /**
+     * The key for the {@link com.petros.bibernate.dao.InsertStrategy} property, {@code batch} or {@code multi-row}.
+     */
+    String JDBC_INSERT_STRATEGY = "bibernate.jdbc.insert-strategy";
+
+    /**
+     * The key for the class name of the {@link com.petros.bibernate.dialect.Dialect} to use instead of the dialect
+     * resolved from the JDBC URL.
+     */
+    String DIALECT = "bibernate.dialect";
+
     /**
      * The key for the "show SQL" property.
      */
     String SHOW_SQL = "bibernate.show-sql";
 
+    /**
+     * The key for the comma-separated list of custom {@link com.petros.bibernate.type.TypeConverter} class names.
+     */
+    String TYPE_CONVERTERS = "bibernate.type-converters";
+
+    /**
+     * The key for the comma-separated list of entity class names and packages to scan for entities at startup.
+     */
+    String ENTITIES = "bibernate.entities";
+
+    /**
+     * The key for the path of the file with the metadata snapshot of the entities listed in {@link #ENTITIES}.
+     */
+    String METADATA_SNAPSHOT = "bibernate.metadata.snapshot";
+
+    /**
+     * The key for the node id of {@link com.petros.bibernate.annotation.GenerationType#SNOWFLAKE} ids, it must be
+     * unique among the applications that insert into the same tables.
+     */
+    String ID_NODE_ID = "bibernate.id.node-id";
+
+    /**
+     * The key for the number of entities the write-behind session buffers before {@code persist} blocks.
+     */
+    String WRITE_BEHIND_BUFFER_SIZE = "bibernate.write-behind.buffer-size";
+
+    /**
+     * The key for the number of buffered entities that makes the write-behind session write them right away.
+     */
+    String WRITE_BEHIND_FLUSH_SIZE = "bibernate.write-behind.flush-size";
+
+    /**
+     * The key for the longest time in milliseconds an entity stays in the write-behind buffer.
+     */
+    String WRITE_BEHIND_FLUSH_INTERVAL = "bibernate.write-behind.flush-interval-ms";
+
+    /**
+     * The key for the path of the file the write-behind session journals buffered entities to, so they are written
+     * after a restart if the application stops before they are flushed. There is no journal when the property is not
+     * set.
+     */
+    String WRITE_BEHIND_JOURNAL = "bibernate.write-behind.journal";
+
     /**
      * The default connection pool size.
      */
     int DEFAULT_CONNECTION_POOL_SIZE = 10;
 
+    /**
+     * The default JDBC batch size, batching is disabled.
+     */
+    int DEFAULT_BATCH_SIZE = 0;
+
+    /**
+     * The default number of idle prepared statements cached by every pooled connection.
+     */
+    int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    /**
+     * The default write-behind buffer size.
+     */
+    int DEFAULT_WRITE_BEHIND_BUFFER_SIZE = 10_000;
+
+    /**
+     * The default write-behind flush size.
+     */
+    int DEFAULT_WRITE_BEHIND_FLUSH_SIZE = 500;
+
+    /**
+     * The default write-behind flush interval in milliseconds.
+     */
+    int DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL = 1_000;
+
 
     /**
      * Gets the value of the specified property.
@@ -67,6 +156,22 @@ public interface Configuration {
      */
     Integer getConnectionPoolSize();
 
+    /**
+     * Gets the maximum number of idle prepared statements cached by every pooled connection.
+     *
+     * @return the statement cache size, or the default statement cache size if the property is not set. Statement
+     * caching is disabled when the size is not positive
+     */
+    int getStatementCacheSize();
+
+    /**
+     * Gets the maximum number of statements that are sent to the database in a single JDBC batch.
+     *
+     * @return the batch size, or the default batch size if the property is not set. Batching is disabled when the
+     * batch size is less than 2
+     */
+    int getBatchSize();
+
     /**
      * Gets the JDBC URL.
      *
@@ -50,6 +50,19 @@ public class ConfigurationImpl implements Configuration {
         }));
     }
 
+    @Override
+    public int getStatementCacheSize() {
+        log.trace("Getting statement cache size property");
+        return getProperty(JDBC_STATEMENT_CACHE_SIZE).map(String::trim).map(Integer::parseInt)
+                .orElse(DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    @Override
+    public int getBatchSize() {
+        log.trace("Getting batch size property");
+        return getProperty(JDBC_BATCH_SIZE).map(String::trim).map(Integer::parseInt).orElse(DEFAULT_BATCH_SIZE);
+    }
+
     @Override
     public String getUrl() {
         log.trace("Getting URL property");
@@ -1,50 +1,91 @@
 package com.petros.bibernate.dao;
 
+import com.petros.bibernate.dao.binder.EntityBinder;
+import com.petros.bibernate.dao.mapper.EntityRowMapper;
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.dialect.GenericDialect;
 import com.petros.bibernate.exception.BibernateException;
 import com.petros.bibernate.exception.JDBCException;
-import com.petros.bibernate.util.EntityUtil;
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.PropertyMetadata;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.sql.Clob;
 import java.sql.Connection;
-import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Time;
-import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
-
-import static com.petros.bibernate.util.EntityUtil.getColumnName;
-import static com.petros.bibernate.util.EntityUtil.getIdField;
-import static com.petros.bibernate.util.EntityUtil.getIdValue;
-import static com.petros.bibernate.util.EntityUtil.getInsertableColumns;
-import static com.petros.bibernate.util.EntityUtil.getInsertableValues;
-import static com.petros.bibernate.util.EntityUtil.getTableName;
-import static com.petros.bibernate.util.EntityUtil.getUpdatableColumns;
-import static com.petros.bibernate.util.EntityUtil.getUpdatableValues;
-import static com.petros.bibernate.util.EntityUtil.isEntityField;
-import static com.petros.bibernate.util.EntityUtil.isRegularField;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import static java.lang.Boolean.FALSE;
-import static java.lang.Boolean.TRUE;
 
 /**
  * This class is responsible for performing database CRUD operations on entities.
  */
 @Slf4j
 public class EntityPersister {
-    private static final String FIND_ENTITY_BY_FIELD_NAME_TEMPLATE = "SELECT * FROM %s WHERE %s = ?;";
-    private static final String FIND_ALL_ENTITIES_FROM_TABLE_TEMPLATE = "SELECT * FROM %s;";
-    private static final String INSERT_INTO_TABLE_VALUES_TEMPLATE = "INSERT INTO %s(%s) VALUES (%s);";
-    private static final String UPDATE_BY_ID_TEMPLATE = "UPDATE %s SET %s WHERE %s = ?;";
-    private static final String DELETE_BY_ID_TEMPLATE = "DELETE FROM %s WHERE %s = ?;";
     private final boolean showSql;
+    @Getter
+    private final EntityMetadataRegistry metadataRegistry;
+    @Getter
+    private final Dialect dialect;
+    @Getter
+    private final InsertStrategy insertStrategy;
+    private final Map<Class<?>, EntityRowMapper<?>> rowMappers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, EntityBinder> binders = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> upsertSql = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for EntityPersister that reads entity mappings from the given registry and uses the features of the
+     * given database dialect.
+     *
+     * @param metadataRegistry the registry of entity metadata shared by the session factory
+     * @param dialect          the dialect of the database
+     * @param showSql          flag to determine whether to show SQL statements
+     */
+    public EntityPersister(EntityMetadataRegistry metadataRegistry, Dialect dialect, boolean showSql) {
+        this(metadataRegistry, dialect, InsertStrategy.BATCH, showSql);
+    }
+
+    /**
+     * Constructor for EntityPersister that reads entity mappings from the given registry, uses the features of the
+     * given database dialect and inserts several entities with the given strategy.
+     *
+     * @param metadataRegistry the registry of entity metadata shared by the session factory
+     * @param dialect          the dialect of the database
+     * @param insertStrategy   the strategy of {@link #insertAll(List, Connection)}
+     * @param showSql          flag to determine whether to show SQL statements
+     */
+    public EntityPersister(EntityMetadataRegistry metadataRegistry, Dialect dialect, InsertStrategy insertStrategy,
+                           boolean showSql) {
+        this.metadataRegistry = metadataRegistry;
+        this.dialect = dialect;
+        this.insertStrategy = insertStrategy;
+        this.showSql = showSql;
+    }
+
+    /**
+     * Constructor for EntityPersister that reads entity mappings from the given registry.
+     *
+     * @param metadataRegistry the registry of entity metadata shared by the session factory
+     * @param showSql          flag to determine whether to show SQL statements
+     */
+    public EntityPersister(EntityMetadataRegistry metadataRegistry, boolean showSql) {
+        this(metadataRegistry, new GenericDialect(), showSql);
+    }
 
     /**
      * Constructor for EntityPersister with option to show SQL statements or not.
@@ -52,7 +93,7 @@ public class EntityPersister {
      * @param showSql flag to determine whether to show SQL statements
      */
     public EntityPersister(boolean showSql) {
-        this.showSql = showSql;
+        this(new EntityMetadataRegistry(), showSql);
     }
 
     /**
@@ -68,76 +109,38 @@ public class EntityPersister {
         }
     }
 
-    private static <T> void setIdFromGeneratedKeys(T entity, PreparedStatement statement) throws SQLException,
-            IllegalAccessException {
-        ResultSet generatedKeys = statement.getGeneratedKeys();
-        if (generatedKeys.next()) {
-            final Field field = getIdField(entity.getClass());
-            field.setAccessible(true);
-            field.set(entity, generatedKeys.getObject(1, getIdField(entity.getClass()).getType()));
+    private static void throwExceptionIfBatchRowsAffectedNotOne(int[] rowsAffected, int expectedRows,
+                                                               String message) {
+        if (rowsAffected.length != expectedRows) {
+            throw new BibernateException(message);
         }
-    }
-
-    private static void setPreparedStatementValues(List<Object> values, PreparedStatement statement) throws SQLException {
-        int i = 1;
-        for (Object value : values) {
-            statement.setObject(i++, value);
+        for (int rows : rowsAffected) {
+            if (rows != Statement.SUCCESS_NO_INFO) {
+                throwExceptionIfRowsAffectedNotOne(rows, message);
+            }
         }
     }
 
-    private static String getInsertPlaceholders(List<?> insertableColumns) {
-        return insertableColumns.stream()
-                .map(f -> "?")
-                .collect(Collectors.joining(","));
-    }
-
-    private static String getUpdatePlaceholders(List<?> updatableColumns) {
-        return updatableColumns.stream()
-                .map(column -> column + " = ?")
-                .collect(Collectors.joining(", "));
-    }
-
-    private static Object convertToJavaType(Field field, Object value) throws IllegalAccessException, SQLException {
-        if (value == null) {
-            return null;
-        }
-
-        Class<?> fieldType = field.getType();
-
-        if (fieldType.isAssignableFrom(value.getClass())) {
-            return value;
-        }
-
-        switch (fieldType.getSimpleName()) {
-            case "LocalDateTime" -> {
-                if (value instanceof Timestamp) {
-                    return ((Timestamp) value).toLocalDateTime();
-                }
-            }
-            case "String" -> {
-                if (value instanceof Clob clob) {
-                    return clob.getSubString(1, (int) clob.length());
-                }
-            }
-            case "LocalDate" -> {
-                if (value instanceof Date) {
-                    return ((Date) value).toLocalDate();
-                }
-            }
-            case "LocalTime" -> {
-                if (value instanceof Time) {
-                    return ((Time) value).toLocalTime();
-                }
-            }
-            case "Double" -> {
-                if (value instanceof Float) {
-                    return ((Float) value).doubleValue();
+    private static <T> void setIdsFromGeneratedKeys(List<T> entities, EntityMetadata metadata,
+                                                    PreparedStatement statement) throws SQLException {
+        PropertyMetadata idProperty = metadata.getIdProperty();
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            for (T entity : entities) {
+                if (!generatedKeys.next()) {
+                    throw new BibernateException("Generated keys do not match the number of inserted entities");
                 }
+                idProperty.getTypeConverter().readInto(generatedKeys, 1, entity, idProperty.getAccessor());
             }
         }
+    }
 
-        throw new BibernateException(String.format("Cannot convert value of type %s to field type %s",
-                value.getClass().getSimpleName(), fieldType.getSimpleName()));
+    private static <T> void setIdFromGeneratedKeys(T entity, EntityMetadata metadata, PreparedStatement statement)
+            throws SQLException {
+        ResultSet generatedKeys = statement.getGeneratedKeys();
+        if (generatedKeys.next()) {
+            PropertyMetadata idProperty = metadata.getIdProperty();
+            idProperty.getTypeConverter().readInto(generatedKeys, 1, entity, idProperty.getAccessor());
+        }
     }
 
     /**
@@ -149,7 +152,7 @@ public class EntityPersister {
      * @return the entity object if it is found, otherwise null
      */
     public <T> T findById(Class<T> entityClass, Object idValue, Connection connection) {
-        Field idField = getIdField(entityClass);
+        Field idField = metadataRegistry.getMetadata(entityClass).getIdProperty().getField();
         return this.findOne(entityClass, idField, idValue, connection);
     }
 
@@ -194,13 +197,11 @@ public class EntityPersister {
     public <T> List<T> findAll(Class<T> entityClass, Field field, Object fieldValue, Connection connection) {
         log.trace("Entering findAll() with entityClass={}, field={}, fieldValue={}, and connection={}",
                 entityClass.getName(), field.getName(), fieldValue.toString(), connection.toString());
-        List<T> result = new ArrayList<>();
-
-        try (PreparedStatement statement = prepareFindStatement(entityClass, field, fieldValue, connection)) {
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                result.add(mapResultSetToEntity(entityClass, resultSet));
-            }
+        List<T> result;
+        String query = buildFindQuery(entityClass, field);
+        try (PreparedStatement statement = prepareFindStatement(entityClass, field, query, fieldValue,
+                connection)) {
+            result = mapResultSetToEntities(entityClass, query, statement.executeQuery());
             log.trace("Found {} entities of type {}", result.size(), entityClass.getName());
         } catch (SQLException e) {
             log.error("Exception occurred while executing SQL query", e);
@@ -219,13 +220,11 @@ public class EntityPersister {
      * @throws JDBCException if an SQLException occurs
      */
     public <T> List<T> findAll(Class<T> entityClass, Connection connection) {
-        List<T> result = new ArrayList<>();
+        List<T> result;
         log.trace("Retrieving all entities of class {} from database.", entityClass.getSimpleName());
-        try (PreparedStatement statement = prepareFindAllStatement(entityClass, connection)) {
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                result.add(mapResultSetToEntity(entityClass, resultSet));
-            }
+        String query = buildFindAllQuery(entityClass);
+        try (PreparedStatement statement = prepareFindAllStatement(query, connection)) {
+            result = mapResultSetToEntities(entityClass, query, statement.executeQuery());
         } catch (SQLException e) {
             log.error("Exception occurred while executing SQL query", e);
             throw new JDBCException(e.getMessage(), e);
@@ -235,6 +234,56 @@ public class EntityPersister {
         return result;
     }
 
+    /**
+     * Streams all entities of specified entityClass. Rows are mapped one at a time as the stream is consumed, and the
+     * driver is asked to fetch {@code fetchSize} rows per round trip, so the entities do not have to fit in memory.
+     * Some drivers, such as PostgreSQL, only honour the fetch size when auto-commit is disabled.
+     * <p>
+     * The returned stream holds an open statement and result set and must be closed, preferably with a
+     * try-with-resources statement. The previous fetch size of the statement is restored when the stream is closed,
+     * because the statement may be a cached one that is reused by {@link #findAll(Class, Connection)}.
+     *
+     * @param entityClass the class of the entity to retrieve
+     * @param fetchSize   the number of rows fetched per round trip, or 0 to use the driver default
+     * @param connection  the connection to the database
+     * @param <T>         the type of the entity
+     * @return a lazily populated stream of entities
+     * @throws JDBCException if an SQLException occurs
+     */
+    public <T> Stream<T> stream(Class<T> entityClass, int fetchSize, Connection connection) {
+        log.trace("Streaming all entities of class {} from database.", entityClass.getSimpleName());
+        String query = buildFindAllQuery(entityClass);
+        PreparedStatement statement = null;
+        Integer previousFetchSize = null;
+        try {
+            statement = prepareFindAllStatement(query, connection);
+            previousFetchSize = statement.getFetchSize();
+            statement.setFetchSize(fetchSize);
+            ResultSet resultSet = statement.executeQuery();
+            PreparedStatement openStatement = statement;
+            Integer restoredFetchSize = previousFetchSize;
+            return StreamSupport.stream(new ResultSetSpliterator<>(getRowMapper(entityClass), query, resultSet), false)
+                    .onClose(() -> closeStatement(openStatement, resultSet, restoredFetchSize));
+        } catch (SQLException e) {
+            closeStatement(statement, null, previousFetchSize);
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
+    private static void closeStatement(Statement statement, ResultSet resultSet, Integer fetchSize) {
+        try (statement) {
+            try (resultSet) {
+                log.trace("Closing streamed result set");
+            }
+            if (fetchSize != null && !statement.isClosed() && statement.getFetchSize() != fetchSize) {
+                statement.setFetchSize(fetchSize);
+            }
+        } catch (SQLException e) {
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
     /**
      * Inserts a new entity into the database.
      *
@@ -247,17 +296,81 @@ public class EntityPersister {
     public <T> T insert(T entity, Connection connection) {
         Objects.requireNonNull(entity, "Entity should not be null");
         log.debug("Inserting entity {} with connection {}", entity, connection);
-        try (PreparedStatement insertStatement = prepareInsertStatement(entity, connection)) {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entity.getClass());
+        try (PreparedStatement insertStatement = prepareInsertStatement(entity, metadata, connection)) {
             int rowsAffected = insertStatement.executeUpdate();
             throwExceptionIfRowsAffectedNotOne(rowsAffected, "Failed to insert entity into the database");
-            setIdFromGeneratedKeys(entity, insertStatement);
+            if (metadata.getIdProperty().isGeneratedId()) {
+                setIdFromGeneratedKeys(entity, metadata, insertStatement);
+            }
             return entity;
         } catch (SQLException e) {
             log.error("Exception occurred while executing SQL query", e);
             throw new JDBCException(e.getMessage(), e);
-        } catch (IllegalAccessException e) {
-            log.error("Exception occurred while setting ID from generated Keys", e);
-            throw new BibernateException(e);
+        }
+    }
+
+    /**
+     * Inserts entities of the same class into the database with the {@link InsertStrategy} of this persister.
+     * Generated ids are written back to the entities in order.
+     * <p>
+     * With {@link InsertStrategy#BATCH} the entities are inserted with a single JDBC batch. If the database driver
+     * cannot return the generated keys of a batch, the entities are inserted one by one with
+     * {@link #insert(Object, Connection)}.
+     * <p>
+     * With {@link InsertStrategy#MULTI_ROW} the entities are inserted with multi-row
+     * {@code INSERT ... VALUES (...),(...)} statements, each with as many rows as the parameter limit of the dialect
+     * allows. If the database driver cannot return the generated keys of such a statement, the entities are inserted
+     * with a JDBC batch instead.
+     *
+     * @param entities   the entities to insert, all of the same class
+     * @param connection the database connection to use
+     * @param <T>        the type of the entities
+     * @return the inserted entities
+     * @throws BibernateException if an error occurs while inserting the entities
+     */
+    public <T> List<T> insertAll(List<T> entities, Connection connection) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        Class<?> entityClass = entities.get(0).getClass();
+        log.debug("Inserting {} entities of class {} with connection {}", entities.size(),
+                entityClass.getSimpleName(), connection);
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        boolean generatedId = metadata.getIdProperty().isGeneratedId();
+        if (insertStrategy == InsertStrategy.MULTI_ROW && !metadata.getInsertableProperties().isEmpty()
+                && (!generatedId || dialect.supportsMultiRowGeneratedKeys())) {
+            return insertRows(entities, metadata, connection);
+        }
+        if (generatedId && !dialect.supportsBatchGeneratedKeys()) {
+            log.trace("Dialect does not support generated keys of batches, inserting entities one by one");
+            entities.forEach(entity -> insert(entity, connection));
+            return entities;
+        }
+        String insertQuery = metadata.getSql().getInsertSql();
+        printSqlStatement(insertQuery);
+        try (PreparedStatement insertStatement = generatedId
+                ? connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(insertQuery)) {
+            EntityBinder binder = getEntityBinder(entityClass);
+            for (T entity : entities) {
+                Objects.requireNonNull(entity, "Entity should not be null");
+                if (entity.getClass() != entityClass) {
+                    throw new BibernateException("All entities of a batch insert must be of the same class");
+                }
+                binder.bindInsertValues(insertStatement, 1, entity);
+                insertStatement.addBatch();
+            }
+            int[] rowsAffected = insertStatement.executeBatch();
+            throwExceptionIfBatchRowsAffectedNotOne(rowsAffected, entities.size(),
+                    "Failed to insert entity into the database");
+            if (generatedId) {
+                setIdsFromGeneratedKeys(entities, metadata, insertStatement);
+            }
+            return entities;
+        } catch (SQLException e) {
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
         }
     }
 
@@ -271,23 +384,295 @@ public class EntityPersister {
      * @throws BibernateException if there is an error updating the entity
      */
     public <T> T update(T entity, Connection connection) {
+        return doUpdate(entity, null, connection);
+    }
+
+    /**
+     * Updates only the columns of the changed properties of an existing entity in the database. Nothing is executed if
+     * none of the changed properties is updatable.
+     *
+     * @param entity          the entity to update in the database
+     * @param dirtyProperties the indexes of the changed properties in {@link EntityMetadata#getSnapshotProperties()}
+     * @param connection      the connection to the database
+     * @param <T>             the type of the entity to update
+     * @return the updated entity
+     * @throws BibernateException if there is an error updating the entity
+     */
+    public <T> T update(T entity, BitSet dirtyProperties, Connection connection) {
+        Objects.requireNonNull(dirtyProperties);
+        return doUpdate(entity, dirtyProperties, connection);
+    }
+
+    private <T> T doUpdate(T entity, BitSet dirtyProperties, Connection connection) {
         Objects.requireNonNull(entity);
         log.trace("Updating entity of class {} in the database", entity.getClass().getSimpleName());
-        try (PreparedStatement updateStatement = prepareUpdateStatement(entity, connection)) {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entity.getClass());
+        if (dirtyProperties != null && !metadata.isAnyUpdatable(dirtyProperties)) {
+            log.trace("Entity of class {} has no changed updatable columns", entity.getClass().getSimpleName());
+            return entity;
+        }
+        try (PreparedStatement updateStatement = prepareUpdateStatement(entity, metadata, dirtyProperties,
+                connection)) {
             int rowsAffected = updateStatement.executeUpdate();
             throwExceptionIfRowsAffectedNotOne(rowsAffected, "Failed to update entity in the database");
             log.trace("Entity of class {} with ID {} was updated in the database", entity.getClass().getSimpleName(),
-                    getIdValue(entity));
+                    metadata.getIdValue(entity));
             return entity;
         } catch (SQLException e) {
             log.error("Exception occurred while executing SQL query", e);
             throw new JDBCException(e.getMessage(), e);
-        } catch (IllegalAccessException e) {
-            log.error("Exception occurred while preparing update statement", e);
-            throw new BibernateException(e);
         }
     }
 
+    private <T> List<T> insertRows(List<T> entities, EntityMetadata metadata, Connection connection) {
+        Class<?> entityClass = metadata.getEntityClass();
+        boolean generatedId = metadata.getIdProperty().isGeneratedId();
+        int rowsPerStatement = Math.max(1, Math.min(dialect.getMaxInsertRowCount(),
+                dialect.getMaxParameterCount() / metadata.getInsertableProperties().size()));
+        EntityBinder binder = getEntityBinder(entityClass);
+        try {
+            for (int from = 0; from < entities.size(); from += rowsPerStatement) {
+                List<T> rows = entities.subList(from, Math.min(from + rowsPerStatement, entities.size()));
+                String insertQuery = metadata.getSql().getInsertRowsSql(rows.size());
+                printSqlStatement(insertQuery);
+                try (PreparedStatement insertStatement = generatedId
+                        ? connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS)
+                        : connection.prepareStatement(insertQuery)) {
+                    int parameterIndex = 1;
+                    for (T entity : rows) {
+                        Objects.requireNonNull(entity, "Entity should not be null");
+                        if (entity.getClass() != entityClass) {
+                            throw new BibernateException("All entities of a batch insert must be of the same class");
+                        }
+                        parameterIndex = binder.bindInsertValues(insertStatement, parameterIndex, entity);
+                    }
+                    int rowsAffected = insertStatement.executeUpdate();
+                    if (rowsAffected != rows.size()) {
+                        throw new BibernateException("Failed to insert entity into the database");
+                    }
+                    if (generatedId) {
+                        setIdsFromGeneratedKeys(rows, metadata, insertStatement);
+                    }
+                }
+            }
+            return entities;
+        } catch (SQLException e) {
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Updates existing entities of the same class in the database with a single JDBC batch. Every entity must update
+     * exactly one row.
+     *
+     * @param entities   the entities to update, all of the same class
+     * @param connection the connection to the database
+     * @param <T>        the type of the entities
+     * @return the updated entities
+     * @throws BibernateException if an entity has no id or there is an error updating the entities
+     */
+    public <T> List<T> updateAll(List<T> entities, Connection connection) {
+        return doUpdateAll(entities, null, connection);
+    }
+
+    /**
+     * Updates only the columns of the changed properties of existing entities of the same class in the database with
+     * a single JDBC batch. The same properties must have changed in all entities, so they share one statement. Every
+     * entity must update exactly one row.
+     *
+     * @param entities        the entities to update, all of the same class
+     * @param dirtyProperties the indexes of the changed properties in {@link EntityMetadata#getSnapshotProperties()}
+     * @param connection      the connection to the database
+     * @param <T>             the type of the entities
+     * @return the updated entities
+     * @throws BibernateException if an entity has no id or there is an error updating the entities
+     */
+    public <T> List<T> updateAll(List<T> entities, BitSet dirtyProperties, Connection connection) {
+        Objects.requireNonNull(dirtyProperties);
+        return doUpdateAll(entities, dirtyProperties, connection);
+    }
+
+    private <T> List<T> doUpdateAll(List<T> entities, BitSet dirtyProperties, Connection connection) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        Class<?> entityClass = entities.get(0).getClass();
+        log.trace("Updating {} entities of class {} in the database", entities.size(), entityClass.getSimpleName());
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        if (dirtyProperties != null && !metadata.isAnyUpdatable(dirtyProperties)) {
+            log.trace("Entities of class {} have no changed updatable columns", entityClass.getSimpleName());
+            return entities;
+        }
+        String updateQuery = dirtyProperties == null
+                ? metadata.getSql().getUpdateByIdSql()
+                : metadata.getSql().getUpdateByIdSql(dirtyProperties);
+        printSqlStatement(updateQuery);
+        try (PreparedStatement updateStatement = connection.prepareStatement(updateQuery)) {
+            EntityBinder binder = getEntityBinder(entityClass);
+            for (T entity : entities) {
+                Objects.requireNonNull(entity);
+                if (entity.getClass() != entityClass) {
+                    throw new BibernateException("All entities of a batch update must be of the same class");
+                }
+                if (metadata.getIdValue(entity) == null) {
+                    throw new BibernateException("ID field is null");
+                }
+                int idIndex = dirtyProperties == null
+                        ? binder.bindUpdateValues(updateStatement, 1, entity)
+                        : binder.bindUpdateValues(updateStatement, 1, entity, dirtyProperties);
+                binder.bindId(updateStatement, idIndex, entity);
+                updateStatement.addBatch();
+            }
+            int[] rowsAffected = updateStatement.executeBatch();
+            throwExceptionIfBatchRowsAffectedNotOne(rowsAffected, entities.size(),
+                    "Failed to update entity in the database");
+            log.trace("{} entities of class {} were updated in the database", entities.size(),
+                    entityClass.getSimpleName());
+            return entities;
+        } catch (SQLException e) {
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Inserts an entity or, if a row with its id already exists, updates all columns of the row with a single
+     * statement rendered by the {@link Dialect}.
+     *
+     * @param entity     the entity to upsert, its id must be set
+     * @param connection the database connection to use
+     * @param <T>        the type of the entity
+     * @return the upserted entity
+     * @throws BibernateException if the entity has no id or there was an error upserting the entity
+     */
+    public <T> T upsert(T entity, Connection connection) {
+        Objects.requireNonNull(entity);
+        upsertAll(List.of(entity), connection);
+        return entity;
+    }
+
+    /**
+     * Inserts or updates entities of the same class with a single JDBC batch of upsert statements, see
+     * {@link #upsert(Object, Connection)}.
+     *
+     * @param entities   the entities to upsert, all of the same class and with ids set
+     * @param connection the database connection to use
+     * @param <T>        the type of the entities
+     * @return the upserted entities
+     * @throws BibernateException if an entity has no id or there was an error upserting the entities
+     */
+    public <T> List<T> upsertAll(List<T> entities, Connection connection) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        Class<?> entityClass = entities.get(0).getClass();
+        log.trace("Upserting {} entities of class {}", entities.size(), entityClass.getSimpleName());
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        String query = getUpsertSql(metadata);
+        printSqlStatement(query);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            EntityBinder binder = getEntityBinder(entityClass);
+            for (T entity : entities) {
+                Objects.requireNonNull(entity);
+                if (entity.getClass() != entityClass) {
+                    throw new BibernateException("All entities of a batch upsert must be of the same class");
+                }
+                if (metadata.getIdValue(entity) == null) {
+                    throw new BibernateException("ID field is null");
+                }
+                binder.bindId(statement, 1, entity);
+                binder.bindUpdateValues(statement, 2, entity);
+                if (entities.size() > 1) {
+                    statement.addBatch();
+                }
+            }
+            // the row counts of an upsert differ between databases, e.g. MySQL reports 2 for an updated row
+            if (entities.size() > 1) {
+                statement.executeBatch();
+            } else {
+                statement.executeUpdate();
+            }
+            log.trace("{} entities of class {} were upserted", entities.size(), entityClass.getSimpleName());
+            return entities;
+        } catch (SQLException e) {
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
+    private String getUpsertSql(EntityMetadata metadata) {
+        String sql = upsertSql.get(metadata.getEntityClass());
+        if (sql == null) {
+            sql = upsertSql.computeIfAbsent(metadata.getEntityClass(), type -> {
+                if (metadata.getIdProperty().isGeneratedId() && !dialect.supportsIdentityUpsert()) {
+                    throw new BibernateException(String.format(
+                            "Entity %s with an identity id cannot be upserted with %s", type.getSimpleName(),
+                            dialect.getClass().getSimpleName()));
+                }
+                String idColumn = metadata.getIdProperty().getColumnName();
+                List<String> columns = new ArrayList<>();
+                columns.add(idColumn);
+                metadata.getUpdatableProperties().forEach(property -> columns.add(property.getColumnName()));
+                return dialect.getUpsertSql(metadata.getTableName(), idColumn, columns);
+            });
+        }
+        return sql;
+    }
+
+    /**
+     * Deletes existing entities of the same class from the database with {@code DELETE ... WHERE id IN (...)}
+     * statements. The ids are split into chunks that stay within the parameter limit of the {@link Dialect}. The
+     * total number of deleted rows must be equal to the number of entities.
+     *
+     * @param entities   the entities to delete, all of the same class
+     * @param connection the database connection to use
+     * @param <T>        the type of the entities
+     * @return the deleted entities
+     * @throws BibernateException if an entity has no id or there was an error deleting the entities
+     */
+    public <T> List<T> deleteAll(List<T> entities, Connection connection) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        Class<?> entityClass = entities.get(0).getClass();
+        log.trace("Deleting {} entities of class {} from the database", entities.size(), entityClass.getSimpleName());
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        for (T entity : entities) {
+            Objects.requireNonNull(entity);
+            if (entity.getClass() != entityClass) {
+                throw new BibernateException("All entities of a batch delete must be of the same class");
+            }
+            if (metadata.getIdValue(entity) == null) {
+                throw new BibernateException("ID field is null");
+            }
+        }
+        EntityBinder binder = getEntityBinder(entityClass);
+        int chunkSize = Math.max(1, dialect.getMaxParameterCount());
+        int rowsAffected = 0;
+        try {
+            for (int from = 0; from < entities.size(); from += chunkSize) {
+                List<T> chunk = entities.subList(from, Math.min(from + chunkSize, entities.size()));
+                String deleteQuery = metadata.getSql().getDeleteByIdsSql(chunk.size());
+                printSqlStatement(deleteQuery);
+                try (PreparedStatement deleteStatement = connection.prepareStatement(deleteQuery)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        binder.bindId(deleteStatement, i + 1, chunk.get(i));
+                    }
+                    rowsAffected += deleteStatement.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+        if (rowsAffected != entities.size()) {
+            throw new BibernateException("Failed to delete entity from the database");
+        }
+        log.trace("Deleted {} entities of class {} from database", entities.size(), entityClass.getSimpleName());
+        return entities;
+    }
+
     /**
      * Deletes an existing entity from the database.
      *
@@ -299,7 +684,8 @@ public class EntityPersister {
     public <T> T delete(T entity, Connection connection) {
         Objects.requireNonNull(entity);
         log.trace("Deleting entity of class {} from the database", entity.getClass().getSimpleName());
-        try (PreparedStatement deleteStatement = prepareDeleteStatement(entity, connection)) {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entity.getClass());
+        try (PreparedStatement deleteStatement = prepareDeleteStatement(entity, metadata, connection)) {
             int rowsAffected = deleteStatement.executeUpdate();
             throwExceptionIfRowsAffectedNotOne(rowsAffected, "Failed to delete entity from the database");
             log.trace("Deleted entity {} from database", entity);
@@ -310,120 +696,236 @@ public class EntityPersister {
         }
     }
 
-    private <T> PreparedStatement prepareFindStatement(Class<T> entityClass, Field field, Object fieldValue,
-                                                       Connection connection) throws SQLException {
-        log.trace("Preparing find statement for entityClass={} field={} value={} connection={}",
-                entityClass.getName(), field.getName(), fieldValue, connection.toString());
-        String tableName = getTableName(entityClass);
-        String columnName = getColumnName(field);
-        String query = String.format(FIND_ENTITY_BY_FIELD_NAME_TEMPLATE, tableName, columnName);
-        log.trace("Prepared find statement: {}", query);
+    /**
+     * Updates the columns of all rows of the entity table that match the criteria with a single statement. The
+     * entities are not loaded.
+     *
+     * @param entityClass the entity class
+     * @param assignments the new values by name of updatable property, the related entity or its id for relations
+     * @param criteria    the values compared for equality by property name, null values match {@code NULL} columns
+     * @param connection  the database connection to use
+     * @return the number of updated rows
+     * @throws BibernateException if no property is set, a property is unknown or not updatable, or the statement
+     *                            fails
+     */
+    public int updateWhere(Class<?> entityClass, Map<String, Object> assignments, Map<String, Object> criteria,
+                           Connection connection) {
+        log.trace("Updating {} properties of entities {} matching {}", assignments.size(),
+                entityClass.getSimpleName(), criteria.keySet());
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        if (assignments.isEmpty()) {
+            throw new BibernateException(String.format("Update of entity %s must set at least one property",
+                    entityClass.getSimpleName()));
+        }
+        List<PropertyMetadata> setProperties = new ArrayList<>(assignments.size());
+        for (String name : assignments.keySet()) {
+            PropertyMetadata property = metadata.getProperty(name);
+            if (!metadata.getUpdatableProperties().contains(property)) {
+                throw new BibernateException(String.format("Property %s of entity %s is not updatable", name,
+                        entityClass.getSimpleName()));
+            }
+            setProperties.add(property);
+        }
+        List<PropertyMetadata> whereProperties = getCriteriaProperties(metadata, criteria);
+        BitSet nullCriteria = getNullCriteria(criteria);
+        String updateQuery = metadata.getSql().getUpdateWhereSql(setProperties, whereProperties, nullCriteria);
+        printSqlStatement(updateQuery);
+        try (PreparedStatement statement = connection.prepareStatement(updateQuery)) {
+            EntityBinder binder = getEntityBinder(entityClass);
+            int parameterIndex = 1;
+            int i = 0;
+            for (Object value : assignments.values()) {
+                PropertyMetadata property = setProperties.get(i++);
+                binder.bindValue(statement, parameterIndex++, property, getColumnValue(property, value));
+            }
+            bindCriteria(statement, parameterIndex, binder, whereProperties, criteria);
+            int rowsAffected = statement.executeUpdate();
+            log.trace("Updated {} rows of entity {}", rowsAffected, entityClass.getSimpleName());
+            return rowsAffected;
+        } catch (SQLException e) {
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes all rows of the entity table that match the criteria with a single statement. The entities are not
+     * loaded.
+     *
+     * @param entityClass the entity class
+     * @param criteria    the values compared for equality by property name, null values match {@code NULL} columns
+     * @param connection  the database connection to use
+     * @return the number of deleted rows
+     * @throws BibernateException if a property is unknown or the statement fails
+     */
+    public int deleteWhere(Class<?> entityClass, Map<String, Object> criteria, Connection connection) {
+        log.trace("Deleting entities {} matching {}", entityClass.getSimpleName(), criteria.keySet());
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        List<PropertyMetadata> whereProperties = getCriteriaProperties(metadata, criteria);
+        String deleteQuery = metadata.getSql().getDeleteWhereSql(whereProperties, getNullCriteria(criteria));
+        printSqlStatement(deleteQuery);
+        try (PreparedStatement statement = connection.prepareStatement(deleteQuery)) {
+            bindCriteria(statement, 1, getEntityBinder(entityClass), whereProperties, criteria);
+            int rowsAffected = statement.executeUpdate();
+            log.trace("Deleted {} rows of entity {}", rowsAffected, entityClass.getSimpleName());
+            return rowsAffected;
+        } catch (SQLException e) {
+            log.error("Exception occurred while executing SQL query", e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
+    private static List<PropertyMetadata> getCriteriaProperties(EntityMetadata metadata,
+                                                                Map<String, Object> criteria) {
+        List<PropertyMetadata> properties = new ArrayList<>(criteria.size());
+        for (String name : criteria.keySet()) {
+            PropertyMetadata property = metadata.getProperty(name);
+            if (property.isToMany()) {
+                throw new BibernateException(String.format("Collection property %s of entity %s can not be used " +
+                        "as a criterion", name, metadata.getEntityClass().getSimpleName()));
+            }
+            properties.add(property);
+        }
+        return properties;
+    }
+
+    private static BitSet getNullCriteria(Map<String, Object> criteria) {
+        BitSet nullCriteria = new BitSet(criteria.size());
+        int i = 0;
+        for (Object value : criteria.values()) {
+            nullCriteria.set(i++, value == null);
+        }
+        return nullCriteria;
+    }
+
+    private void bindCriteria(PreparedStatement statement, int firstIndex, EntityBinder binder,
+                              List<PropertyMetadata> whereProperties, Map<String, Object> criteria)
+            throws SQLException {
+        int parameterIndex = firstIndex;
+        int i = 0;
+        for (Object value : criteria.values()) {
+            PropertyMetadata property = whereProperties.get(i++);
+            if (value != null) {
+                binder.bindValue(statement, parameterIndex++, property, getColumnValue(property, value));
+            }
+        }
+    }
+
+    // relation properties may be given the related entity instead of its id
+    private Object getColumnValue(PropertyMetadata property, Object value) {
+        if (value != null && property.isToOne() && property.getRelatedEntityType().isInstance(value)) {
+            return metadataRegistry.getMetadata(property.getRelatedEntityType()).getIdValue(value);
+        }
+        return value;
+    }
+
+    private <T> String buildFindQuery(Class<T> entityClass, Field field) {
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        return metadata.getSql().getSelectByColumnSql(metadata.getProperty(field).getColumnName());
+    }
+
+    private <T> String buildFindAllQuery(Class<T> entityClass) {
+        return metadataRegistry.getMetadata(entityClass).getSql().getSelectAllSql();
+    }
+
+    private <T> PreparedStatement prepareFindStatement(Class<T> entityClass, Field field, String query,
+                                                       Object fieldValue, Connection connection) throws SQLException {
+        log.trace("Preparing find statement {} with value={} connection={}", query, fieldValue,
+                connection.toString());
         printSqlStatement(query);
         PreparedStatement statement = connection.prepareStatement(query);
-        statement.setObject(1, fieldValue);
+        PropertyMetadata property = metadataRegistry.getMetadata(entityClass).getProperty(field);
+        getEntityBinder(entityClass).bindValue(statement, 1, property, fieldValue);
         return statement;
     }
 
-    private <T> PreparedStatement prepareFindAllStatement(Class<T> entityClass, Connection connection) throws SQLException {
-        log.trace("Preparing findAll statement for entityClass={}, connection={}", entityClass.getName(),
-                connection.toString());
-        String tableName = getTableName(entityClass);
-        String query = String.format(FIND_ALL_ENTITIES_FROM_TABLE_TEMPLATE, tableName);
-        log.trace("Prepared findAll statement: {}", query);
+    private PreparedStatement prepareFindAllStatement(String query, Connection connection) throws SQLException {
+        log.trace("Preparing findAll statement {} connection={}", query, connection.toString());
         printSqlStatement(query);
         return connection.prepareStatement(query);
     }
 
-    private <T> PreparedStatement prepareDeleteStatement(T entity, Connection connection) throws SQLException {
+    private <T> PreparedStatement prepareDeleteStatement(T entity, EntityMetadata metadata, Connection connection)
+            throws SQLException {
         log.trace("Preparing delete statement for entityClass={}, connection={}", entity.getClass().getSimpleName(),
                 connection.toString());
-        String tableName = getTableName(entity.getClass());
-        Field idField = getIdField(entity.getClass());
-        Object idValue = getIdValue(entity);
-        if (idValue == null) {
+        if (metadata.getIdValue(entity) == null) {
             throw new BibernateException("ID field is null");
         }
-        String deleteQuery = String.format(DELETE_BY_ID_TEMPLATE, tableName, getColumnName(idField));
+        String deleteQuery = metadata.getSql().getDeleteByIdSql();
         log.trace("Prepared delete statement: {}", deleteQuery);
         printSqlStatement(deleteQuery);
         PreparedStatement statement = connection.prepareStatement(deleteQuery);
-        statement.setObject(1, idValue);
+        getEntityBinder(metadata.getEntityClass()).bindId(statement, 1, entity);
         return statement;
     }
 
-    private <T> PreparedStatement prepareInsertStatement(T entity, Connection connection) throws SQLException {
+    private <T> PreparedStatement prepareInsertStatement(T entity, EntityMetadata metadata, Connection connection)
+            throws SQLException {
         log.trace("Preparing insert statement for entityClass={}, connection={}", entity.getClass().getSimpleName(),
                 connection.toString());
-        String tableName = getTableName(entity.getClass());
-        List<String> columns = getInsertableColumns(entity.getClass());
-        List<Object> values = getInsertableValues(entity);
-        String insertPlaceHolders = getInsertPlaceholders(columns);
-        String insertQuery = String.format(INSERT_INTO_TABLE_VALUES_TEMPLATE, tableName,
-                String.join(", ", columns), insertPlaceHolders);
+        String insertQuery = metadata.getSql().getInsertSql();
         log.trace("Prepared insert statement: {}", insertQuery);
         printSqlStatement(insertQuery);
-        PreparedStatement statement = connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS);
-        setPreparedStatementValues(values, statement);
+        PreparedStatement statement = metadata.getIdProperty().isGeneratedId()
+                ? connection.prepareStatement(insertQuery, Statement.RETURN_GENERATED_KEYS)
+                : connection.prepareStatement(insertQuery);
+        getEntityBinder(metadata.getEntityClass()).bindInsertValues(statement, 1, entity);
         return statement;
     }
 
-    private <T> PreparedStatement prepareUpdateStatement(T entity, Connection connection) throws SQLException,
-            IllegalAccessException {
+    private <T> PreparedStatement prepareUpdateStatement(T entity, EntityMetadata metadata, BitSet dirtyProperties,
+                                                         Connection connection) throws SQLException {
         log.trace("Preparing update statement for entityClass={}, connection={}", entity.getClass().getSimpleName(),
                 connection.toString());
-        String tableName = getTableName(entity.getClass());
-        Field idField = getIdField(entity.getClass());
-        Object idValue = getIdValue(entity);
-        if (idValue == null) {
+        if (metadata.getIdValue(entity) == null) {
             throw new BibernateException("ID field is null");
         }
-        List<String> updateColumns = getUpdatableColumns(entity);
-        List<Object> updateValues = getUpdatableValues(entity);
-
-        String updateQuery = String.format(UPDATE_BY_ID_TEMPLATE, tableName,
-                getUpdatePlaceholders(updateColumns), getColumnName(idField));
+        String updateQuery = dirtyProperties == null
+                ? metadata.getSql().getUpdateByIdSql()
+                : metadata.getSql().getUpdateByIdSql(dirtyProperties);
         log.trace("Prepared update statement: {}", updateQuery);
         printSqlStatement(updateQuery);
         PreparedStatement statement = connection.prepareStatement(updateQuery);
-        setPreparedStatementValues(updateValues, statement);
-        statement.setObject(updateValues.size() + 1, idValue);
+        EntityBinder binder = getEntityBinder(metadata.getEntityClass());
+        int idIndex = dirtyProperties == null
+                ? binder.bindUpdateValues(statement, 1, entity)
+                : binder.bindUpdateValues(statement, 1, entity, dirtyProperties);
+        binder.bindId(statement, idIndex, entity);
         return statement;
     }
 
-    private <T> T mapResultSetToEntity(Class<T> entityClass, ResultSet resultSet) {
-        log.trace("Creating entity {} from the result set", entityClass.getSimpleName());
+    private EntityBinder getEntityBinder(Class<?> entityClass) {
+        EntityBinder binder = binders.get(entityClass);
+        if (binder == null) {
+            binder = binders.computeIfAbsent(entityClass, type -> new EntityBinder(type, metadataRegistry));
+        }
+        return binder;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> EntityRowMapper<T> getRowMapper(Class<T> entityClass) {
+        EntityRowMapper<?> rowMapper = rowMappers.get(entityClass);
+        if (rowMapper == null) {
+            rowMapper = rowMappers.computeIfAbsent(entityClass,
+                    type -> new EntityRowMapper<>(type, metadataRegistry));
+        }
+        return (EntityRowMapper<T>) rowMapper;
+    }
+
+    private <T> List<T> mapResultSetToEntities(Class<T> entityClass, String query, ResultSet resultSet) {
+        log.trace("Creating entities {} from the result set", entityClass.getSimpleName());
+        List<T> result = new ArrayList<>();
         try {
-            T entity = entityClass.getConstructor().newInstance();
-            for (var entityField : entityClass.getDeclaredFields()) {
-                entityField.setAccessible(TRUE);
-
-                if (isRegularField(entityField)) {
-                    String columnName = getColumnName(entityField);
-                    var columnValue = convertToJavaType(entityField, resultSet.getObject(columnName));
-                    entityField.set(entity, columnValue);
-                    log.trace("Setting field '{}' with value '{}' for entity of class {}",
-                            columnName, columnValue, entityClass.getSimpleName());
-                } else if (isEntityField(entityField)) {
-                    var relatedEntityClass = entityField.getType();
-
-                    var relatedEntityId = getColumnName(entityField);
-                    var relatedEntityIdValue = resultSet.getObject(relatedEntityId);
-                    log.trace("Setting related entity field '{}' with ID value '{}' for entity of class {}",
-                            relatedEntityId, relatedEntityIdValue, entityClass.getSimpleName());
-                    Object o = relatedEntityClass.getConstructor().newInstance();
-                    Field declaredField = EntityUtil.getIdField(relatedEntityClass);
-                    declaredField.setAccessible(TRUE);
-                    declaredField.set(o, relatedEntityIdValue);
-
-                    entityField.set(entity, o);
-                }
+            if (!resultSet.next()) {
+                return result;
             }
-            return entity;
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                 NoSuchMethodException e) {
-            log.error("Exception occurred while mapping result set to entity of class {}",
-                    entityClass.getSimpleName(), e);
-            throw new BibernateException(e);
+            EntityRowMapper<T> rowMapper = getRowMapper(entityClass);
+            int[] columnIndexes = rowMapper.getColumnIndexes(query, resultSet);
+            do {
+                result.add(rowMapper.mapRow(resultSet, columnIndexes));
+            } while (resultSet.next());
+            return result;
         } catch (SQLException e) {
             log.error("Exception occurred while getting values from result set", e);
             throw new JDBCException(e.getMessage(), e);
@@ -435,4 +937,39 @@ public class EntityPersister {
             System.out.println("SQL statement: " + query);
         }
     }
+
+    /**
+     * Maps the rows of a result set to entities as they are requested. The column indexes are resolved on the first
+     * row.
+     */
+    private static class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final EntityRowMapper<T> rowMapper;
+        private final String query;
+        private final ResultSet resultSet;
+        private int[] columnIndexes;
+
+        ResultSetSpliterator(EntityRowMapper<T> rowMapper, String query, ResultSet resultSet) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.rowMapper = rowMapper;
+            this.query = query;
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                if (columnIndexes == null) {
+                    columnIndexes = rowMapper.getColumnIndexes(query, resultSet);
+                }
+                action.accept(rowMapper.mapRow(resultSet, columnIndexes));
+                return true;
+            } catch (SQLException e) {
+                log.error("Exception occurred while getting values from result set", e);
+                throw new JDBCException(e.getMessage(), e);
+            }
+        }
+    }
 }
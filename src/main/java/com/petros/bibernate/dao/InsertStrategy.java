@@ -0,0 +1,44 @@
+package com.petros.bibernate.dao;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.util.Arrays;
+
+import static java.lang.String.format;
+
+/**
+ * Defines how {@link EntityPersister#insertAll} sends several rows of the same table to the database.
+ */
+public enum InsertStrategy {
+    /**
+     * One single-row {@code INSERT} per entity, sent with {@link java.sql.Statement#addBatch()}.
+     */
+    BATCH("batch"),
+
+    /**
+     * One {@code INSERT INTO t(cols) VALUES (...),(...),...} statement for as many rows as the parameter limit of
+     * the dialect allows. Useful for drivers that gain little from JDBC batching.
+     */
+    MULTI_ROW("multi-row");
+
+    private final String propertyValue;
+
+    InsertStrategy(String propertyValue) {
+        this.propertyValue = propertyValue;
+    }
+
+    /**
+     * Resolves the strategy from the value of the
+     * {@value com.petros.bibernate.config.Configuration#JDBC_INSERT_STRATEGY} property.
+     *
+     * @param propertyValue the property value, {@code batch} or {@code multi-row}
+     * @return the insert strategy
+     * @throws BibernateException if the value is unknown
+     */
+    public static InsertStrategy fromPropertyValue(String propertyValue) {
+        return Arrays.stream(values())
+                .filter(strategy -> strategy.propertyValue.equalsIgnoreCase(propertyValue.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BibernateException(format("Unknown insert strategy %s", propertyValue)));
+    }
+}
@@ -0,0 +1,222 @@
+package com.petros.bibernate.dao.binder;
+
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.PropertyAccessor;
+import com.petros.bibernate.metadata.PropertyMetadata;
+import com.petros.bibernate.type.TypeConverter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the column values of a single entity class to statement parameters. The binder of every column is resolved
+ * once, when the entity binder is built, from the {@link TypeConverter} of the property, so values are bound with the
+ * type-specific {@link PreparedStatement} setters and nulls with the SQL type of the column.
+ * <p>
+ * Properties mapped with {@link com.petros.bibernate.annotation.ManyToOne} or
+ * {@link com.petros.bibernate.annotation.OneToOne} are bound as the id of the related entity. If the entity id is
+ * mapped by a {@link com.petros.bibernate.annotation.MapsId} relation, the id value is taken from the related entity.
+ */
+@Slf4j
+public class EntityBinder {
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = Map.of(int.class, Integer.class, long.class,
+            Long.class, short.class, Short.class, byte.class, Byte.class, double.class, Double.class, float.class,
+            Float.class, boolean.class, Boolean.class, char.class, Character.class);
+    private final EntityMetadataRegistry metadataRegistry;
+    private final ParameterBinder[] insertBinders;
+    private final ParameterBinder[] updateBinders;
+    /**
+     * The update binder of every snapshot property, or null if the property is not updatable.
+     */
+    private final ParameterBinder[] snapshotUpdateBinders;
+    private final ParameterBinder idBinder;
+
+    /**
+     * Builds the binder for the given entity class.
+     *
+     * @param entityClass      entity class that is mapped to database table
+     * @param metadataRegistry the registry used to resolve the metadata of the entity and its relations
+     */
+    public EntityBinder(Class<?> entityClass, EntityMetadataRegistry metadataRegistry) {
+        log.trace("Building parameter binder for entity {}", entityClass.getSimpleName());
+        this.metadataRegistry = metadataRegistry;
+        EntityMetadata metadata = metadataRegistry.getMetadata(entityClass);
+        this.insertBinders = createBinders(metadata, metadata.getInsertableProperties());
+        this.updateBinders = createBinders(metadata, metadata.getUpdatableProperties());
+        this.snapshotUpdateBinders = metadata.getSnapshotProperties().stream()
+                .mapToInt(metadata.getUpdatableProperties()::indexOf)
+                .mapToObj(index -> index < 0 ? null : updateBinders[index])
+                .toArray(ParameterBinder[]::new);
+        this.idBinder = basicBinder(metadata.getIdProperty());
+    }
+
+    private ParameterBinder[] createBinders(EntityMetadata metadata, List<PropertyMetadata> properties) {
+        return properties.stream()
+                .map(property -> createBinder(metadata, property))
+                .toArray(ParameterBinder[]::new);
+    }
+
+    private ParameterBinder createBinder(EntityMetadata metadata, PropertyMetadata property) {
+        if (property.isId() && metadata.getMapsIdProperty() != null) {
+            return mapsIdBinder(property, metadata.getMapsIdProperty());
+        } else if (property.isToOne()) {
+            return new RelationParameterBinder(property.getAccessor(), property.getRelatedEntityType());
+        }
+        return basicBinder(property);
+    }
+
+    private static ParameterBinder basicBinder(PropertyMetadata property) {
+        PropertyAccessor accessor = property.getAccessor();
+        TypeConverter<?> converter = property.getTypeConverter();
+        return (statement, parameterIndex, entity) -> converter.bindFrom(statement, parameterIndex, entity, accessor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ParameterBinder mapsIdBinder(PropertyMetadata idProperty, PropertyMetadata mapsIdProperty) {
+        var converter = (TypeConverter<Object>) idProperty.getTypeConverter();
+        var relationBinder = new RelationParameterBinder(mapsIdProperty.getAccessor(),
+                mapsIdProperty.getRelatedEntityType());
+        return (statement, parameterIndex, entity) ->
+                converter.bind(statement, parameterIndex, relationBinder.getRelatedIdValue(entity));
+    }
+
+    /**
+     * Binds the values of the insertable columns, in the order of
+     * {@link EntityMetadata#getInsertableProperties()}.
+     *
+     * @param statement  the insert statement
+     * @param firstIndex the index of the first parameter to bind
+     * @param entity     the entity to insert
+     * @return the index of the parameter following the bound ones
+     * @throws SQLException if a value could not be bound
+     */
+    public int bindInsertValues(PreparedStatement statement, int firstIndex, Object entity) throws SQLException {
+        return bind(insertBinders, statement, firstIndex, entity);
+    }
+
+    /**
+     * Binds the values of the updatable columns, in the order of {@link EntityMetadata#getUpdatableProperties()}.
+     *
+     * @param statement  the update statement
+     * @param firstIndex the index of the first parameter to bind
+     * @param entity     the entity to update
+     * @return the index of the parameter following the bound ones
+     * @throws SQLException if a value could not be bound
+     */
+    public int bindUpdateValues(PreparedStatement statement, int firstIndex, Object entity) throws SQLException {
+        return bind(updateBinders, statement, firstIndex, entity);
+    }
+
+    /**
+     * Binds the values of the updatable columns of the given snapshot properties, in the order of
+     * {@link EntityMetadata#getSnapshotProperties()}, as rendered by
+     * {@link com.petros.bibernate.metadata.EntitySql#getUpdateByIdSql(BitSet)}.
+     *
+     * @param statement       the update statement
+     * @param firstIndex      the index of the first parameter to bind
+     * @param entity          the entity to update
+     * @param dirtyProperties the indexes of the changed snapshot properties
+     * @return the index of the parameter following the bound ones
+     * @throws SQLException if a value could not be bound
+     */
+    public int bindUpdateValues(PreparedStatement statement, int firstIndex, Object entity, BitSet dirtyProperties)
+            throws SQLException {
+        int parameterIndex = firstIndex;
+        for (int i = dirtyProperties.nextSetBit(0); i >= 0; i = dirtyProperties.nextSetBit(i + 1)) {
+            ParameterBinder binder = snapshotUpdateBinders[i];
+            if (binder != null) {
+                binder.bind(statement, parameterIndex++, entity);
+            }
+        }
+        return parameterIndex;
+    }
+
+    /**
+     * Binds the id value of the entity.
+     *
+     * @param statement      the statement
+     * @param parameterIndex the index of the parameter to bind
+     * @param entity         the entity
+     * @throws SQLException if the value could not be bound
+     */
+    public void bindId(PreparedStatement statement, int parameterIndex, Object entity) throws SQLException {
+        idBinder.bind(statement, parameterIndex, entity);
+    }
+
+    /**
+     * Binds a value of the column of the given property. For relation properties the value is the id of the related
+     * entity. Values of an unexpected type are bound with {@link PreparedStatement#setObject(int, Object)}.
+     *
+     * @param statement      the statement
+     * @param parameterIndex the index of the parameter to bind
+     * @param property       the property the value belongs to
+     * @param value          the column value
+     * @throws SQLException if the value could not be bound
+     */
+    @SuppressWarnings("unchecked")
+    public void bindValue(PreparedStatement statement, int parameterIndex, PropertyMetadata property, Object value)
+            throws SQLException {
+        var valueProperty = property.isBasic() ? property
+                : metadataRegistry.getMetadata(property.getRelatedEntityType()).getIdProperty();
+        var converter = (TypeConverter<Object>) valueProperty.getTypeConverter();
+        if (value == null || wrap(converter.getJavaType()).isInstance(value)) {
+            converter.bind(statement, parameterIndex, value);
+        } else {
+            statement.setObject(parameterIndex, value);
+        }
+    }
+
+    private static int bind(ParameterBinder[] binders, PreparedStatement statement, int firstIndex, Object entity)
+            throws SQLException {
+        int parameterIndex = firstIndex;
+        for (ParameterBinder binder : binders) {
+            binder.bind(statement, parameterIndex++, entity);
+        }
+        return parameterIndex;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? PRIMITIVE_WRAPPERS.get(type) : type;
+    }
+
+    /**
+     * Binds the id of the related entity. The metadata of the related entity is resolved on first use, because it
+     * may not be built yet when this binder is created.
+     */
+    private final class RelationParameterBinder implements ParameterBinder {
+        private final PropertyAccessor accessor;
+        private final Class<?> relatedEntityType;
+        private EntityMetadata relatedMetadata;
+
+        private RelationParameterBinder(PropertyAccessor accessor, Class<?> relatedEntityType) {
+            this.accessor = accessor;
+            this.relatedEntityType = relatedEntityType;
+        }
+
+        private EntityMetadata getRelatedMetadata() {
+            EntityMetadata related = relatedMetadata;
+            if (related == null) {
+                related = metadataRegistry.getMetadata(relatedEntityType);
+                relatedMetadata = related;
+            }
+            return related;
+        }
+
+        private Object getRelatedIdValue(Object entity) {
+            Object relatedEntity = accessor.get(entity);
+            return relatedEntity == null ? null : getRelatedMetadata().getIdValue(relatedEntity);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void bind(PreparedStatement statement, int parameterIndex, Object entity) throws SQLException {
+            var relatedIdConverter = (TypeConverter<Object>) getRelatedMetadata().getIdProperty().getTypeConverter();
+            relatedIdConverter.bind(statement, parameterIndex, getRelatedIdValue(entity));
+        }
+    }
+}
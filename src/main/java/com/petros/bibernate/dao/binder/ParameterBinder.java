@@ -0,0 +1,13 @@
+package com.petros.bibernate.dao.binder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Reads a single column value from an entity and binds it to a statement parameter.
+ */
+@FunctionalInterface
+interface ParameterBinder {
+
+    void bind(PreparedStatement statement, int parameterIndex, Object entity) throws SQLException;
+}
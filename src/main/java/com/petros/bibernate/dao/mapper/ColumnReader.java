@@ -0,0 +1,13 @@
+package com.petros.bibernate.dao.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reads a single column of the current result set row and writes it to the entity property it is bound to.
+ */
+@FunctionalInterface
+interface ColumnReader {
+
+    void read(ResultSet resultSet, int columnIndex, Object entity) throws SQLException;
+}
@@ -0,0 +1,167 @@
+package com.petros.bibernate.dao.mapper;
+
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.PropertyAccessor;
+import com.petros.bibernate.metadata.PropertyMetadata;
+import com.petros.bibernate.type.TypeConverter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * {@link RowMapper} specialized for a single entity class. All per-column decisions (column name, value conversion,
+ * property accessor, relation handling) are resolved once when the mapper is built, so mapping a row is a straight
+ * loop over pre-bound column readers.
+ * <p>
+ * Columns are read by index. The indexes are resolved from {@link ResultSetMetaData} once per query and cached, see
+ * {@link #getColumnIndexes(String, ResultSet)}, so drivers do not have to look up every column by name for every row.
+ * <p>
+ * Properties mapped with {@link com.petros.bibernate.annotation.ManyToOne} or
+ * {@link com.petros.bibernate.annotation.OneToOne} are populated with a stub of the related entity that contains
+ * only its id. {@link com.petros.bibernate.annotation.OneToMany} properties are left untouched.
+ *
+ * @param <T> the entity type
+ */
+@Slf4j
+public class EntityRowMapper<T> implements RowMapper<T> {
+    private final Class<T> entityClass;
+    private final EntityMetadata metadata;
+    private final String[] columnNames;
+    private final ColumnReader[] columnReaders;
+    private final Map<String, int[]> columnIndexesByQuery = new ConcurrentHashMap<>();
+
+    /**
+     * Builds the mapper for the given entity class.
+     *
+     * @param entityClass      entity class that is mapped to database table
+     * @param metadataRegistry the registry used to resolve the metadata of the entity and its relations
+     */
+    public EntityRowMapper(Class<T> entityClass, EntityMetadataRegistry metadataRegistry) {
+        log.trace("Building row mapper for entity {}", entityClass.getSimpleName());
+        this.entityClass = entityClass;
+        this.metadata = metadataRegistry.getMetadata(entityClass);
+        var mappedProperties = metadata.getProperties().stream()
+                .filter(property -> !property.isToMany())
+                .toList();
+        this.columnNames = mappedProperties.stream()
+                .map(PropertyMetadata::getColumnName)
+                .toArray(String[]::new);
+        this.columnReaders = mappedProperties.stream()
+                .map(property -> property.isBasic() ? basicColumnReader(property)
+                        : new RelationColumnReader(property, metadataRegistry))
+                .toArray(ColumnReader[]::new);
+    }
+
+    private static ColumnReader basicColumnReader(PropertyMetadata property) {
+        PropertyAccessor accessor = property.getAccessor();
+        TypeConverter<?> converter = property.getTypeConverter();
+        return (resultSet, columnIndex, entity) -> converter.readInto(resultSet, columnIndex, entity, accessor);
+    }
+
+    /**
+     * Retrieves the result set column indexes of the mapped properties for the given query. The indexes are resolved
+     * from the result set metadata on the first call and cached per query afterwards.
+     *
+     * @param query     the SQL query that produced the result set
+     * @param resultSet the result set of the query
+     * @return the column index of every mapped property, in the order expected by {@link #mapRow(ResultSet, int[])}
+     * @throws SQLException if the result set metadata could not be read or a mapped column is missing
+     */
+    public int[] getColumnIndexes(String query, ResultSet resultSet) throws SQLException {
+        int[] columnIndexes = columnIndexesByQuery.get(query);
+        if (columnIndexes == null) {
+            columnIndexes = resolveColumnIndexes(resultSet.getMetaData());
+            columnIndexesByQuery.putIfAbsent(query, columnIndexes);
+        }
+        return columnIndexes;
+    }
+
+    private int[] resolveColumnIndexes(ResultSetMetaData resultSetMetaData) throws SQLException {
+        Map<String, Integer> indexesByLabel = new HashMap<>();
+        for (int i = resultSetMetaData.getColumnCount(); i > 0; i--) {
+            indexesByLabel.put(resultSetMetaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        int[] columnIndexes = new int[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            Integer columnIndex = indexesByLabel.get(columnNames[i].toLowerCase(Locale.ROOT));
+            if (columnIndex == null) {
+                throw new SQLException(format("Column %s of entity %s is not present in the result set",
+                        columnNames[i], entityClass.getSimpleName()));
+            }
+            columnIndexes[i] = columnIndex;
+        }
+        log.trace("Resolved column indexes {} for entity {}", Arrays.toString(columnIndexes),
+                entityClass.getSimpleName());
+        return columnIndexes;
+    }
+
+    /**
+     * Maps the current row, resolving the column indexes from the result set metadata. Prefer
+     * {@link #mapRow(ResultSet, int[])} with cached indexes when mapping the rows of a known query.
+     */
+    @Override
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        return mapRow(resultSet, resolveColumnIndexes(resultSet.getMetaData()));
+    }
+
+    /**
+     * Maps the current row using the given column indexes.
+     *
+     * @param resultSet     result set positioned at the row to map
+     * @param columnIndexes the column indexes returned by {@link #getColumnIndexes(String, ResultSet)}
+     * @return the mapped entity
+     * @throws SQLException if the column values could not be read
+     */
+    public T mapRow(ResultSet resultSet, int[] columnIndexes) throws SQLException {
+        T entity = entityClass.cast(metadata.newInstance());
+        for (int i = 0; i < columnReaders.length; i++) {
+            columnReaders[i].read(resultSet, columnIndexes[i], entity);
+        }
+        return entity;
+    }
+
+    /**
+     * Reads a foreign key column and populates the relation property with a stub of the related entity. The metadata
+     * of the related entity is resolved on first use, because it may not be built yet when this mapper is created.
+     */
+    private static final class RelationColumnReader implements ColumnReader {
+        private final PropertyAccessor accessor;
+        private final Class<?> relatedEntityType;
+        private final EntityMetadataRegistry metadataRegistry;
+        private EntityMetadata relatedMetadata;
+
+        private RelationColumnReader(PropertyMetadata property, EntityMetadataRegistry metadataRegistry) {
+            this.accessor = property.getAccessor();
+            this.relatedEntityType = property.getRelatedEntityType();
+            this.metadataRegistry = metadataRegistry;
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex, Object entity) throws SQLException {
+            EntityMetadata related = relatedMetadata;
+            if (related == null) {
+                related = metadataRegistry.getMetadata(relatedEntityType);
+                relatedMetadata = related;
+            }
+            PropertyMetadata relatedIdProperty = related.getIdProperty();
+            Object relatedIdValue = relatedIdProperty.getTypeConverter().read(resultSet, columnIndex);
+            if (relatedIdValue == null) {
+                accessor.set(entity, null);
+                return;
+            }
+            Object stub = related.newInstance();
+            relatedIdProperty.setValue(stub, relatedIdValue);
+            accessor.set(entity, stub);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.petros.bibernate.dao.mapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object. Implementations do not move the cursor.
+ *
+ * @param <T> the type of the mapped object
+ * @see EntityRowMapper
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the current row of the given result set.
+     *
+     * @param resultSet result set positioned at the row to map
+     * @return the mapped object
+     * @throws SQLException if the column values could not be read
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
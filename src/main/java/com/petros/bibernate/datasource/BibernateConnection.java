@@ -1,6 +1,6 @@
 package com.petros.bibernate.datasource;
 
-import lombok.RequiredArgsConstructor;
+import com.petros.bibernate.config.Configuration;
 
 import javax.sql.PooledConnection;
 import java.sql.*;
@@ -9,10 +9,51 @@ import java.util.Properties;
 import java.util.Queue;
 import java.util.concurrent.Executor;
 
-@RequiredArgsConstructor
 public class BibernateConnection implements Connection {
     private final Connection connection;
     private final Queue<BibernateConnection> connectionPool;
+    /**
+     * The cache of prepared statements of the physical connection, or null if statement caching is disabled.
+     */
+    private final StatementCache statementCache;
+
+    public BibernateConnection(Connection connection, Queue<BibernateConnection> connectionPool) {
+        this(connection, connectionPool, Configuration.DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Wraps a physical connection of the pool.
+     *
+     * @param connection         the physical connection
+     * @param connectionPool     the pool to return this connection to on {@link #close()}
+     * @param statementCacheSize the maximum number of idle prepared statements kept open, statement caching is
+     *                           disabled if it is not positive
+     */
+    public BibernateConnection(Connection connection, Queue<BibernateConnection> connectionPool,
+                               int statementCacheSize) {
+        this.connection = connection;
+        this.connectionPool = connectionPool;
+        this.statementCache = statementCacheSize > 0 ? new StatementCache(connection, statementCacheSize) : null;
+    }
+
+    /**
+     * Gets the number of prepared statements that were taken from the statement cache.
+     *
+     * @return the number of cache hits, 0 if statement caching is disabled
+     */
+    public long getStatementCacheHits() {
+        return statementCache == null ? 0 : statementCache.getHits();
+    }
+
+    /**
+     * Gets the number of prepared statements that were not found in the statement cache and had to be prepared on
+     * the physical connection.
+     *
+     * @return the number of cache misses, 0 if statement caching is disabled
+     */
+    public long getStatementCacheMisses() {
+        return statementCache == null ? 0 : statementCache.getMisses();
+    }
 
     /**
      * Creates a {@code Statement} object for sending
@@ -71,6 +112,9 @@ public class BibernateConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.prepareStatement(sql, Statement.NO_GENERATED_KEYS, this);
+        }
         return connection.prepareStatement(sql);
     }
 
@@ -236,6 +280,9 @@ public class BibernateConnection implements Connection {
     }
 
     public void closePhysical() throws SQLException {
+        if (statementCache != null) {
+            statementCache.close();
+        }
         connection.close();
     }
 
@@ -905,6 +952,9 @@ public class BibernateConnection implements Connection {
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.prepareStatement(sql, autoGeneratedKeys, this);
+        }
         return connection.prepareStatement(sql, autoGeneratedKeys);
     }
 
@@ -1,11 +1,14 @@
 package com.petros.bibernate.datasource;
 
+import com.petros.bibernate.config.Configuration;
 import com.petros.bibernate.exception.BibernateException;
 import lombok.extern.slf4j.Slf4j;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -15,6 +18,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 @Slf4j
 public class BibernateConnectionPool {
     private final Queue<BibernateConnection> pool;
+    private final List<BibernateConnection> connections;
 
     /**
      * Constructs a new connection pool with the specified parameters.
@@ -25,13 +29,31 @@ public class BibernateConnectionPool {
      * @param connectionPoolSize the size of the connection pool
      */
     public BibernateConnectionPool(String url, String username, String password, int connectionPoolSize) {
+        this(url, username, password, connectionPoolSize, Configuration.DEFAULT_STATEMENT_CACHE_SIZE);
+    }
+
+    /**
+     * Constructs a new connection pool with the specified parameters.
+     *
+     * @param url                the JDBC URL to connect to
+     * @param username           the username to use when connecting
+     * @param password           the password to use when connecting
+     * @param connectionPoolSize the size of the connection pool
+     * @param statementCacheSize the maximum number of idle prepared statements cached by every connection, statement
+     *                           caching is disabled if it is not positive
+     */
+    public BibernateConnectionPool(String url, String username, String password, int connectionPoolSize,
+                                   int statementCacheSize) {
         log.info("Connection pool is going to be created");
         pool = new LinkedBlockingQueue<>();
+        connections = new ArrayList<>(connectionPoolSize);
         log.info("{} new connections will be created", connectionPoolSize);
         for (int i = 0; i < connectionPoolSize; i++) {
             try {
                 Connection connection = DriverManager.getConnection(url, username, password);
-                pool.add(new BibernateConnection(connection, pool));
+                var logicConnection = new BibernateConnection(connection, pool, statementCacheSize);
+                connections.add(logicConnection);
+                pool.add(logicConnection);
                 log.info("New physical connection has been created and stored into pool");
             } catch (SQLException e) {
                 log.error("Could not create physical connection", e);
@@ -47,6 +69,21 @@ public class BibernateConnectionPool {
         return pool.poll();
     }
 
+    /**
+     * Gets the number of prepared statements taken from the statement caches of all connections of the pool.
+     */
+    public long getStatementCacheHits() {
+        return connections.stream().mapToLong(BibernateConnection::getStatementCacheHits).sum();
+    }
+
+    /**
+     * Gets the number of prepared statements that were not found in the statement caches of the connections of the
+     * pool.
+     */
+    public long getStatementCacheMisses() {
+        return connections.stream().mapToLong(BibernateConnection::getStatementCacheMisses).sum();
+    }
+
     /**
      * Closes all connections in the pool.
      */
@@ -1,6 +1,7 @@
 package com.petros.bibernate.datasource;
 
-
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.id.IdGeneratorRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.sql.DataSource;
@@ -8,6 +9,8 @@ import java.io.PrintWriter;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -19,12 +22,51 @@ import java.util.logging.Logger;
 @Slf4j
 public class BibernateDataSource implements DataSource {
     private final BibernateConnectionPool connectionPool;
+    private final Map<Class<? extends Dialect>, IdGeneratorRegistry> idGeneratorRegistries = new ConcurrentHashMap<>();
 
 
     public BibernateDataSource(String url, String username, String password, int connectionPoolSize) {
         this.connectionPool = new BibernateConnectionPool(url, username, password, connectionPoolSize);
     }
 
+    public BibernateDataSource(String url, String username, String password, int connectionPoolSize,
+                               int statementCacheSize) {
+        this.connectionPool = new BibernateConnectionPool(url, username, password, connectionPoolSize,
+                statementCacheSize);
+    }
+
+    /**
+     * Gets the number of prepared statements taken from the statement caches of the pooled connections.
+     *
+     * @return the number of statement cache hits
+     */
+    public long getStatementCacheHits() {
+        return connectionPool.getStatementCacheHits();
+    }
+
+    /**
+     * Gets the number of prepared statements that had to be prepared because they were not found in the statement
+     * caches of the pooled connections.
+     *
+     * @return the number of statement cache misses
+     */
+    public long getStatementCacheMisses() {
+        return connectionPool.getStatementCacheMisses();
+    }
+
+    /**
+     * Gets the id generator registry shared by all sessions that are created for this data source without a
+     * {@link com.petros.bibernate.session.SessionFactory}, so they do not reserve separate blocks of pooled ids or
+     * generate the same snowflake ids. A registry is created for each dialect on first use.
+     *
+     * @param dialect the dialect of the database
+     * @return the id generator registry of the dialect
+     */
+    public IdGeneratorRegistry getIdGeneratorRegistry(Dialect dialect) {
+        return idGeneratorRegistries.computeIfAbsent(dialect.getClass(),
+                type -> new IdGeneratorRegistry(this, dialect));
+    }
+
     public void close() {
         connectionPool.close();
         log.trace("Connection pool has been closed");
@@ -0,0 +1,168 @@
+package com.petros.bibernate.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The idle prepared statements of a single physical connection, keyed by SQL and generated-keys mode and evicted in
+ * least recently used order. A statement is taken out of the cache while it is in use and put back when the
+ * {@link CachedPreparedStatement} is closed, so the same SQL can be prepared again while an earlier statement is still
+ * open.
+ * <p>
+ * Parameters and batches are cleared when a statement is returned, and the fetch size, maximum number of rows and
+ * query timeout are reset to the values the first statement prepared on the connection had, so settings made by one
+ * caller do not leak to the next one. Other statement settings are kept, so they should not be changed on cached
+ * statements.
+ * <p>
+ * The cache is not thread-safe, like the connection it belongs to, except for the hit and miss counters.
+ */
+@Slf4j
+class StatementCache {
+    private final Connection connection;
+    private final Map<Key, PreparedStatement> idleStatements;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private Settings defaultSettings;
+    private boolean closed;
+
+    StatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.idleStatements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    log.trace("Evicting statement {} from the statement cache", eldest.getKey().sql());
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Takes the idle statement with the given SQL and generated-keys mode from the cache, or prepares a new one on the
+     * physical connection.
+     *
+     * @param sql               the SQL statement
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or {@link Statement#NO_GENERATED_KEYS}
+     * @param logicalConnection the connection returned by {@link PreparedStatement#getConnection()}
+     * @return the statement, closing it returns it to the cache
+     * @throws SQLException if the statement could not be prepared
+     */
+    PreparedStatement prepareStatement(String sql, int autoGeneratedKeys, Connection logicalConnection)
+            throws SQLException {
+        var key = new Key(sql, autoGeneratedKeys);
+        var statement = idleStatements.remove(key);
+        if (statement != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            statement = autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                    ? connection.prepareStatement(sql)
+                    : connection.prepareStatement(sql, autoGeneratedKeys);
+            if (defaultSettings == null) {
+                defaultSettings = Settings.of(statement);
+            }
+        }
+        return new CachedPreparedStatement(statement, key, this, logicalConnection);
+    }
+
+    /**
+     * Puts a statement that is no longer used back into the cache. The statement is closed instead if the cache is
+     * closed or the statement could not be reset.
+     */
+    void release(Key key, PreparedStatement statement, ResultSet... resultSets) {
+        for (ResultSet resultSet : resultSets) {
+            closeQuietly(resultSet);
+        }
+        if (closed) {
+            closeQuietly(statement);
+            return;
+        }
+        try {
+            if (statement.isClosed()) {
+                return;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            if (defaultSettings != null) {
+                defaultSettings.applyTo(statement);
+            }
+        } catch (SQLException e) {
+            log.debug("Could not reset statement {}, closing it", key.sql(), e);
+            closeQuietly(statement);
+            return;
+        }
+        var replaced = idleStatements.put(key, statement);
+        if (replaced != null) {
+            closeQuietly(replaced);
+        }
+    }
+
+    /**
+     * Closes all idle statements. Statements in use are closed when they are released.
+     */
+    void close() {
+        closed = true;
+        idleStatements.values().forEach(StatementCache::closeQuietly);
+        idleStatements.clear();
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    int size() {
+        return idleStatements.size();
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            log.debug("Could not close {}", resource, e);
+        }
+    }
+
+    record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    /**
+     * The statement settings that are reset when a statement is returned to the cache.
+     */
+    record Settings(int fetchSize, int maxRows, int queryTimeout) {
+
+        static Settings of(Statement statement) throws SQLException {
+            return new Settings(statement.getFetchSize(), statement.getMaxRows(), statement.getQueryTimeout());
+        }
+
+        // the maximum number of rows goes first, drivers such as H2 reject a fetch size above it
+        void applyTo(Statement statement) throws SQLException {
+            if (statement.getMaxRows() != maxRows) {
+                statement.setMaxRows(maxRows);
+            }
+            if (statement.getFetchSize() != fetchSize) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (statement.getQueryTimeout() != queryTimeout) {
+                statement.setQueryTimeout(queryTimeout);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.petros.bibernate.dialect;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Describes the SQL and JDBC capabilities of a database. A dialect is resolved once per
+ * {@link com.petros.bibernate.session.SessionFactory} from the JDBC URL, see {@link DialectResolver}, and lets
+ * Bibernate use features that not every database or driver supports.
+ */
+public interface Dialect {
+
+    /**
+     * Checks whether the driver returns the generated keys of all rows of a batch insert from
+     * {@link java.sql.Statement#getGeneratedKeys()}. Inserts of entities with generated ids are not batched otherwise.
+     *
+     * @return true if generated keys of batch inserts are supported
+     */
+    default boolean supportsBatchGeneratedKeys() {
+        return true;
+    }
+
+    /**
+     * Checks whether the driver returns the generated keys of all rows of a multi-row
+     * {@code INSERT ... VALUES (...),(...)} statement, in the order of the rows. Multi-row inserts of entities with
+     * generated ids fall back to JDBC batching otherwise.
+     *
+     * @return true if generated keys of multi-row inserts are supported
+     */
+    default boolean supportsMultiRowGeneratedKeys() {
+        return true;
+    }
+
+    /**
+     * Gets the maximum number of rows of a single multi-row {@code INSERT ... VALUES} statement.
+     *
+     * @return the maximum number of rows
+     */
+    default int getMaxInsertRowCount() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Gets the maximum number of parameters of a single statement. Statements with a variable number of parameters,
+     * such as deletes with an {@code IN} list or multi-row inserts, are split into chunks that stay within this limit.
+     *
+     * @return the maximum number of statement parameters
+     */
+    default int getMaxParameterCount() {
+        return 1000;
+    }
+
+    /**
+     * Checks whether the database supports sequences. Ids with the
+     * {@link com.petros.bibernate.annotation.GenerationType#SEQUENCE} strategy cannot be generated otherwise.
+     *
+     * @return true if sequences are supported
+     */
+    default boolean supportsSequences() {
+        return true;
+    }
+
+    /**
+     * Checks whether the database has a native UUID column type that the driver binds {@link java.util.UUID} values
+     * to. UUIDs are bound as text otherwise.
+     *
+     * @return true if UUID columns are supported
+     */
+    default boolean supportsNativeUuid() {
+        return false;
+    }
+
+    /**
+     * Renders the query that returns the next value of the given sequence as a single row with a single column.
+     *
+     * @param sequenceName the name of the sequence
+     * @return the query
+     */
+    default String getSequenceNextValueSql(String sequenceName) {
+        return "SELECT NEXT VALUE FOR " + sequenceName;
+    }
+
+    /**
+     * Gets the table hint that makes a {@code SELECT} lock the selected rows for update. It is rendered right after
+     * the table name.
+     *
+     * @return the table hint, empty if the database locks rows with {@link #getForUpdateClause()}
+     */
+    default String getForUpdateTableHint() {
+        return "";
+    }
+
+    /**
+     * Gets the clause that makes a {@code SELECT} lock the selected rows for update. It is rendered at the end of the
+     * query.
+     *
+     * @return the clause, empty if the database locks rows with {@link #getForUpdateTableHint()}
+     */
+    default String getForUpdateClause() {
+        return " FOR UPDATE";
+    }
+
+    /**
+     * Checks whether an upsert may write the id of an entity with an
+     * {@link com.petros.bibernate.annotation.GenerationType#IDENTITY} id. The database must accept explicit values for
+     * identity columns and advance the identity past them, so later inserts do not generate the same id.
+     *
+     * @return true if entities with identity ids can be upserted
+     */
+    default boolean supportsIdentityUpsert() {
+        return false;
+    }
+
+    /**
+     * Renders the statement that inserts a row or updates all of its columns if a row with the same id exists. The
+     * statement has one parameter per column, in the order of the given columns. By default, the SQL standard
+     * {@code MERGE} statement is rendered.
+     *
+     * @param tableName the name of the table
+     * @param idColumn  the name of the id column
+     * @param columns   the names of all written columns, starting with the id column
+     * @return the upsert statement
+     */
+    default String getUpsertSql(String tableName, String idColumn, List<String> columns) {
+        var placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        var updates = columns.stream()
+                .filter(column -> !column.equals(idColumn))
+                .map(column -> "t." + column + " = s." + column)
+                .collect(Collectors.joining(", "));
+        return "MERGE INTO " + tableName + " t USING (VALUES (" + placeholders + ")) s("
+                + String.join(", ", columns) + ") ON t." + idColumn + " = s." + idColumn
+                + (updates.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + updates)
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "s." + column).collect(Collectors.joining(", ")) + ");";
+    }
+}
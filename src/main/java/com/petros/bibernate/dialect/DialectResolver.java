@@ -0,0 +1,64 @@
+package com.petros.bibernate.dialect;
+
+import com.petros.bibernate.exception.BibernateException;
+import lombok.extern.slf4j.Slf4j;
+
+import static java.lang.String.format;
+
+/**
+ * Resolves the {@link Dialect} of a database from its JDBC URL or from the class name configured with the
+ * {@value com.petros.bibernate.config.Configuration#DIALECT} property.
+ */
+@Slf4j
+public final class DialectResolver {
+
+    private DialectResolver() {
+    }
+
+    /**
+     * Resolves the dialect of the database with the given JDBC URL.
+     *
+     * @param url the JDBC URL
+     * @return the dialect of the database, or {@link GenericDialect} if the database is not recognized
+     */
+    public static Dialect resolve(String url) {
+        var lowerCaseUrl = url == null ? "" : url.toLowerCase();
+        Dialect dialect;
+        if (lowerCaseUrl.startsWith("jdbc:h2:")) {
+            dialect = new H2Dialect();
+        } else if (lowerCaseUrl.startsWith("jdbc:postgresql:")) {
+            dialect = new PostgreSQLDialect();
+        } else if (lowerCaseUrl.startsWith("jdbc:mysql:") || lowerCaseUrl.startsWith("jdbc:mariadb:")) {
+            dialect = new MySQLDialect();
+        } else if (lowerCaseUrl.startsWith("jdbc:sqlserver:")) {
+            dialect = new SQLServerDialect();
+        } else {
+            dialect = new GenericDialect();
+        }
+        log.debug("Resolved dialect {} for URL {}", dialect.getClass().getSimpleName(), url);
+        return dialect;
+    }
+
+    /**
+     * Instantiates the dialect class with the given name using its no-argument constructor.
+     *
+     * @param dialectClassName fully qualified name of a {@link Dialect} implementation
+     * @return the dialect
+     * @throws BibernateException if the class cannot be loaded or instantiated
+     */
+    public static Dialect create(String dialectClassName) {
+        try {
+            var classLoader = Thread.currentThread().getContextClassLoader();
+            var dialectClass = Class.forName(dialectClassName, true,
+                    classLoader != null ? classLoader : DialectResolver.class.getClassLoader());
+            if (!Dialect.class.isAssignableFrom(dialectClass)) {
+                throw new BibernateException(format("Class %s does not implement %s", dialectClassName,
+                        Dialect.class.getSimpleName()));
+            }
+            return (Dialect) dialectClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            log.error("Could not create dialect {}", dialectClassName, e);
+            throw new BibernateException(format("Could not create dialect %s", dialectClassName), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.petros.bibernate.dialect;
+
+/**
+ * Dialect of databases that are not recognized. It assumes only standard SQL and JDBC features.
+ */
+public class GenericDialect implements Dialect {
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMultiRowGeneratedKeys() {
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.petros.bibernate.dialect;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Dialect of the H2 database.
+ */
+public class H2Dialect implements Dialect {
+
+    @Override
+    public int getMaxParameterCount() {
+        return 10000;
+    }
+
+    @Override
+    public boolean supportsNativeUuid() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsIdentityUpsert() {
+        return true;
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String idColumn, List<String> columns) {
+        return "MERGE INTO " + tableName + "(" + String.join(", ", columns) + ") KEY(" + idColumn + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ");";
+    }
+}
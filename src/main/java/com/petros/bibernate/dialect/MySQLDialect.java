@@ -0,0 +1,36 @@
+package com.petros.bibernate.dialect;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Dialect of the MySQL and MariaDB databases.
+ */
+public class MySQLDialect implements Dialect {
+
+    @Override
+    public int getMaxParameterCount() {
+        return 65535;
+    }
+
+    @Override
+    public boolean supportsSequences() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsIdentityUpsert() {
+        return true;
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String idColumn, List<String> columns) {
+        var updates = columns.stream()
+                .filter(column -> !column.equals(idColumn))
+                .map(column -> column + " = VALUES(" + column + ")")
+                .collect(Collectors.joining(", "));
+        return "INSERT INTO " + tableName + "(" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") ON DUPLICATE KEY UPDATE "
+                + (updates.isEmpty() ? idColumn + " = " + idColumn : updates) + ";";
+    }
+}
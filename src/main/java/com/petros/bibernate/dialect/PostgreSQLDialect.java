@@ -0,0 +1,36 @@
+package com.petros.bibernate.dialect;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Dialect of the PostgreSQL database.
+ */
+public class PostgreSQLDialect implements Dialect {
+
+    @Override
+    public int getMaxParameterCount() {
+        return Short.MAX_VALUE;
+    }
+
+    @Override
+    public String getSequenceNextValueSql(String sequenceName) {
+        return "SELECT nextval('" + sequenceName + "')";
+    }
+
+    @Override
+    public boolean supportsNativeUuid() {
+        return true;
+    }
+
+    @Override
+    public String getUpsertSql(String tableName, String idColumn, List<String> columns) {
+        var updates = columns.stream()
+                .filter(column -> !column.equals(idColumn))
+                .map(column -> column + " = EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+        return "INSERT INTO " + tableName + "(" + String.join(", ", columns) + ") VALUES ("
+                + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") ON CONFLICT ("
+                + idColumn + ") " + (updates.isEmpty() ? "DO NOTHING" : "DO UPDATE SET " + updates) + ";";
+    }
+}
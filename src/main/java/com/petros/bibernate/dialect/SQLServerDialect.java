@@ -0,0 +1,38 @@
+package com.petros.bibernate.dialect;
+
+/**
+ * Dialect of the Microsoft SQL Server database. Its driver returns only the key of the last row of a batch or multi-row
+ * insert. A statement must have fewer than 2100 parameters and a {@code VALUES} list at most 1000 rows.
+ */
+public class SQLServerDialect implements Dialect {
+
+    @Override
+    public boolean supportsBatchGeneratedKeys() {
+        return false;
+    }
+
+    @Override
+    public boolean supportsMultiRowGeneratedKeys() {
+        return false;
+    }
+
+    @Override
+    public int getMaxInsertRowCount() {
+        return 1000;
+    }
+
+    @Override
+    public int getMaxParameterCount() {
+        return 2099;
+    }
+
+    @Override
+    public String getForUpdateTableHint() {
+        return " WITH (UPDLOCK, ROWLOCK)";
+    }
+
+    @Override
+    public String getForUpdateClause() {
+        return "";
+    }
+}
@@ -0,0 +1,18 @@
+package com.petros.bibernate.id;
+
+/**
+ * Generates the ids of new entities before they are inserted, when the entities are persisted. A generator is created
+ * once per entity class and is shared by all sessions of a {@link com.petros.bibernate.session.SessionFactory}, so
+ * implementations must be thread-safe.
+ *
+ * @see IdGeneratorRegistry
+ */
+public interface IdGenerator {
+
+    /**
+     * Generates a new id.
+     *
+     * @return the id, an instance of the type of the id property
+     */
+    Object generate();
+}
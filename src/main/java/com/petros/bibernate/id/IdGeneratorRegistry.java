@@ -0,0 +1,105 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.metadata.EntityMetadata;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Holds the {@link IdGenerator} of every entity class whose id is generated before insert. The generators are created
+ * on first use and shared by all sessions of a {@link com.petros.bibernate.session.SessionFactory}, so the ids
+ * reserved by a pooled generator are handed out to every session.
+ */
+@Slf4j
+public class IdGeneratorRegistry {
+    private static final String DEFAULT_SEQUENCE_SUFFIX = "_seq";
+    private final DataSource dataSource;
+    private final Dialect dialect;
+    private final int nodeId;
+    private final Map<Class<?>, IdGenerator> generators = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry whose generators reserve ids with the given data source.
+     *
+     * @param dataSource the data source of the database
+     * @param dialect    the dialect of the database
+     */
+    public IdGeneratorRegistry(DataSource dataSource, Dialect dialect) {
+        this(dataSource, dialect, 0);
+    }
+
+    /**
+     * Creates a registry whose generators reserve ids with the given data source.
+     *
+     * @param dataSource the data source of the database
+     * @param dialect    the dialect of the database
+     * @param nodeId     the node id of {@link SnowflakeIdGenerator snowflake} ids
+     */
+    public IdGeneratorRegistry(DataSource dataSource, Dialect dialect, int nodeId) {
+        this.dataSource = dataSource;
+        this.dialect = dialect;
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Retrieves the id generator of the given entity.
+     *
+     * @param metadata the metadata of the entity
+     * @return the id generator
+     * @throws BibernateException if the id of the entity is not generated before insert
+     */
+    public IdGenerator getGenerator(EntityMetadata metadata) {
+        IdGenerator generator = generators.get(metadata.getEntityClass());
+        if (generator == null) {
+            generator = generators.computeIfAbsent(metadata.getEntityClass(), type -> createGenerator(metadata));
+        }
+        return generator;
+    }
+
+    private IdGenerator createGenerator(EntityMetadata metadata) {
+        var idProperty = metadata.getIdProperty();
+        if (!idProperty.isGeneratedBeforeInsert()) {
+            throw new BibernateException(format("Id of entity %s is not generated before insert",
+                    metadata.getEntityClass().getSimpleName()));
+        }
+        log.trace("Creating {} id generator for entity {}", idProperty.getGenerationType(),
+                metadata.getEntityClass().getSimpleName());
+        return switch (idProperty.getGenerationType()) {
+            case SEQUENCE -> new SequenceIdGenerator(dataSource, dialect,
+                    generatorName(metadata, DEFAULT_SEQUENCE_SUFFIX), idProperty.getAllocationSize(),
+                    idProperty.getType());
+            case TABLE -> new TableIdGenerator(dataSource, dialect, generatorName(metadata, ""),
+                    idProperty.getAllocationSize(), idProperty.getType());
+            case UUID -> new UuidV7Generator(idProperty.getType());
+            case SNOWFLAKE -> new SnowflakeIdGenerator(nodeId, idProperty.getType());
+            case CUSTOM -> createCustomGenerator(metadata);
+            case IDENTITY -> throw new IllegalStateException("Identity ids are generated by the database");
+        };
+    }
+
+    private static IdGenerator createCustomGenerator(EntityMetadata metadata) {
+        var className = metadata.getIdProperty().getGenerator();
+        try {
+            var generatorClass = Class.forName(className, true, metadata.getEntityClass().getClassLoader());
+            if (!IdGenerator.class.isAssignableFrom(generatorClass)) {
+                throw new BibernateException(format("Class %s does not implement %s", className,
+                        IdGenerator.class.getSimpleName()));
+            }
+            return (IdGenerator) generatorClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new BibernateException(format("Could not create id generator %s of entity %s", className,
+                    metadata.getEntityClass().getSimpleName()), e);
+        }
+    }
+
+    private static String generatorName(EntityMetadata metadata, String defaultSuffix) {
+        var generator = metadata.getIdProperty().getGenerator();
+        return generator == null || generator.isEmpty() ? metadata.getTableName() + defaultSuffix : generator;
+    }
+}
@@ -0,0 +1,80 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+
+import static java.lang.String.format;
+
+/**
+ * Base class of generators that reserve blocks of consecutive ids in the database and hand them out from memory. Ids
+ * of the current block are taken with a single atomic increment, only the thread that finds the block exhausted
+ * reserves the next one while the others wait for it.
+ */
+abstract class PooledIdGenerator implements IdGenerator {
+    private final int allocationSize;
+    private final LongFunction<Object> idConverter;
+    private final AtomicReference<IdBlock> block = new AtomicReference<>(new IdBlock(0, 0));
+
+    /**
+     * @param allocationSize the number of ids reserved at once
+     * @param idType         the type of the id property, {@link Long} and {@link Integer} ids are supported
+     */
+    PooledIdGenerator(int allocationSize, Class<?> idType) {
+        if (allocationSize < 1) {
+            throw new BibernateException(format("Allocation size must be positive, but was %d", allocationSize));
+        }
+        this.allocationSize = allocationSize;
+        this.idConverter = idConverter(idType);
+    }
+
+    private static LongFunction<Object> idConverter(Class<?> idType) {
+        if (idType == Long.class || idType == long.class) {
+            return Long::valueOf;
+        } else if (idType == Integer.class || idType == int.class) {
+            return Math::toIntExact;
+        }
+        throw new BibernateException(format("Ids of type %s cannot be generated from a number", idType.getName()));
+    }
+
+    @Override
+    public Object generate() {
+        return idConverter.apply(nextId());
+    }
+
+    private long nextId() {
+        while (true) {
+            IdBlock current = block.get();
+            long id = current.next.getAndIncrement();
+            if (id < current.end) {
+                return id;
+            }
+            synchronized (this) {
+                if (block.get() == current) {
+                    long first = reserveBlock(allocationSize);
+                    block.set(new IdBlock(first, first + allocationSize));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves a block of ids in the database.
+     *
+     * @param size the number of ids to reserve
+     * @return the first id of the reserved block
+     */
+    protected abstract long reserveBlock(int size);
+
+    private static final class IdBlock {
+        private final AtomicLong next;
+        private final long end;
+
+        private IdBlock(long first, long end) {
+            this.next = new AtomicLong(first);
+            this.end = end;
+        }
+    }
+}
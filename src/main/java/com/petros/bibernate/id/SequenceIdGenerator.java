@@ -0,0 +1,65 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.exception.JDBCException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static java.lang.String.format;
+
+/**
+ * Generates ids from a database sequence. Every value of the sequence reserves the block of allocation size ids that
+ * starts with it, so the sequence must be incremented by the allocation size, e.g.
+ * {@code CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50}.
+ * <p>
+ * The sequence is queried on a separate connection, sequence values are not part of the session transaction anyway.
+ */
+@Slf4j
+public class SequenceIdGenerator extends PooledIdGenerator {
+    private final DataSource dataSource;
+    private final String sequenceName;
+    private final String nextValueSql;
+
+    /**
+     * Creates a generator of the given sequence.
+     *
+     * @param dataSource     the data source to query the sequence with
+     * @param dialect        the dialect of the database
+     * @param sequenceName   the name of the sequence
+     * @param allocationSize the increment of the sequence
+     * @param idType         the type of the id property
+     */
+    public SequenceIdGenerator(DataSource dataSource, Dialect dialect, String sequenceName, int allocationSize,
+                               Class<?> idType) {
+        super(allocationSize, idType);
+        if (!dialect.supportsSequences()) {
+            throw new BibernateException(format("Dialect %s does not support sequences",
+                    dialect.getClass().getSimpleName()));
+        }
+        this.dataSource = dataSource;
+        this.sequenceName = sequenceName;
+        this.nextValueSql = dialect.getSequenceNextValueSql(sequenceName);
+    }
+
+    @Override
+    protected long reserveBlock(int size) {
+        log.trace("Reserving {} ids from sequence {}", size, sequenceName);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(nextValueSql);
+             ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new BibernateException(format("Sequence %s returned no value", sequenceName));
+            }
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            log.error("Exception occurred while querying sequence {}", sequenceName, e);
+            throw new JDBCException(e.getMessage(), e, nextValueSql);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * Generates time-ordered 64-bit ids without a database call. An id consists of 41 bits of milliseconds since
+ * {@link #EPOCH}, 10 bits of the node id and a 12 bit counter of the ids generated within the same millisecond, so
+ * up to 1024 nodes can generate ids independently. The node id is configured with
+ * {@link com.petros.bibernate.config.Configuration#ID_NODE_ID}.
+ * <p>
+ * The time and the counter are updated atomically. When the counter of a millisecond is exhausted, the ids are taken
+ * from the next millisecond, and the clock going backwards never makes the ids go backwards.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+    /**
+     * The start of the time of the ids, 2023-01-01T00:00:00Z.
+     */
+    public static final long EPOCH = Instant.parse("2023-01-01T00:00:00Z").toEpochMilli();
+    public static final int MAX_NODE_ID = 1023;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private final long nodeBits;
+    /**
+     * The milliseconds since {@link #EPOCH} of the last id shifted left by the sequence bits, plus its counter.
+     */
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    /**
+     * @param nodeId the id of this node, between 0 and {@link #MAX_NODE_ID}
+     * @param idType the type of the id property, must be {@link Long}
+     */
+    public SnowflakeIdGenerator(int nodeId, Class<?> idType) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new BibernateException(format("Node id must be between 0 and %d, but was %d", MAX_NODE_ID, nodeId));
+        }
+        if (idType != Long.class && idType != long.class) {
+            throw new BibernateException(format("Snowflake ids cannot be of type %s", idType.getName()));
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public Object generate() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long timeAndSequence = lastTimeAndSequence.accumulateAndGet(now, (last, time) -> Math.max(last + 1, time));
+        long time = timeAndSequence >>> SEQUENCE_BITS;
+        long sequence = timeAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        return (time << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+}
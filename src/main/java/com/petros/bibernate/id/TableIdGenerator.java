@@ -0,0 +1,126 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.exception.JDBCException;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static java.lang.String.format;
+
+/**
+ * Generates ids from a hi-value table, for databases without sequences. Each row of the table holds the next free id
+ * of one generator:
+ * <pre>
+ * CREATE TABLE bibernate_sequences (
+ *     sequence_name varchar(255) PRIMARY KEY,
+ *     next_val      bigint NOT NULL
+ * )
+ * </pre>
+ * A block of ids is reserved in a separate short transaction that locks the row with {@code SELECT ... FOR UPDATE}
+ * and moves its value by the allocation size. A missing row is created, starting with id 1.
+ */
+@Slf4j
+public class TableIdGenerator extends PooledIdGenerator {
+    public static final String DEFAULT_TABLE_NAME = "bibernate_sequences";
+    private static final int MAX_ATTEMPTS = 3;
+    private final DataSource dataSource;
+    private final String sequenceName;
+    private final String selectSql;
+    private final String insertSql;
+    private final String updateSql;
+
+    /**
+     * Creates a generator of the given row of the {@link #DEFAULT_TABLE_NAME default} id table.
+     *
+     * @param dataSource     the data source to reserve ids with
+     * @param dialect        the dialect of the database
+     * @param sequenceName   the name of the row
+     * @param allocationSize the number of ids reserved at once
+     * @param idType         the type of the id property
+     */
+    public TableIdGenerator(DataSource dataSource, Dialect dialect, String sequenceName, int allocationSize,
+                            Class<?> idType) {
+        this(dataSource, dialect, DEFAULT_TABLE_NAME, sequenceName, allocationSize, idType);
+    }
+
+    /**
+     * Creates a generator of the given row of the given id table.
+     *
+     * @param dataSource     the data source to reserve ids with
+     * @param dialect        the dialect of the database
+     * @param tableName      the name of the id table
+     * @param sequenceName   the name of the row
+     * @param allocationSize the number of ids reserved at once
+     * @param idType         the type of the id property
+     */
+    public TableIdGenerator(DataSource dataSource, Dialect dialect, String tableName, String sequenceName,
+                            int allocationSize, Class<?> idType) {
+        super(allocationSize, idType);
+        this.dataSource = dataSource;
+        this.sequenceName = sequenceName;
+        this.selectSql = format("SELECT next_val FROM %s%s WHERE sequence_name = ?%s", tableName,
+                dialect.getForUpdateTableHint(), dialect.getForUpdateClause());
+        this.insertSql = format("INSERT INTO %s(sequence_name, next_val) VALUES (?, ?)", tableName);
+        this.updateSql = format("UPDATE %s SET next_val = ? WHERE sequence_name = ?", tableName);
+    }
+
+    @Override
+    protected long reserveBlock(int size) {
+        log.trace("Reserving {} ids of {}", size, sequenceName);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (int attempt = 1; ; attempt++) {
+                    try {
+                        long first = reserveBlock(connection, size);
+                        connection.commit();
+                        return first;
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        if (attempt == MAX_ATTEMPTS) {
+                            throw e;
+                        }
+                        // a concurrent generator may have created the missing row first
+                        log.debug("Could not reserve ids of {}, retrying", sequenceName, e);
+                    }
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.error("Exception occurred while reserving ids of {}", sequenceName, e);
+            throw new JDBCException(e.getMessage(), e);
+        }
+    }
+
+    private long reserveBlock(Connection connection, int size) throws SQLException {
+        Long nextValue = null;
+        try (PreparedStatement select = connection.prepareStatement(selectSql)) {
+            select.setString(1, sequenceName);
+            try (var resultSet = select.executeQuery()) {
+                if (resultSet.next()) {
+                    nextValue = resultSet.getLong(1);
+                }
+            }
+        }
+        if (nextValue == null) {
+            try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                insert.setString(1, sequenceName);
+                insert.setLong(2, 1L + size);
+                insert.executeUpdate();
+            }
+            return 1L;
+        }
+        try (PreparedStatement update = connection.prepareStatement(updateSql)) {
+            update.setLong(1, nextValue + size);
+            update.setString(2, sequenceName);
+            update.executeUpdate();
+        }
+        return nextValue;
+    }
+}
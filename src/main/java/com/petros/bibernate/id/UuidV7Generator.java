@@ -0,0 +1,40 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.lang.String.format;
+
+/**
+ * Generates time-ordered version 7 UUIDs (RFC 9562): the first 48 bits are the Unix time in milliseconds, the remaining
+ * 74 bits besides the version and variant are random. Ids generated later sort after earlier ones, so new rows are
+ * appended to the end of the primary key index. {@link UUID} and {@link String} ids are supported.
+ */
+public class UuidV7Generator implements IdGenerator {
+    private final boolean stringId;
+
+    /**
+     * @param idType the type of the id property
+     */
+    public UuidV7Generator(Class<?> idType) {
+        if (idType != UUID.class && idType != String.class) {
+            throw new BibernateException(format("UUID ids cannot be of type %s", idType.getName()));
+        }
+        this.stringId = idType == String.class;
+    }
+
+    @Override
+    public Object generate() {
+        UUID uuid = nextUuid();
+        return stringId ? uuid.toString() : uuid;
+    }
+
+    static UUID nextUuid() {
+        var random = ThreadLocalRandom.current();
+        long mostSignificantBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,39 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.annotation.FetchType;
+import com.petros.bibernate.annotation.GenerationType;
+
+import java.util.List;
+
+/**
+ * Mapping of an entity class read from its annotations at compile time by
+ * {@link com.petros.bibernate.processor.EntityProcessor}. It holds what {@link EntityMetadata} otherwise reads from
+ * the fields and annotations of the class at runtime.
+ *
+ * @param tableName  the table name
+ * @param properties the mapped properties in the order of field declaration
+ * @see GeneratedEntityAccess#getMapping()
+ */
+public record EntityMapping(String tableName, List<Property> properties) {
+
+    /**
+     * Mapping of a single entity field.
+     *
+     * @param name              the field name
+     * @param type              the field type
+     * @param columnName        the column name, or the join column name of a relation
+     * @param kind              the kind of the property
+     * @param id                true if the field is annotated with {@link com.petros.bibernate.annotation.Id}
+     * @param generationType    the generation strategy of a generated id, null otherwise
+     * @param generator         the generator name of a generated id, null otherwise
+     * @param allocationSize    the number of ids of a generated id reserved at once, 0 otherwise
+     * @param mapsId            true if the field is annotated with {@link com.petros.bibernate.annotation.MapsId}
+     * @param relatedEntityType the related entity type of a relation, null for basic properties
+     * @param mappedBy          the field name of the owning side of a to-many relation, null otherwise
+     * @param fetchType         the fetch type of a to-many relation, null otherwise
+     */
+    public record Property(String name, Class<?> type, String columnName, PropertyKind kind, boolean id,
+                           GenerationType generationType, String generator, int allocationSize, boolean mapsId,
+                           Class<?> relatedEntityType, String mappedBy, FetchType fetchType) {
+    }
+}
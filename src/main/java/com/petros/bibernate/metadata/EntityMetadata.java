@@ -0,0 +1,356 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.type.TypeConverterRegistry;
+import com.petros.bibernate.util.EntityUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Immutable mapping information of a single entity class: the table name, the id property, the ordered list of
+ * mapped properties, relation descriptors, {@link com.petros.bibernate.annotation.MapsId} information and the
+ * rendered CRUD statements.
+ * <p>
+ * The metadata is built once per entity class by {@link EntityMetadataRegistry} and is shared by all sessions of a
+ * {@link com.petros.bibernate.session.SessionFactory}.
+ */
+@Slf4j
+@Getter
+public class EntityMetadata {
+    private final Class<?> entityClass;
+    private final String tableName;
+    private final PropertyMetadata idProperty;
+    /**
+     * The property marked with {@link com.petros.bibernate.annotation.MapsId}, or null if there is no such property.
+     */
+    private final PropertyMetadata mapsIdProperty;
+    /**
+     * All mapped properties in the order of field declaration.
+     */
+    private final List<PropertyMetadata> properties;
+    private final List<PropertyMetadata> insertableProperties;
+    private final List<PropertyMetadata> updatableProperties;
+    /**
+     * The properties compared by dirty checking: the basic properties and the to-one relations, whose snapshot value
+     * is the id of the related entity.
+     */
+    private final List<PropertyMetadata> snapshotProperties;
+    private final List<PropertyMetadata> relationProperties;
+    private final EntitySql sql;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, PropertyMetadata> propertiesByName;
+    /**
+     * The generated access class of a restored entity loaded on first use, null if the metadata was built.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Supplier<GeneratedEntityAccess> generatedAccess;
+    @Getter(AccessLevel.NONE)
+    private Supplier<Object> instantiator;
+    @Getter(AccessLevel.NONE)
+    private MethodHandle constructor;
+    @Getter(AccessLevel.NONE)
+    private volatile boolean instantiatorResolved;
+
+    private EntityMetadata(Class<?> entityClass, GeneratedEntityAccess generatedAccess,
+                           TypeConverterRegistry typeConverterRegistry) {
+        this.entityClass = entityClass;
+        this.tableName = EntityUtil.getTableName(entityClass);
+        this.properties = Arrays.stream(entityClass.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()) && !field.isSynthetic())
+                .map(field -> new PropertyMetadata(field, generatedAccess, typeConverterRegistry))
+                .toList();
+        this.propertiesByName = new LinkedHashMap<>();
+        properties.forEach(property -> propertiesByName.put(property.getName(), property));
+        this.idProperty = propertiesByName.get(EntityUtil.getIdField(entityClass).getName());
+        var mapsIdField = EntityUtil.getMapsIdField(entityClass);
+        this.mapsIdProperty = mapsIdField == null ? null : propertiesByName.get(mapsIdField.getName());
+        this.insertableProperties = filter(p -> !p.isGeneratedId() && !p.isMapsId() && !p.isToMany());
+        this.updatableProperties = filter(p -> !p.isId() && !p.isMapsId() && !p.isToMany());
+        this.snapshotProperties = filter(p -> !p.isToMany());
+        this.relationProperties = filter(p -> !p.isBasic());
+        this.generatedAccess = null;
+        this.instantiator = generatedAccess == null ? null : generatedAccess.getInstantiator();
+        this.constructor = instantiator == null ? findNoArgConstructor(entityClass) : null;
+        this.instantiatorResolved = true;
+        this.sql = new EntitySql(this);
+    }
+
+    private EntityMetadata(Class<?> entityClass, EntityMapping mapping, GeneratedEntityAccess generatedAccess,
+                           TypeConverterRegistry typeConverterRegistry) {
+        this.entityClass = entityClass;
+        this.tableName = mapping.tableName();
+        this.properties = mapping.properties().stream()
+                .map(property -> new PropertyMetadata(entityClass, property, generatedAccess, typeConverterRegistry))
+                .toList();
+        this.propertiesByName = new LinkedHashMap<>();
+        properties.forEach(property -> propertiesByName.put(property.getName(), property));
+        var idProperties = filter(PropertyMetadata::isId);
+        if (idProperties.size() != 1) {
+            throw new BibernateException(format("Entity %s must contain exactly one field annotated with @Id",
+                    entityClass.getSimpleName()));
+        }
+        this.idProperty = idProperties.get(0);
+        var mapsIdProperties = filter(p -> p.isMapsId() && p.isToOne());
+        if (mapsIdProperties.size() > 1) {
+            throw new BibernateException(format("Entity %s has multiple fields annotated with @MapsId",
+                    entityClass.getSimpleName()));
+        }
+        this.mapsIdProperty = mapsIdProperties.isEmpty() ? null : mapsIdProperties.get(0);
+        this.insertableProperties = filter(p -> !p.isGeneratedId() && !p.isMapsId() && !p.isToMany());
+        this.updatableProperties = filter(p -> !p.isId() && !p.isMapsId() && !p.isToMany());
+        this.snapshotProperties = filter(p -> !p.isToMany());
+        this.relationProperties = filter(p -> !p.isBasic());
+        this.generatedAccess = null;
+        this.instantiator = generatedAccess.getInstantiator();
+        this.constructor = instantiator == null ? findNoArgConstructor(entityClass) : null;
+        this.instantiatorResolved = true;
+        this.sql = new EntitySql(this);
+    }
+
+    private EntityMetadata(Class<?> entityClass, MetadataSnapshot.EntityEntry entry,
+                           List<PropertyMetadata> properties, Supplier<GeneratedEntityAccess> generatedAccess) {
+        this.entityClass = entityClass;
+        this.tableName = entry.tableName();
+        this.properties = properties;
+        this.propertiesByName = new LinkedHashMap<>();
+        properties.forEach(property -> propertiesByName.put(property.getName(), property));
+        this.idProperty = properties.stream().filter(PropertyMetadata::isId).findFirst().orElseThrow();
+        this.mapsIdProperty = properties.stream().filter(PropertyMetadata::isMapsId).findFirst().orElse(null);
+        this.insertableProperties = filter(p -> !p.isGeneratedId() && !p.isMapsId() && !p.isToMany());
+        this.updatableProperties = filter(p -> !p.isId() && !p.isMapsId() && !p.isToMany());
+        this.snapshotProperties = filter(p -> !p.isToMany());
+        this.relationProperties = filter(p -> !p.isBasic());
+        this.generatedAccess = generatedAccess;
+        this.sql = new EntitySql(this, entry);
+    }
+
+    /**
+     * Builds the metadata of the given entity class.
+     *
+     * @param entityClass entity class that is mapped to database table
+     * @return the entity metadata
+     * @throws BibernateException if the mapping of the class is invalid
+     */
+    public static EntityMetadata of(Class<?> entityClass) {
+        return of(entityClass, new TypeConverterRegistry());
+    }
+
+    /**
+     * Builds the metadata of the given entity class, resolving the converters of its properties from the given
+     * registry. If the entity has a generated access class with a {@link GeneratedEntityAccess#getMapping() mapping},
+     * the metadata is built from that mapping instead of the fields and annotations of the class.
+     *
+     * @param entityClass           entity class that is mapped to database table
+     * @param typeConverterRegistry the registry of column value converters
+     * @return the entity metadata
+     * @throws BibernateException if the mapping of the class is invalid
+     */
+    public static EntityMetadata of(Class<?> entityClass, TypeConverterRegistry typeConverterRegistry) {
+        log.trace("Building metadata for entity {}", entityClass.getName());
+        var generatedAccess = findGeneratedAccess(entityClass);
+        var mapping = generatedAccess == null ? null : generatedAccess.getMapping();
+        if (mapping != null) {
+            log.trace("Using generated mapping of entity {}", entityClass.getSimpleName());
+            return new EntityMetadata(entityClass, mapping, generatedAccess, typeConverterRegistry);
+        }
+        return new EntityMetadata(entityClass, generatedAccess, typeConverterRegistry);
+    }
+
+    /**
+     * Restores the metadata of the given entity class from a snapshot entry written by {@link MetadataSnapshot}. The
+     * columns, relations and statements are taken from the entry as is, no annotation is read. The fields are only
+     * looked up to check their names and types, and the converters to check their classes, against the entry. The
+     * property accessors, the instantiator and the generated access class are created on first use.
+     *
+     * @return the restored metadata, or null if the fields or the converters of the entity differ from the entry
+     */
+    static EntityMetadata restore(Class<?> entityClass, MetadataSnapshot.EntityEntry entry,
+                                  TypeConverterRegistry typeConverterRegistry) {
+        log.trace("Restoring metadata for entity {}", entityClass.getName());
+        Map<String, Field> fields = new HashMap<>();
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.put(field.getName(), field);
+            }
+        }
+        if (fields.size() != entry.properties().size()) {
+            log.debug("Fields of entity {} changed since the snapshot was written", entityClass.getName());
+            return null;
+        }
+        var generatedAccess = new LazyGeneratedAccess(entityClass);
+        List<PropertyMetadata> properties = new ArrayList<>(fields.size());
+        for (var property : entry.properties()) {
+            var field = fields.get(property.name());
+            if (field == null || !field.getType().getName().equals(property.typeName())) {
+                log.debug("Fields of entity {} changed since the snapshot was written", entityClass.getName());
+                return null;
+            }
+            var typeConverter = property.kind() == PropertyKind.BASIC
+                    ? typeConverterRegistry.getConverter(field.getType())
+                    : null;
+            if (!Objects.equals(typeConverter == null ? null : typeConverter.getClass().getName(),
+                    property.typeConverter())) {
+                log.debug("Type converters of entity {} changed since the snapshot was written",
+                        entityClass.getName());
+                return null;
+            }
+            properties.add(new PropertyMetadata(field, property, generatedAccess, typeConverter));
+        }
+        return new EntityMetadata(entityClass, entry, List.copyOf(properties), generatedAccess);
+    }
+
+    private static GeneratedEntityAccess findGeneratedAccess(Class<?> entityClass) {
+        var className = GeneratedEntityAccess.getClassName(entityClass.getName());
+        try {
+            var generatedClass = Class.forName(className, true, entityClass.getClassLoader());
+            if (!GeneratedEntityAccess.class.isAssignableFrom(generatedClass)) {
+                log.warn("Class {} does not implement {}, ignoring it", className,
+                        GeneratedEntityAccess.class.getSimpleName());
+                return null;
+            }
+            log.trace("Using generated access class {} for entity {}", className, entityClass.getSimpleName());
+            return (GeneratedEntityAccess) generatedClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("Could not load generated access class {}, falling back to reflection", className, e);
+            return null;
+        }
+    }
+
+    private static MethodHandle findNoArgConstructor(Class<?> entityClass) {
+        try {
+            var constructor = entityClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            log.trace("Entity {} has no accessible no-argument constructor", entityClass.getName());
+            return null;
+        }
+    }
+
+    private List<PropertyMetadata> filter(Predicate<PropertyMetadata> predicate) {
+        return properties.stream().filter(predicate).toList();
+    }
+
+    /**
+     * Retrieves the property mapped to the field with the given name.
+     *
+     * @param name the field name
+     * @return the property metadata
+     * @throws BibernateException if the entity has no such property
+     */
+    public PropertyMetadata getProperty(String name) {
+        var property = propertiesByName.get(name);
+        if (property == null) {
+            throw new BibernateException(format("Entity %s has no property %s", entityClass.getSimpleName(), name));
+        }
+        return property;
+    }
+
+    /**
+     * Retrieves the property mapped to the given field.
+     *
+     * @param field the entity field
+     * @return the property metadata
+     * @throws BibernateException if the entity has no such property
+     */
+    public PropertyMetadata getProperty(Field field) {
+        return getProperty(field.getName());
+    }
+
+    /**
+     * Checks whether any of the given snapshot properties is mapped to an updatable column.
+     *
+     * @param snapshotPropertyIndexes the indexes of properties in {@link #getSnapshotProperties()}
+     * @return true if at least one of the properties is updatable
+     */
+    public boolean isAnyUpdatable(BitSet snapshotPropertyIndexes) {
+        return snapshotPropertyIndexes.stream()
+                .mapToObj(snapshotProperties::get)
+                .anyMatch(updatableProperties::contains);
+    }
+
+    /**
+     * Retrieves the value of the id property from the given entity.
+     *
+     * @param entity the entity from which to retrieve the id value
+     * @return the id value
+     */
+    public Object getIdValue(Object entity) {
+        return idProperty.getValue(entity);
+    }
+
+    /**
+     * Creates a new instance of the entity using its no-argument constructor.
+     *
+     * @return a new entity instance
+     * @throws BibernateException if the entity has no no-argument constructor or the constructor fails
+     */
+    public Object newInstance() {
+        if (!instantiatorResolved) {
+            resolveInstantiator();
+        }
+        if (instantiator == null && constructor == null) {
+            throw new BibernateException(format("Entity %s must declare a no-argument constructor",
+                    entityClass.getSimpleName()));
+        }
+        try {
+            return instantiator != null ? instantiator.get() : (Object) constructor.invokeExact();
+        } catch (Throwable e) {
+            log.error("Could not create an instance of entity {}", entityClass.getSimpleName(), e);
+            throw new BibernateException(format("Could not create an instance of entity %s",
+                    entityClass.getSimpleName()), e);
+        }
+    }
+
+    private synchronized void resolveInstantiator() {
+        if (!instantiatorResolved) {
+            var access = generatedAccess.get();
+            instantiator = access == null ? null : access.getInstantiator();
+            constructor = instantiator == null ? findNoArgConstructor(entityClass) : null;
+            instantiatorResolved = true;
+        }
+    }
+
+    /**
+     * Loads the generated access class of a restored entity when the first accessor or instance is needed.
+     */
+    private static final class LazyGeneratedAccess implements Supplier<GeneratedEntityAccess> {
+        private final Class<?> entityClass;
+        private GeneratedEntityAccess access;
+        private boolean loaded;
+
+        private LazyGeneratedAccess(Class<?> entityClass) {
+            this.entityClass = entityClass;
+        }
+
+        @Override
+        public synchronized GeneratedEntityAccess get() {
+            if (!loaded) {
+                access = findGeneratedAccess(entityClass);
+                loaded = true;
+            }
+            return access;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.type.TypeConverterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * Thread-safe registry of {@link EntityMetadata}. The metadata of each entity class is built once, either eagerly with
+ * {@link #build(Collection)} or on first request, and reused afterwards. Usually there is a single registry per
+ * {@link com.petros.bibernate.session.SessionFactory}.
+ */
+@Slf4j
+public class EntityMetadataRegistry {
+    private final Map<Class<?>, EntityMetadata> metadata = new ConcurrentHashMap<>();
+    @Getter
+    private final TypeConverterRegistry typeConverterRegistry;
+
+    /**
+     * Creates a registry that resolves property converters from the given converter registry.
+     *
+     * @param typeConverterRegistry the registry of column value converters
+     */
+    public EntityMetadataRegistry(TypeConverterRegistry typeConverterRegistry) {
+        this.typeConverterRegistry = typeConverterRegistry;
+    }
+
+    /**
+     * Creates a registry with the built-in column value converters.
+     */
+    public EntityMetadataRegistry() {
+        this(new TypeConverterRegistry());
+    }
+
+    /**
+     * Retrieves the metadata of the given entity class, building it if necessary.
+     *
+     * @param entityClass entity class that is mapped to database table
+     * @return the entity metadata
+     * @throws com.petros.bibernate.exception.BibernateException if the mapping of the class is invalid
+     */
+    public EntityMetadata getMetadata(Class<?> entityClass) {
+        var entityMetadata = metadata.get(entityClass);
+        if (entityMetadata != null) {
+            return entityMetadata;
+        }
+        return metadata.computeIfAbsent(entityClass, type -> EntityMetadata.of(type, typeConverterRegistry));
+    }
+
+    /**
+     * Builds the metadata of the given entity classes that is not built yet in parallel in a dedicated fork-join pool.
+     * Invalid mappings are reported together once all classes have been processed.
+     *
+     * @param entityClasses entity classes that are mapped to database tables
+     * @throws BibernateException if the mapping of any of the classes is invalid
+     */
+    public void build(Collection<Class<?>> entityClasses) {
+        var missingClasses = entityClasses.stream()
+                .filter(entityClass -> !metadata.containsKey(entityClass))
+                .toList();
+        if (missingClasses.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Queue<BibernateException> errors = new ConcurrentLinkedQueue<>();
+        var pool = new ForkJoinPool(Math.min(missingClasses.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(missingClasses.stream()
+                    .map(entityClass -> ForkJoinTask.adapt(() -> {
+                        try {
+                            getMetadata(entityClass);
+                        } catch (BibernateException e) {
+                            errors.add(new BibernateException(format("Invalid mapping of entity %s: %s",
+                                    entityClass.getName(), e.getMessage()), e));
+                        }
+                    }))
+                    .toList())));
+        } finally {
+            pool.shutdown();
+        }
+        if (!errors.isEmpty()) {
+            var exception = new BibernateException(errors.stream()
+                    .map(Throwable::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(System.lineSeparator())));
+            errors.forEach(exception::addSuppressed);
+            log.error("Metadata of {} entities is invalid", errors.size(), exception);
+            throw exception;
+        }
+        log.info("Built metadata of {} entities in {} ms", missingClasses.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Restores the metadata of the given entity classes from a snapshot file written by {@link #writeSnapshot(Path)}.
+     * The file is ignored if it is missing or its checksum does not match. Entities whose classes changed since the
+     * snapshot was written, whose property converters changed, or that are not in the snapshot are not restored and
+     * can be built with {@link #build(Collection)}.
+     *
+     * @param path          the snapshot file
+     * @param entityClasses entity classes that are mapped to database tables
+     * @return the number of restored entities
+     */
+    public int restoreSnapshot(Path path, Collection<Class<?>> entityClasses) {
+        long start = System.nanoTime();
+        var entries = MetadataSnapshot.read(path);
+        int restored = 0;
+        for (Class<?> entityClass : entityClasses) {
+            var entry = entries.get(entityClass.getName());
+            if (entry == null) {
+                log.debug("Metadata snapshot of entity {} is missing", entityClass.getName());
+                continue;
+            }
+            long classChecksum = MetadataSnapshot.classChecksum(entityClass);
+            if (classChecksum == -1 || entry.classChecksum() != classChecksum) {
+                log.debug("Metadata snapshot of entity {} is stale", entityClass.getName());
+                continue;
+            }
+            try {
+                var restoredMetadata = EntityMetadata.restore(entityClass, entry, typeConverterRegistry);
+                if (restoredMetadata != null) {
+                    metadata.putIfAbsent(entityClass, restoredMetadata);
+                    restored++;
+                }
+            } catch (BibernateException e) {
+                log.warn("Could not restore metadata of entity {} from snapshot", entityClass.getName(), e);
+            }
+        }
+        log.info("Restored metadata of {} of {} entities from {} in {} ms", restored, entityClasses.size(), path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return restored;
+    }
+
+    /**
+     * Writes the metadata of all entities built so far to a snapshot file, replacing the existing file.
+     *
+     * @param path the snapshot file
+     * @throws BibernateException if the file could not be written
+     */
+    public void writeSnapshot(Path path) {
+        try {
+            MetadataSnapshot.write(path, metadata.values().stream()
+                    .sorted(Comparator.comparing(entityMetadata -> entityMetadata.getEntityClass().getName()))
+                    .toList());
+            log.info("Wrote metadata snapshot of {} entities to {}", metadata.size(), path);
+        } catch (IOException e) {
+            throw new BibernateException(format("Could not write metadata snapshot %s", path), e);
+        }
+    }
+}
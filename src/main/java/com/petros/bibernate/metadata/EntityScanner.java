@@ -0,0 +1,156 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.exception.BibernateException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+/**
+ * Finds entity classes on the classpath. Every name passed to {@link #scan(Collection)} is either a fully qualified
+ * class name, which must be annotated with {@link Entity}, or a package name, in which case all classes annotated with
+ * {@link Entity} in the package and its subpackages are found. Packages are scanned in directories and jar files.
+ */
+@Slf4j
+public class EntityScanner {
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final ClassLoader classLoader;
+
+    /**
+     * Creates a scanner that uses the context class loader of the current thread.
+     */
+    public EntityScanner() {
+        var contextClassLoader = Thread.currentThread().getContextClassLoader();
+        this.classLoader = contextClassLoader != null ? contextClassLoader : EntityScanner.class.getClassLoader();
+    }
+
+    /**
+     * Creates a scanner that loads classes with the given class loader.
+     *
+     * @param classLoader the class loader to find and load classes with
+     */
+    public EntityScanner(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Finds the entity classes with the given names or in the given packages.
+     *
+     * @param names fully qualified class names and package names
+     * @return the entity classes ordered by name
+     * @throws BibernateException if a class is not an entity, or a name is neither a class nor a package
+     */
+    public List<Class<?>> scan(Collection<String> names) {
+        Set<Class<?>> entityClasses = new LinkedHashSet<>();
+        for (String name : names) {
+            var entityClass = loadClass(name);
+            if (entityClass != null) {
+                if (!entityClass.isAnnotationPresent(Entity.class)) {
+                    throw new BibernateException(format("Class %s is not annotated with @%s", name,
+                            Entity.class.getSimpleName()));
+                }
+                entityClasses.add(entityClass);
+            } else {
+                entityClasses.addAll(scanPackage(name));
+            }
+        }
+        return entityClasses.stream()
+                .sorted(Comparator.comparing(Class::getName))
+                .toList();
+    }
+
+    private List<Class<?>> scanPackage(String packageName) {
+        log.trace("Scanning package {} for entities", packageName);
+        var packagePath = packageName.replace('.', '/');
+        try {
+            var resources = classLoader.getResources(packagePath);
+            if (!resources.hasMoreElements()) {
+                throw new BibernateException(format("Neither class nor package %s is found", packageName));
+            }
+            Set<String> classNames = new LinkedHashSet<>();
+            while (resources.hasMoreElements()) {
+                var resource = resources.nextElement();
+                try (var classFiles = findClassFiles(resource, packagePath)) {
+                    classFiles.map(path -> path.substring(0, path.length() - CLASS_FILE_SUFFIX.length())
+                                    .replace('/', '.'))
+                            .forEach(classNames::add);
+                }
+            }
+            return classNames.stream()
+                    .<Class<?>>map(this::loadClass)
+                    .filter(type -> type != null && type.isAnnotationPresent(Entity.class))
+                    .toList();
+        } catch (IOException | UncheckedIOException e) {
+            throw new BibernateException(format("Could not scan package %s", packageName), e);
+        }
+    }
+
+    /**
+     * Lists the class files under the given package resource as paths relative to the classpath root.
+     */
+    private Stream<String> findClassFiles(URL resource, String packagePath) throws IOException {
+        switch (resource.getProtocol()) {
+            case "file" -> {
+                Path directory;
+                try {
+                    directory = Path.of(resource.toURI());
+                } catch (URISyntaxException e) {
+                    throw new IOException(e);
+                }
+                return Files.walk(directory)
+                        .filter(path -> path.toString().endsWith(CLASS_FILE_SUFFIX))
+                        .map(path -> packagePath + "/" + directory.relativize(path).toString()
+                                .replace(path.getFileSystem().getSeparator(), "/"));
+            }
+            case "jar" -> {
+                var connection = (JarURLConnection) resource.openConnection();
+                connection.setUseCaches(false);
+                JarFile jarFile = connection.getJarFile();
+                return jarFile.stream()
+                        .map(JarEntry::getName)
+                        .filter(name -> name.startsWith(packagePath + "/") && name.endsWith(CLASS_FILE_SUFFIX))
+                        .toList()
+                        .stream()
+                        .onClose(() -> closeQuietly(jarFile));
+            }
+            default -> {
+                log.warn("Skipping {}, scanning of {} resources is not supported", resource, resource.getProtocol());
+                return Stream.empty();
+            }
+        }
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.trace("Class {} could not be loaded", className, e);
+            return null;
+        }
+    }
+
+    private static void closeQuietly(JarFile jarFile) {
+        try {
+            jarFile.close();
+        } catch (IOException e) {
+            log.warn("Could not close {}", jarFile.getName(), e);
+        }
+    }
+}
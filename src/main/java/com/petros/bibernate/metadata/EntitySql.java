@@ -0,0 +1,218 @@
+package com.petros.bibernate.metadata;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+/**
+ * The CRUD statements of a single entity class. They are rendered once, together with the {@link EntityMetadata},
+ * and reused by every session, so executing a statement never builds SQL strings.
+ */
+@Getter
+public class EntitySql {
+    private static final String SELECT_BY_COLUMN_TEMPLATE = "SELECT * FROM %s WHERE %s = ?;";
+    private static final String SELECT_ALL_TEMPLATE = "SELECT * FROM %s;";
+    private static final String INSERT_TEMPLATE = "INSERT INTO %s(%s) VALUES (%s);";
+    private static final String INSERT_ROWS_TEMPLATE = "INSERT INTO %s(%s) VALUES %s;";
+    private static final String UPDATE_BY_ID_TEMPLATE = "UPDATE %s SET %s WHERE %s = ?;";
+    private static final String DELETE_BY_ID_TEMPLATE = "DELETE FROM %s WHERE %s = ?;";
+    private static final String DELETE_BY_IDS_TEMPLATE = "DELETE FROM %s WHERE %s IN (%s);";
+    private static final String UPDATE_WHERE_TEMPLATE = "UPDATE %s SET %s%s;";
+    private static final String DELETE_WHERE_TEMPLATE = "DELETE FROM %s%s;";
+
+    @Getter(AccessLevel.NONE)
+    private final String tableName;
+    @Getter(AccessLevel.NONE)
+    private final String idColumn;
+    @Getter(AccessLevel.NONE)
+    private final String insertColumns;
+    @Getter(AccessLevel.NONE)
+    private final String insertPlaceholders;
+    /**
+     * The column of every snapshot property, or null if the property is not updatable.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String[] snapshotUpdateColumns;
+    @Getter(AccessLevel.NONE)
+    private final Map<BitSet, String> updateByIdSqlByDirtyProperties = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, String> deleteByIdsSql = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<Integer, String> insertRowsSql = new ConcurrentHashMap<>();
+    private final String insertSql;
+    private final String updateByIdSql;
+    private final String deleteByIdSql;
+    private final String selectByIdSql;
+    private final String selectAllSql;
+    @Getter(AccessLevel.PACKAGE)
+    private final Map<String, String> selectByColumnSql;
+
+    EntitySql(EntityMetadata metadata) {
+        this.tableName = metadata.getTableName();
+        this.idColumn = metadata.getIdProperty().getColumnName();
+        this.insertColumns = String.join(", ", columnNames(metadata.getInsertableProperties()));
+        this.insertPlaceholders = placeholders(metadata.getInsertableProperties());
+        this.snapshotUpdateColumns = snapshotUpdateColumns(metadata);
+        this.insertSql = format(INSERT_TEMPLATE, tableName, insertColumns, insertPlaceholders);
+        this.updateByIdSql = updateByIdSql(columnNames(metadata.getUpdatableProperties()).stream());
+        this.deleteByIdSql = format(DELETE_BY_ID_TEMPLATE, tableName, idColumn);
+        this.selectAllSql = format(SELECT_ALL_TEMPLATE, tableName);
+        this.selectByColumnSql = new LinkedHashMap<>();
+        metadata.getProperties().stream()
+                .filter(property -> !property.isToMany())
+                .map(PropertyMetadata::getColumnName)
+                .forEach(column -> selectByColumnSql.putIfAbsent(column,
+                        format(SELECT_BY_COLUMN_TEMPLATE, tableName, column)));
+        this.selectByIdSql = selectByColumnSql.get(idColumn);
+    }
+
+    EntitySql(EntityMetadata metadata, MetadataSnapshot.EntityEntry entry) {
+        this.tableName = metadata.getTableName();
+        this.idColumn = metadata.getIdProperty().getColumnName();
+        this.insertColumns = String.join(", ", columnNames(metadata.getInsertableProperties()));
+        this.insertPlaceholders = placeholders(metadata.getInsertableProperties());
+        this.snapshotUpdateColumns = snapshotUpdateColumns(metadata);
+        this.insertSql = entry.insertSql();
+        this.updateByIdSql = entry.updateByIdSql();
+        this.deleteByIdSql = entry.deleteByIdSql();
+        this.selectAllSql = entry.selectAllSql();
+        this.selectByColumnSql = entry.selectByColumnSql();
+        this.selectByIdSql = getSelectByColumnSql(idColumn);
+    }
+
+    private static String[] snapshotUpdateColumns(EntityMetadata metadata) {
+        return metadata.getSnapshotProperties().stream()
+                .map(property -> metadata.getUpdatableProperties().contains(property) ? property.getColumnName() : null)
+                .toArray(String[]::new);
+    }
+
+    private String updateByIdSql(Stream<String> columns) {
+        return format(UPDATE_BY_ID_TEMPLATE, tableName,
+                columns.map(column -> column + " = ?").collect(Collectors.joining(", ")), idColumn);
+    }
+
+    private static String placeholders(List<PropertyMetadata> properties) {
+        return properties.stream().map(property -> "?").collect(Collectors.joining(","));
+    }
+
+    private static List<String> columnNames(List<PropertyMetadata> properties) {
+        return properties.stream()
+                .map(PropertyMetadata::getColumnName)
+                .toList();
+    }
+
+    /**
+     * Retrieves the statement that updates only the columns of the given snapshot properties. Properties that are not
+     * updatable are ignored. The statements are rendered once per set of properties.
+     *
+     * @param dirtyProperties the indexes of the changed properties in {@link EntityMetadata#getSnapshotProperties()},
+     *                        at least one of them must be updatable
+     * @return the update statement with the parameters of the changed columns followed by the id parameter
+     */
+    public String getUpdateByIdSql(BitSet dirtyProperties) {
+        var sql = updateByIdSqlByDirtyProperties.get(dirtyProperties);
+        if (sql == null) {
+            sql = updateByIdSqlByDirtyProperties.computeIfAbsent((BitSet) dirtyProperties.clone(),
+                    properties -> updateByIdSql(properties.stream()
+                            .mapToObj(index -> snapshotUpdateColumns[index])
+                            .filter(Objects::nonNull)));
+        }
+        return sql;
+    }
+
+    /**
+     * Retrieves the statement that inserts the given number of rows with a single {@code VALUES} list. The statements
+     * are rendered once per number of rows.
+     *
+     * @param rowCount the number of rows
+     * @return the insert statement with the parameters of the insertable columns for every row
+     */
+    public String getInsertRowsSql(int rowCount) {
+        var sql = insertRowsSql.get(rowCount);
+        if (sql == null) {
+            sql = insertRowsSql.computeIfAbsent(rowCount, count -> format(INSERT_ROWS_TEMPLATE, tableName,
+                    insertColumns, String.join(",", Collections.nCopies(count, "(" + insertPlaceholders + ")"))));
+        }
+        return sql;
+    }
+
+    /**
+     * Retrieves the statement that deletes the rows with the given number of ids. The statements are rendered once per
+     * number of ids.
+     *
+     * @param idCount the number of ids in the {@code IN} list
+     * @return the delete statement with one parameter per id
+     */
+    public String getDeleteByIdsSql(int idCount) {
+        var sql = deleteByIdsSql.get(idCount);
+        if (sql == null) {
+            sql = deleteByIdsSql.computeIfAbsent(idCount, count -> format(DELETE_BY_IDS_TEMPLATE, tableName, idColumn,
+                    String.join(",", Collections.nCopies(count, "?"))));
+        }
+        return sql;
+    }
+
+    /**
+     * Retrieves the statement that selects all rows with the given column value.
+     *
+     * @param columnName the column to filter by
+     * @return the select statement with a single parameter
+     */
+    public String getSelectByColumnSql(String columnName) {
+        var sql = selectByColumnSql.get(columnName);
+        return sql != null ? sql : format(SELECT_BY_COLUMN_TEMPLATE, tableName, columnName);
+    }
+
+    /**
+     * Renders the statement that updates the columns of the given properties in all rows matching the criteria. The
+     * statement depends on the query, so it is not cached.
+     *
+     * @param setProperties   the properties to update
+     * @param whereProperties the properties compared in the {@code WHERE} clause, joined with {@code AND}
+     * @param nullCriteria    the indexes of the where properties compared with {@code IS NULL}
+     * @return the update statement with the parameters of the updated columns followed by the parameters of the
+     * criteria that are not null
+     */
+    public String getUpdateWhereSql(List<PropertyMetadata> setProperties, List<PropertyMetadata> whereProperties,
+                                    BitSet nullCriteria) {
+        return format(UPDATE_WHERE_TEMPLATE, tableName, setProperties.stream()
+                .map(property -> property.getColumnName() + " = ?")
+                .collect(Collectors.joining(", ")), whereClause(whereProperties, nullCriteria));
+    }
+
+    /**
+     * Renders the statement that deletes all rows matching the criteria. The statement depends on the query, so it is
+     * not cached.
+     *
+     * @param whereProperties the properties compared in the {@code WHERE} clause, joined with {@code AND}
+     * @param nullCriteria    the indexes of the where properties compared with {@code IS NULL}
+     * @return the delete statement with the parameters of the criteria that are not null
+     */
+    public String getDeleteWhereSql(List<PropertyMetadata> whereProperties, BitSet nullCriteria) {
+        return format(DELETE_WHERE_TEMPLATE, tableName, whereClause(whereProperties, nullCriteria));
+    }
+
+    private static String whereClause(List<PropertyMetadata> whereProperties, BitSet nullCriteria) {
+        if (whereProperties.isEmpty()) {
+            return "";
+        }
+        var conditions = new ArrayList<String>(whereProperties.size());
+        for (int i = 0; i < whereProperties.size(); i++) {
+            var column = whereProperties.get(i).getColumnName();
+            conditions.add(nullCriteria.get(i) ? column + " IS NULL" : column + " = ?");
+        }
+        return " WHERE " + String.join(" AND ", conditions);
+    }
+}
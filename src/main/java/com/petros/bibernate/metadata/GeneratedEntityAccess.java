@@ -0,0 +1,55 @@
+package com.petros.bibernate.metadata;
+
+import java.util.function.Supplier;
+
+/**
+ * Reflection-free access to a single entity class, generated at compile time by
+ * {@link com.petros.bibernate.processor.EntityProcessor}.
+ * <p>
+ * The generated class is discovered by naming convention (see {@link #getClassName(String)}) when the
+ * {@link EntityMetadata} of the entity is built. If it is present, the metadata is built from its
+ * {@link #getMapping() mapping} without scanning the fields and annotations of the entity, and its instantiator and
+ * property accessors are used instead of the {@link java.lang.invoke.MethodHandle} based ones. Anything the generated
+ * class cannot provide falls back to the reflective implementation, so the generated code is always optional.
+ */
+public interface GeneratedEntityAccess {
+    /**
+     * Suffix appended to the entity class name to get the name of the generated class.
+     */
+    String CLASS_NAME_SUFFIX = "_Access";
+
+    /**
+     * Retrieves the function that creates new entity instances.
+     *
+     * @return the instantiator, or null if the entity has no accessible no-argument constructor
+     */
+    Supplier<Object> getInstantiator();
+
+    /**
+     * Retrieves the accessor of the property with the given name.
+     *
+     * @param propertyName the entity field name
+     * @return the property accessor, or null if the field cannot be accessed without reflection
+     */
+    PropertyAccessor getAccessor(String propertyName);
+
+    /**
+     * Retrieves the mapping of the entity read from its annotations at compile time.
+     *
+     * @return the mapping, or null if the annotations have to be read at runtime
+     */
+    default EntityMapping getMapping() {
+        return null;
+    }
+
+    /**
+     * Builds the fully qualified name of the class generated for the given entity. Nested entity classes are
+     * flattened, e.g. {@code com.example.Outer$Inner} becomes {@code com.example.Outer_Inner_Access}.
+     *
+     * @param entityBinaryName the binary name of the entity class
+     * @return the name of the generated class
+     */
+    static String getClassName(String entityBinaryName) {
+        return entityBinaryName.replace('$', '_') + CLASS_NAME_SUFFIX;
+    }
+}
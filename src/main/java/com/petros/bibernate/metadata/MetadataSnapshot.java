@@ -0,0 +1,238 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.annotation.FetchType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary form of the computed {@link EntityMetadata}: table and column names, the flags, id generation and
+ * relation descriptors of every property, the converter class of every basic property and the rendered CRUD
+ * statements.
+ * <p>
+ * The file starts with a header that contains a format version and a CRC32 checksum of the payload. A file with an
+ * unknown version or a wrong checksum is ignored as a whole. Each entity entry additionally stores a checksum of the
+ * bytecode of its class, which covers the fields and all mapping annotations, and each property entry the name and
+ * the type of its field. Entries of classes that changed since the snapshot was written are rebuilt with reflection
+ * while the others are restored as is.
+ */
+@Slf4j
+final class MetadataSnapshot {
+    private static final int MAGIC = 0x42424D53;
+    private static final int VERSION = 4;
+
+    private MetadataSnapshot() {
+    }
+
+    record EntityEntry(String className, long classChecksum, String tableName, List<PropertyEntry> properties,
+                       String insertSql, String updateByIdSql, String deleteByIdSql, String selectAllSql,
+                       Map<String, String> selectByColumnSql) {
+    }
+
+    record PropertyEntry(String name, String typeName, String columnName, PropertyKind kind, boolean id,
+                         String generationType, String generator, int allocationSize, boolean mapsId,
+                         String relatedEntityType, String mappedBy, FetchType fetchType, String typeConverter) {
+    }
+
+    /**
+     * Writes the given metadata to a file. The file is replaced atomically where the file system supports it.
+     */
+    static void write(Path path, Collection<EntityMetadata> metadata) throws IOException {
+        var payload = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(payload)) {
+            out.writeInt(metadata.size());
+            for (EntityMetadata entity : metadata) {
+                writeEntity(out, entity);
+            }
+        }
+        var bytes = payload.toByteArray();
+        var checksum = new CRC32();
+        checksum.update(bytes);
+
+        var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        var tempFile = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (var out = new DataOutputStream(Files.newOutputStream(tempFile))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(checksum.getValue());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            try {
+                Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Reads the entries of a snapshot file.
+     *
+     * @return the entries by entity class name, or an empty map if the file does not exist or is not a valid snapshot
+     */
+    static Map<String, EntityEntry> read(Path path) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            log.info("Metadata snapshot {} does not exist yet", path);
+            return Map.of();
+        } catch (IOException e) {
+            log.warn("Could not read metadata snapshot {}", path, e);
+            return Map.of();
+        }
+        try (var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warn("Ignoring metadata snapshot {} with unknown format", path);
+                return Map.of();
+            }
+            long expectedChecksum = in.readLong();
+            var payload = in.readNBytes(in.readInt());
+            var checksum = new CRC32();
+            checksum.update(payload);
+            if (checksum.getValue() != expectedChecksum || in.read() != -1) {
+                log.warn("Ignoring corrupted metadata snapshot {}", path);
+                return Map.of();
+            }
+            return readEntities(new DataInputStream(new ByteArrayInputStream(payload)));
+        } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            log.warn("Ignoring unreadable metadata snapshot {}", path, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Computes the checksum of the bytecode of the given class.
+     *
+     * @return the checksum, or -1 if the class file cannot be read
+     */
+    static long classChecksum(Class<?> type) {
+        var classFile = type.getName().replace('.', '/') + ".class";
+        var classLoader = type.getClassLoader() != null ? type.getClassLoader() : ClassLoader.getSystemClassLoader();
+        try (var in = classLoader.getResourceAsStream(classFile)) {
+            if (in == null) {
+                return -1;
+            }
+            var checksum = new CRC32();
+            checksum.update(in.readAllBytes());
+            return checksum.getValue();
+        } catch (IOException e) {
+            log.warn("Could not read class file of {}", type.getName(), e);
+            return -1;
+        }
+    }
+
+    private static void writeEntity(DataOutputStream out, EntityMetadata metadata) throws IOException {
+        var sql = metadata.getSql();
+        out.writeUTF(metadata.getEntityClass().getName());
+        out.writeLong(classChecksum(metadata.getEntityClass()));
+        out.writeUTF(metadata.getTableName());
+        out.writeInt(metadata.getProperties().size());
+        for (PropertyMetadata property : metadata.getProperties()) {
+            out.writeUTF(property.getName());
+            out.writeUTF(property.getType().getName());
+            out.writeUTF(property.getColumnName());
+            out.writeByte(property.getKind().ordinal());
+            out.writeBoolean(property.isId());
+            writeNullable(out, property.getGenerationType() == null ? null : property.getGenerationType().name());
+            writeNullable(out, property.getGenerator());
+            out.writeInt(property.getAllocationSize());
+            out.writeBoolean(property.isMapsId());
+            writeNullable(out, property.getRelatedEntityType() == null
+                    ? null
+                    : property.getRelatedEntityType().getName());
+            writeNullable(out, property.getMappedBy());
+            writeNullable(out, property.getFetchType() == null ? null : property.getFetchType().name());
+            writeNullable(out, property.getTypeConverter() == null
+                    ? null
+                    : property.getTypeConverter().getClass().getName());
+        }
+        out.writeUTF(sql.getInsertSql());
+        out.writeUTF(sql.getUpdateByIdSql());
+        out.writeUTF(sql.getDeleteByIdSql());
+        out.writeUTF(sql.getSelectAllSql());
+        var selectByColumnSql = sql.getSelectByColumnSql();
+        out.writeInt(selectByColumnSql.size());
+        for (var entry : selectByColumnSql.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeUTF(entry.getValue());
+        }
+    }
+
+    private static Map<String, EntityEntry> readEntities(DataInputStream in) throws IOException {
+        int entityCount = in.readInt();
+        Map<String, EntityEntry> entries = new HashMap<>();
+        for (int i = 0; i < entityCount; i++) {
+            var className = in.readUTF();
+            long classChecksum = in.readLong();
+            var tableName = in.readUTF();
+            int propertyCount = in.readInt();
+            List<PropertyEntry> properties = new ArrayList<>(propertyCount);
+            for (int j = 0; j < propertyCount; j++) {
+                properties.add(readProperty(in));
+            }
+            var insertSql = in.readUTF();
+            var updateByIdSql = in.readUTF();
+            var deleteByIdSql = in.readUTF();
+            var selectAllSql = in.readUTF();
+            int selectCount = in.readInt();
+            Map<String, String> selectByColumnSql = new LinkedHashMap<>();
+            for (int j = 0; j < selectCount; j++) {
+                selectByColumnSql.put(in.readUTF(), in.readUTF());
+            }
+            entries.put(className, new EntityEntry(className, classChecksum, tableName, properties, insertSql,
+                    updateByIdSql, deleteByIdSql, selectAllSql, selectByColumnSql));
+        }
+        return entries;
+    }
+
+    private static PropertyEntry readProperty(DataInputStream in) throws IOException {
+        var name = in.readUTF();
+        var typeName = in.readUTF();
+        var columnName = in.readUTF();
+        var kind = PropertyKind.values()[in.readByte()];
+        boolean id = in.readBoolean();
+        var generationType = readNullable(in);
+        var generator = readNullable(in);
+        int allocationSize = in.readInt();
+        boolean mapsId = in.readBoolean();
+        var relatedEntityType = readNullable(in);
+        var mappedBy = readNullable(in);
+        var fetchType = readNullable(in);
+        var typeConverter = readNullable(in);
+        return new PropertyEntry(name, typeName, columnName, kind, id, generationType, generator, allocationSize,
+                mapsId, relatedEntityType, mappedBy, fetchType == null ? null : FetchType.valueOf(fetchType),
+                typeConverter);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,267 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.exception.BibernateException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * {@link PropertyAccessor} that reads and writes a field through {@link MethodHandle MethodHandles} bound once per
+ * field. The handles are adapted to erased signatures up front, so every access is a single {@code invokeExact} call
+ * without further argument conversion.
+ * <p>
+ * For primitive fields an additional pair of exactly typed handles is kept, so the primitive accessor methods never
+ * box the value.
+ */
+@Slf4j
+public class MethodHandlePropertyAccessor implements PropertyAccessor {
+    private static final MethodType GETTER_TYPE = methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    private final Class<?> type;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final MethodHandle primitiveGetter;
+    private final MethodHandle primitiveSetter;
+
+    /**
+     * Creates an accessor for the given field.
+     *
+     * @param field entity field
+     * @throws BibernateException if the field is not accessible
+     */
+    public MethodHandlePropertyAccessor(Field field) {
+        this.field = field;
+        this.type = field.getType();
+        try {
+            field.setAccessible(true);
+            var lookup = MethodHandles.lookup();
+            var rawGetter = lookup.unreflectGetter(field);
+            var rawSetter = lookup.unreflectSetter(field);
+            this.getter = rawGetter.asType(GETTER_TYPE);
+            this.setter = rawSetter.asType(SETTER_TYPE);
+            if (type.isPrimitive()) {
+                this.primitiveGetter = rawGetter.asType(methodType(type, Object.class));
+                this.primitiveSetter = rawSetter.asType(methodType(void.class, Object.class, type));
+            } else {
+                this.primitiveGetter = null;
+                this.primitiveSetter = null;
+            }
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.error("Could not create accessor for field {} of entity {}", field.getName(),
+                    field.getDeclaringClass().getSimpleName(), e);
+            throw new BibernateException("Could not create accessor for field %s of entity %s".formatted(
+                    field.getName(), field.getDeclaringClass().getSimpleName()), e);
+        }
+    }
+
+    @Override
+    public Object get(Object entity) {
+        try {
+            return (Object) getter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void set(Object entity, Object value) {
+        try {
+            setter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    @Override
+    public int getInt(Object entity) {
+        if (type != int.class) {
+            return PropertyAccessor.super.getInt(entity);
+        }
+        try {
+            return (int) primitiveGetter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void setInt(Object entity, int value) {
+        if (type != int.class) {
+            PropertyAccessor.super.setInt(entity, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    @Override
+    public long getLong(Object entity) {
+        if (type != long.class) {
+            return PropertyAccessor.super.getLong(entity);
+        }
+        try {
+            return (long) primitiveGetter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void setLong(Object entity, long value) {
+        if (type != long.class) {
+            PropertyAccessor.super.setLong(entity, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    @Override
+    public short getShort(Object entity) {
+        if (type != short.class) {
+            return PropertyAccessor.super.getShort(entity);
+        }
+        try {
+            return (short) primitiveGetter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void setShort(Object entity, short value) {
+        if (type != short.class) {
+            PropertyAccessor.super.setShort(entity, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    @Override
+    public byte getByte(Object entity) {
+        if (type != byte.class) {
+            return PropertyAccessor.super.getByte(entity);
+        }
+        try {
+            return (byte) primitiveGetter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void setByte(Object entity, byte value) {
+        if (type != byte.class) {
+            PropertyAccessor.super.setByte(entity, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object entity) {
+        if (type != double.class) {
+            return PropertyAccessor.super.getDouble(entity);
+        }
+        try {
+            return (double) primitiveGetter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object entity, double value) {
+        if (type != double.class) {
+            PropertyAccessor.super.setDouble(entity, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    @Override
+    public float getFloat(Object entity) {
+        if (type != float.class) {
+            return PropertyAccessor.super.getFloat(entity);
+        }
+        try {
+            return (float) primitiveGetter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void setFloat(Object entity, float value) {
+        if (type != float.class) {
+            PropertyAccessor.super.setFloat(entity, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object entity) {
+        if (type != boolean.class) {
+            return PropertyAccessor.super.getBoolean(entity);
+        }
+        try {
+            return (boolean) primitiveGetter.invokeExact(entity);
+        } catch (Throwable e) {
+            throw accessFailure("get", entity, e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object entity, boolean value) {
+        if (type != boolean.class) {
+            PropertyAccessor.super.setBoolean(entity, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(entity, value);
+        } catch (Throwable e) {
+            throw accessFailure("set", entity, e);
+        }
+    }
+
+    private BibernateException accessFailure(String action, Object entity, Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        var entityName = entity == null ? field.getDeclaringClass().getSimpleName()
+                : entity.getClass().getSimpleName();
+        log.error("Could not {} field {} value for entity {}", action, field.getName(), entityName);
+        return new BibernateException("Could not %s field %s value for entity %s".formatted(action, field.getName(),
+                entityName), cause);
+    }
+}
@@ -0,0 +1,85 @@
+package com.petros.bibernate.metadata;
+
+/**
+ * Reads and writes the value of a single entity property. An accessor is bound to its property once, when the
+ * entity metadata is built.
+ * <p>
+ * The primitive methods allow reading and writing primitive fields without boxing. Their default implementations
+ * fall back to {@link #get(Object)} and {@link #set(Object, Object)}, so they also work for wrapper types.
+ *
+ * @see MethodHandlePropertyAccessor
+ */
+public interface PropertyAccessor {
+
+    /**
+     * Reads the property value of the given entity.
+     *
+     * @param entity Bibernate entity
+     * @return the property value
+     */
+    Object get(Object entity);
+
+    /**
+     * Writes the property value of the given entity.
+     *
+     * @param entity Bibernate entity
+     * @param value  the new property value
+     */
+    void set(Object entity, Object value);
+
+    default int getInt(Object entity) {
+        return (Integer) get(entity);
+    }
+
+    default void setInt(Object entity, int value) {
+        set(entity, value);
+    }
+
+    default long getLong(Object entity) {
+        return (Long) get(entity);
+    }
+
+    default void setLong(Object entity, long value) {
+        set(entity, value);
+    }
+
+    default short getShort(Object entity) {
+        return (Short) get(entity);
+    }
+
+    default void setShort(Object entity, short value) {
+        set(entity, value);
+    }
+
+    default byte getByte(Object entity) {
+        return (Byte) get(entity);
+    }
+
+    default void setByte(Object entity, byte value) {
+        set(entity, value);
+    }
+
+    default double getDouble(Object entity) {
+        return (Double) get(entity);
+    }
+
+    default void setDouble(Object entity, double value) {
+        set(entity, value);
+    }
+
+    default float getFloat(Object entity) {
+        return (Float) get(entity);
+    }
+
+    default void setFloat(Object entity, float value) {
+        set(entity, value);
+    }
+
+    default boolean getBoolean(Object entity) {
+        return (Boolean) get(entity);
+    }
+
+    default void setBoolean(Object entity, boolean value) {
+        set(entity, value);
+    }
+}
@@ -0,0 +1,23 @@
+package com.petros.bibernate.metadata;
+
+/**
+ * Describes how an entity field is mapped to the database.
+ */
+public enum PropertyKind {
+    /**
+     * A simple value stored in its own column.
+     */
+    BASIC,
+
+    /**
+     * A reference to another entity, mapped with {@link com.petros.bibernate.annotation.ManyToOne} or
+     * {@link com.petros.bibernate.annotation.OneToOne}. The value is stored as a foreign key column.
+     */
+    TO_ONE,
+
+    /**
+     * A collection of related entities, mapped with {@link com.petros.bibernate.annotation.OneToMany}. It has no
+     * column in the entity table.
+     */
+    TO_MANY
+}
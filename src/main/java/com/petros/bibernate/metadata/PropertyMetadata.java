@@ -0,0 +1,257 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.annotation.FetchType;
+import com.petros.bibernate.annotation.GeneratedValue;
+import com.petros.bibernate.annotation.GenerationType;
+import com.petros.bibernate.annotation.MapsId;
+import com.petros.bibernate.annotation.OneToMany;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.type.TypeConverter;
+import com.petros.bibernate.type.TypeConverterRegistry;
+import com.petros.bibernate.util.EntityUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.lang.reflect.Field;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+
+/**
+ * Immutable mapping information of a single entity field. All annotations of the field are read once, when the
+ * metadata is built, so the hot paths never have to touch the reflection API again. Properties built from a
+ * {@link EntityMapping} do not read annotations at all, they look up their field only when it is needed.
+ *
+ * @see EntityMetadata
+ */
+@Getter
+public class PropertyMetadata {
+    @Getter(AccessLevel.NONE)
+    private final Class<?> entityClass;
+    /**
+     * The entity field, looked up on first use for properties built from a {@link EntityMapping}.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Field field;
+    /**
+     * The accessor of the field, created on first use for properties restored from a snapshot or built from a
+     * {@link EntityMapping}.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile PropertyAccessor accessor;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<GeneratedEntityAccess> generatedAccess;
+    private final String name;
+    private final String columnName;
+    private final Class<?> type;
+    private final PropertyKind kind;
+    private final boolean id;
+    /**
+     * True if the value of the id property is generated by the database when the row is inserted.
+     */
+    private final boolean generatedId;
+    /**
+     * The generation strategy of a {@link GeneratedValue} id property, null for other properties.
+     */
+    private final GenerationType generationType;
+    /**
+     * The name of the generator of a {@link GeneratedValue} id property, empty for the default name.
+     */
+    private final String generator;
+    /**
+     * The number of ids of a {@link GeneratedValue} id property reserved at once.
+     */
+    private final int allocationSize;
+    private final boolean mapsId;
+    /**
+     * The type of the related entity for {@link PropertyKind#TO_ONE} and {@link PropertyKind#TO_MANY} properties,
+     * null for basic properties.
+     */
+    private final Class<?> relatedEntityType;
+    /**
+     * The field name of the owning side for {@link PropertyKind#TO_MANY} properties, null otherwise.
+     */
+    private final String mappedBy;
+    /**
+     * The fetch type for {@link PropertyKind#TO_MANY} properties, null otherwise.
+     */
+    private final FetchType fetchType;
+    /**
+     * The converter of column values for {@link PropertyKind#BASIC} properties, null otherwise.
+     */
+    private final TypeConverter<?> typeConverter;
+
+    PropertyMetadata(Field field) {
+        this(field, null, new TypeConverterRegistry());
+    }
+
+    PropertyMetadata(Field field, GeneratedEntityAccess generatedAccess, TypeConverterRegistry typeConverterRegistry) {
+        this.entityClass = field.getDeclaringClass();
+        this.field = field;
+        this.accessor = createAccessor(field, generatedAccess);
+        this.generatedAccess = null;
+        this.name = field.getName();
+        this.columnName = EntityUtil.getColumnName(field);
+        this.type = field.getType();
+        this.id = EntityUtil.isIdField(field);
+        var generatedValue = id ? field.getAnnotation(GeneratedValue.class) : null;
+        this.generationType = generatedValue == null ? null : generatedValue.strategy();
+        this.generator = generatedValue == null ? null : generatedValue.generator();
+        this.allocationSize = generatedValue == null ? 0 : generatedValue.allocationSize();
+        this.generatedId = generationType == GenerationType.IDENTITY;
+        this.mapsId = field.isAnnotationPresent(MapsId.class);
+        if (EntityUtil.isEntityField(field)) {
+            this.kind = PropertyKind.TO_ONE;
+            this.relatedEntityType = field.getType();
+            this.mappedBy = null;
+            this.fetchType = null;
+        } else if (EntityUtil.isEntityCollectionField(field)) {
+            var oneToMany = field.getAnnotation(OneToMany.class);
+            this.kind = PropertyKind.TO_MANY;
+            this.relatedEntityType = EntityUtil.getRelatedEntityType(field);
+            this.mappedBy = oneToMany.mappedBy();
+            this.fetchType = oneToMany.fetchType();
+        } else {
+            this.kind = PropertyKind.BASIC;
+            this.relatedEntityType = null;
+            this.mappedBy = null;
+            this.fetchType = null;
+        }
+        this.typeConverter = kind == PropertyKind.BASIC ? typeConverterRegistry.getConverter(type) : null;
+    }
+
+    PropertyMetadata(Field field, MetadataSnapshot.PropertyEntry entry,
+                     Supplier<GeneratedEntityAccess> generatedAccess, TypeConverter<?> typeConverter) {
+        this.entityClass = field.getDeclaringClass();
+        this.field = field;
+        this.generatedAccess = generatedAccess;
+        this.name = field.getName();
+        this.columnName = entry.columnName();
+        this.type = field.getType();
+        this.kind = entry.kind();
+        this.id = entry.id();
+        this.generationType = entry.generationType() == null ? null : GenerationType.valueOf(entry.generationType());
+        this.generator = entry.generator();
+        this.allocationSize = entry.allocationSize();
+        this.generatedId = generationType == GenerationType.IDENTITY;
+        this.mapsId = entry.mapsId();
+        this.relatedEntityType = switch (kind) {
+            case BASIC -> null;
+            case TO_ONE -> type;
+            case TO_MANY -> loadClass(entry.relatedEntityType(), field.getDeclaringClass().getClassLoader());
+        };
+        this.mappedBy = entry.mappedBy();
+        this.fetchType = entry.fetchType();
+        this.typeConverter = typeConverter;
+    }
+
+    PropertyMetadata(Class<?> entityClass, EntityMapping.Property mapping, GeneratedEntityAccess generatedAccess,
+                     TypeConverterRegistry typeConverterRegistry) {
+        this.entityClass = entityClass;
+        this.generatedAccess = () -> generatedAccess;
+        this.name = mapping.name();
+        this.columnName = mapping.columnName();
+        this.type = mapping.type();
+        this.kind = mapping.kind();
+        this.id = mapping.id();
+        this.generationType = mapping.generationType();
+        this.generator = mapping.generator();
+        this.allocationSize = mapping.allocationSize();
+        this.generatedId = generationType == GenerationType.IDENTITY;
+        this.mapsId = mapping.mapsId();
+        this.relatedEntityType = mapping.relatedEntityType();
+        this.mappedBy = mapping.mappedBy();
+        this.fetchType = mapping.fetchType();
+        this.typeConverter = kind == PropertyKind.BASIC ? typeConverterRegistry.getConverter(type) : null;
+    }
+
+    private static PropertyAccessor createAccessor(Field field, GeneratedEntityAccess generatedAccess) {
+        var generatedAccessor = generatedAccess == null ? null : generatedAccess.getAccessor(field.getName());
+        return generatedAccessor != null ? generatedAccessor : new MethodHandlePropertyAccessor(field);
+    }
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new BibernateException(format("Related entity class %s is not found", className), e);
+        }
+    }
+
+    /**
+     * Retrieves the entity field of this property.
+     *
+     * @return the field
+     * @throws BibernateException if the entity no longer declares the field
+     */
+    public Field getField() {
+        var current = field;
+        if (current == null) {
+            try {
+                current = entityClass.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                throw new BibernateException(format("Entity %s has no field %s", entityClass.getSimpleName(), name),
+                        e);
+            }
+            field = current;
+        }
+        return current;
+    }
+
+    /**
+     * Retrieves the accessor of the field, either the one of the generated access class of the entity or a
+     * {@link MethodHandlePropertyAccessor}.
+     *
+     * @return the property accessor
+     */
+    public PropertyAccessor getAccessor() {
+        var current = accessor;
+        if (current == null) {
+            current = createAccessor(getField(), generatedAccess.get());
+            accessor = current;
+        }
+        return current;
+    }
+
+    /**
+     * Reads the value of this property from the given entity.
+     *
+     * @param entity Bibernate entity
+     * @return the property value
+     */
+    public Object getValue(Object entity) {
+        return getAccessor().get(entity);
+    }
+
+    /**
+     * Writes the value of this property to the given entity.
+     *
+     * @param entity Bibernate entity
+     * @param value  the new property value
+     */
+    public void setValue(Object entity, Object value) {
+        getAccessor().set(entity, value);
+    }
+
+    /**
+     * Checks whether this is an id property whose value is generated by Bibernate before the entity is inserted,
+     * i.e. when the entity is persisted.
+     *
+     * @return true if the id is generated before insert
+     */
+    public boolean isGeneratedBeforeInsert() {
+        return generationType != null && generationType != GenerationType.IDENTITY;
+    }
+
+    public boolean isBasic() {
+        return kind == PropertyKind.BASIC;
+    }
+
+    public boolean isToOne() {
+        return kind == PropertyKind.TO_ONE;
+    }
+
+    public boolean isToMany() {
+        return kind == PropertyKind.TO_MANY;
+    }
+}
@@ -0,0 +1,494 @@
+package com.petros.bibernate.processor;
+
+import com.petros.bibernate.metadata.EntityMapping;
+import com.petros.bibernate.metadata.GeneratedEntityAccess;
+import com.petros.bibernate.metadata.PropertyAccessor;
+import com.petros.bibernate.metadata.PropertyKind;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compile-time annotation processor for Bibernate entities. For every class annotated with
+ * {@link com.petros.bibernate.annotation.Entity} it generates two classes in the package of the entity:
+ * <ul>
+ *     <li>{@code <Entity>_} - a static metamodel with the table name and the column name of every property;</li>
+ *     <li>{@code <Entity>_Access} - a {@link GeneratedEntityAccess} implementation that creates entity instances,
+ *     reads and writes properties with plain Java code instead of reflection and provides the {@link EntityMapping}
+ *     of the entity, so its metadata is built without scanning its fields and annotations at runtime.</li>
+ * </ul>
+ * A property is accessed directly if its field is not private, otherwise through its getter and setter. Getters and
+ * setters are detected among the declared methods, or assumed to exist if the class or the field is annotated with
+ * Lombok {@code @Data}, {@code @Getter} or {@code @Setter}. Properties that cannot be accessed either way are left to
+ * the reflective accessor at runtime.
+ * <p>
+ * The processor is opt-in and is not registered as a service. Enable it with
+ * {@code -processor com.petros.bibernate.processor.EntityProcessor} or add Bibernate to the
+ * {@code annotationProcessorPaths} of the maven-compiler-plugin together with Lombok, if Lombok is used.
+ */
+@SupportedAnnotationTypes(EntityProcessor.ENTITY_ANNOTATION)
+public class EntityProcessor extends AbstractProcessor {
+    static final String ENTITY_ANNOTATION = "com.petros.bibernate.annotation.Entity";
+    static final String METAMODEL_SUFFIX = "_";
+    private static final String ANNOTATION_PACKAGE = "com.petros.bibernate.annotation.";
+    private static final String LOMBOK_PACKAGE = "lombok.";
+    private static final String ACCESSOR_TYPE = PropertyAccessor.class.getCanonicalName();
+    private static final String MAPPING_TYPE = EntityMapping.class.getCanonicalName();
+    /**
+     * Primitive types that have dedicated methods in {@link PropertyAccessor}.
+     */
+    private static final Set<TypeKind> PRIMITIVE_ACCESSOR_TYPES = Set.of(TypeKind.INT, TypeKind.LONG, TypeKind.SHORT,
+            TypeKind.BYTE, TypeKind.DOUBLE, TypeKind.FLOAT, TypeKind.BOOLEAN);
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    processEntity((TypeElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void processEntity(TypeElement entity) {
+        if (!isAccessibleFromPackage(entity) || !entity.getTypeParameters().isEmpty()) {
+            note(entity, "Entity %s is not accessible from its package, skipping code generation",
+                    entity.getSimpleName());
+            return;
+        }
+        List<VariableElement> fields = ElementFilter.fieldsIn(entity.getEnclosedElements()).stream()
+                .filter(field -> !field.getModifiers().contains(Modifier.STATIC))
+                .toList();
+        long idFields = fields.stream().filter(field -> hasAnnotation(field, ANNOTATION_PACKAGE + "Id")).count();
+        if (idFields != 1) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+                    "Entity %s must contain exactly one field annotated with @Id", entity.getSimpleName()), entity);
+            return;
+        }
+        for (VariableElement field : fields) {
+            if (getPropertyKind(field) == PropertyKind.TO_MANY && getCollectionElementType(field) == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+                        "Field %s of entity %s annotated with @OneToMany must be a parameterized collection",
+                        field.getSimpleName(), entity.getSimpleName()), field);
+                return;
+            }
+        }
+        try {
+            writeMetamodel(entity, fields);
+            writeAccess(entity, fields);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(
+                    "Could not generate sources for entity %s: %s", entity.getSimpleName(), e.getMessage()), entity);
+        }
+    }
+
+    private void writeMetamodel(TypeElement entity, List<VariableElement> fields) throws IOException {
+        var packageName = getPackageName(entity);
+        var className = getFlatName(entity) + METAMODEL_SUFFIX;
+        try (var out = openSource(entity, packageName, className)) {
+            out.printf("/**%n * Static metamodel of entity {@link %s}.%n */%n", entity.getQualifiedName());
+            printGenerated(out);
+            out.printf("public final class %s {%n", className);
+            out.printf("    public static final String TABLE = \"%s\";%n", escape(getTableName(entity)));
+            for (VariableElement field : fields) {
+                var constantName = toConstantName(field.getSimpleName().toString());
+                if (constantName.equals("TABLE")) {
+                    note(field, "Property %s clashes with the TABLE constant of the metamodel, skipping it",
+                            field.getSimpleName());
+                    continue;
+                }
+                out.printf("    public static final String %s = \"%s\";%n", constantName,
+                        escape(getColumnName(field)));
+            }
+            out.printf("%n    private %s() {%n    }%n}%n", className);
+        }
+    }
+
+    private void writeAccess(TypeElement entity, List<VariableElement> fields) throws IOException {
+        var packageName = getPackageName(entity);
+        var className = getFlatName(entity) + GeneratedEntityAccess.CLASS_NAME_SUFFIX;
+        var entityName = entity.getQualifiedName().toString();
+        try (var out = openSource(entity, packageName, className)) {
+            out.printf("/**%n * Reflection-free access to entity {@link %s}.%n */%n", entityName);
+            printGenerated(out);
+            out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+            out.printf("public final class %s implements %s {%n%n", className,
+                    GeneratedEntityAccess.class.getCanonicalName());
+            out.println("    @Override");
+            out.println("    public java.util.function.Supplier<Object> getInstantiator() {");
+            if (hasAccessibleNoArgConstructor(entity)) {
+                out.printf("        return %s::new;%n", entityName);
+            } else {
+                note(entity, "Entity %s has no accessible no-argument constructor, it will be instantiated "
+                        + "reflectively", entity.getSimpleName());
+                out.println("        return null;");
+            }
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.printf("    public %s getAccessor(String propertyName) {%n", ACCESSOR_TYPE);
+            out.println("        switch (propertyName) {");
+            for (VariableElement field : fields) {
+                var getter = getReadExpression(entity, field);
+                var setter = getWriteStatement(entity, field);
+                if (getter == null || setter == null) {
+                    note(field, "Property %s of entity %s is not accessible, it will be accessed reflectively",
+                            field.getSimpleName(), entity.getSimpleName());
+                    continue;
+                }
+                out.printf("            case \"%s\":%n", field.getSimpleName());
+                printAccessor(out, entityName, field, getter, setter);
+            }
+            out.println("            default:");
+            out.println("                return null;");
+            out.println("        }");
+            out.println("    }");
+            out.println();
+            printMapping(out, entity, fields);
+            out.println("}");
+        }
+    }
+
+    private void printMapping(PrintWriter out, TypeElement entity, List<VariableElement> fields) {
+        out.println("    @Override");
+        out.printf("    public %s getMapping() {%n", MAPPING_TYPE);
+        out.printf("        return new %s(\"%s\", java.util.List.of(", MAPPING_TYPE, escape(getTableName(entity)));
+        for (int i = 0; i < fields.size(); i++) {
+            var field = fields.get(i);
+            var kind = getPropertyKind(field);
+            var generatedValue = findAnnotation(field, ANNOTATION_PACKAGE + "GeneratedValue");
+            boolean generated = generatedValue != null && hasAnnotation(field, ANNOTATION_PACKAGE + "Id");
+            var oneToMany = kind == PropertyKind.TO_MANY
+                    ? findAnnotation(field, ANNOTATION_PACKAGE + "OneToMany")
+                    : null;
+            var relatedEntityType = switch (kind) {
+                case BASIC -> null;
+                case TO_ONE -> field.asType();
+                case TO_MANY -> getCollectionElementType(field);
+            };
+            out.printf("%n                new %s.Property(\"%s\", %s, \"%s\", %s.%s, %s,%n", MAPPING_TYPE,
+                    field.getSimpleName(), classLiteral(field.asType()), escape(getColumnName(field)),
+                    PropertyKind.class.getCanonicalName(), kind, hasAnnotation(field, ANNOTATION_PACKAGE + "Id"));
+            out.printf("                        %s, %s, %s, %s, %s, %s, %s)%s",
+                    generated ? enumConstant(generatedValue, "strategy") : "null",
+                    generated ? stringLiteral(getAttribute(generatedValue, "generator")) : "null",
+                    generated ? getAttribute(generatedValue, "allocationSize") : "0",
+                    hasAnnotation(field, ANNOTATION_PACKAGE + "MapsId"),
+                    relatedEntityType == null ? "null" : classLiteral(relatedEntityType),
+                    oneToMany == null ? "null" : stringLiteral(getAttribute(oneToMany, "mappedBy")),
+                    oneToMany == null ? "null" : enumConstant(oneToMany, "fetchType"),
+                    i < fields.size() - 1 ? "," : "");
+        }
+        out.println("));");
+        out.println("    }");
+    }
+
+    private PropertyKind getPropertyKind(VariableElement field) {
+        if (hasAnnotation(field, ANNOTATION_PACKAGE + "ManyToOne")
+                || hasAnnotation(field, ANNOTATION_PACKAGE + "OneToOne")) {
+            return PropertyKind.TO_ONE;
+        }
+        return hasAnnotation(field, ANNOTATION_PACKAGE + "OneToMany") ? PropertyKind.TO_MANY : PropertyKind.BASIC;
+    }
+
+    private static TypeMirror getCollectionElementType(VariableElement field) {
+        if (field.asType() instanceof DeclaredType type && !type.getTypeArguments().isEmpty()) {
+            var elementType = type.getTypeArguments().get(0);
+            return elementType.getKind() == TypeKind.DECLARED ? elementType : null;
+        }
+        return null;
+    }
+
+    private String classLiteral(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString() + ".class";
+    }
+
+    private Object getAttribute(AnnotationMirror annotation, String name) {
+        return processingEnv.getElementUtils().getElementValuesWithDefaults(annotation).entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals(name))
+                .map(entry -> entry.getValue().getValue())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private String enumConstant(AnnotationMirror annotation, String name) {
+        var constant = (VariableElement) getAttribute(annotation, name);
+        return ((TypeElement) constant.getEnclosingElement()).getQualifiedName() + "." + constant.getSimpleName();
+    }
+
+    private static String stringLiteral(Object value) {
+        return "\"" + escape(value.toString()) + "\"";
+    }
+
+    private void printAccessor(PrintWriter out, String entityName, VariableElement field, String getter,
+                               String setter) {
+        TypeMirror type = field.asType();
+        var typeName = processingEnv.getTypeUtils().erasure(type).toString();
+        var castType = type.getKind().isPrimitive()
+                ? processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(
+                type.getKind())).getQualifiedName().toString()
+                : typeName;
+        var target = "((" + entityName + ") entity)";
+        out.printf("                return new %s() {%n", ACCESSOR_TYPE);
+        out.println("                    @Override");
+        out.println("                    public Object get(Object entity) {");
+        out.printf("                        return %s;%n", String.format(getter, target));
+        out.println("                    }");
+        out.println();
+        out.println("                    @Override");
+        out.println("                    public void set(Object entity, Object value) {");
+        out.printf("                        %s;%n", String.format(setter, target, "(" + castType + ") value"));
+        out.println("                    }");
+        if (PRIMITIVE_ACCESSOR_TYPES.contains(type.getKind())) {
+            var methodSuffix = Character.toUpperCase(typeName.charAt(0)) + typeName.substring(1);
+            out.println();
+            out.println("                    @Override");
+            out.printf("                    public %s get%s(Object entity) {%n", typeName, methodSuffix);
+            out.printf("                        return %s;%n", String.format(getter, target));
+            out.println("                    }");
+            out.println();
+            out.println("                    @Override");
+            out.printf("                    public void set%s(Object entity, %s value) {%n", methodSuffix, typeName);
+            out.printf("                        %s;%n", String.format(setter, target, "value"));
+            out.println("                    }");
+        }
+        out.println("                };");
+    }
+
+    /**
+     * Builds a format string that reads the field value, with the entity expression as the only argument.
+     */
+    private String getReadExpression(TypeElement entity, VariableElement field) {
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return "%s." + field.getSimpleName();
+        }
+        var getterName = getGetterName(field);
+        boolean declared = ElementFilter.methodsIn(entity.getEnclosedElements()).stream()
+                .anyMatch(method -> isAccessibleMethod(method, getterName) && method.getParameters().isEmpty()
+                        && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType()));
+        if (declared || hasLombokAccessor(entity, field, "Getter")) {
+            return "%s." + getterName + "()";
+        }
+        return null;
+    }
+
+    /**
+     * Builds a format string that writes the field value, with the entity and the value expressions as arguments.
+     */
+    private String getWriteStatement(TypeElement entity, VariableElement field) {
+        boolean isFinal = field.getModifiers().contains(Modifier.FINAL);
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return isFinal ? null : "%s." + field.getSimpleName() + " = %s";
+        }
+        var setterName = getSetterName(field);
+        boolean declared = ElementFilter.methodsIn(entity.getEnclosedElements()).stream()
+                .anyMatch(method -> isAccessibleMethod(method, setterName) && method.getParameters().size() == 1
+                        && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(),
+                        field.asType()));
+        if (declared || !isFinal && hasLombokAccessor(entity, field, "Setter")) {
+            return "%s." + setterName + "(%s)";
+        }
+        return null;
+    }
+
+    private static boolean isAccessibleMethod(ExecutableElement method, String name) {
+        return method.getSimpleName().contentEquals(name) && !method.getModifiers().contains(Modifier.PRIVATE)
+                && !method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private static String getGetterName(VariableElement field) {
+        var name = field.getSimpleName().toString();
+        if (field.asType().getKind() == TypeKind.BOOLEAN) {
+            return hasIsPrefix(name) ? name : "is" + capitalize(name);
+        }
+        return "get" + capitalize(name);
+    }
+
+    private static String getSetterName(VariableElement field) {
+        var name = field.getSimpleName().toString();
+        if (field.asType().getKind() == TypeKind.BOOLEAN && hasIsPrefix(name)) {
+            return "set" + name.substring(2);
+        }
+        return "set" + capitalize(name);
+    }
+
+    private static boolean hasIsPrefix(String name) {
+        return name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+    }
+
+    private boolean hasLombokAccessor(TypeElement entity, VariableElement field, String kind) {
+        var fieldAnnotation = findAnnotation(field, LOMBOK_PACKAGE + kind);
+        if (fieldAnnotation != null) {
+            return isPublicOrPackageAccessLevel(fieldAnnotation);
+        }
+        var classAnnotation = findAnnotation(entity, LOMBOK_PACKAGE + kind);
+        if (classAnnotation != null) {
+            return isPublicOrPackageAccessLevel(classAnnotation);
+        }
+        return findAnnotation(entity, LOMBOK_PACKAGE + "Data") != null;
+    }
+
+    private static boolean isPublicOrPackageAccessLevel(AnnotationMirror annotation) {
+        return annotation.getElementValues().entrySet().stream()
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals("value"))
+                .map(entry -> entry.getValue().getValue().toString())
+                .noneMatch(level -> level.equals("PRIVATE") || level.equals("NONE"));
+    }
+
+    private boolean hasAccessibleNoArgConstructor(TypeElement entity) {
+        if (entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(entity.getEnclosedElements());
+        boolean declared = constructors.stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        if (declared || findAnnotation(entity, LOMBOK_PACKAGE + "NoArgsConstructor") != null) {
+            return true;
+        }
+        // javac adds the default constructor before annotation processing, Lombok adds its constructors later
+        boolean onlyDefaultConstructor = constructors.stream().allMatch(constructor ->
+                constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        boolean lombokConstructor = findAnnotation(entity, LOMBOK_PACKAGE + "AllArgsConstructor") != null
+                || findAnnotation(entity, LOMBOK_PACKAGE + "RequiredArgsConstructor") != null
+                || findAnnotation(entity, LOMBOK_PACKAGE + "Builder") != null
+                || findAnnotation(entity, LOMBOK_PACKAGE + "Value") != null;
+        return onlyDefaultConstructor && !lombokConstructor;
+    }
+
+    private static boolean isAccessibleFromPackage(TypeElement entity) {
+        Element element = entity;
+        while (element instanceof TypeElement type) {
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            element = type.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private String getTableName(TypeElement entity) {
+        var table = getAnnotationValue(entity, ANNOTATION_PACKAGE + "Table");
+        return table != null ? table : entity.getSimpleName().toString();
+    }
+
+    private String getColumnName(VariableElement field) {
+        boolean relation = hasAnnotation(field, ANNOTATION_PACKAGE + "ManyToOne")
+                || hasAnnotation(field, ANNOTATION_PACKAGE + "OneToOne")
+                || hasAnnotation(field, ANNOTATION_PACKAGE + "OneToMany");
+        if (relation) {
+            var joinColumn = getAnnotationValue(field, ANNOTATION_PACKAGE + "JoinColumn");
+            return joinColumn != null ? joinColumn : field.getSimpleName() + "_id";
+        }
+        var column = getAnnotationValue(field, ANNOTATION_PACKAGE + "Column");
+        return column != null ? column : field.getSimpleName().toString();
+    }
+
+    private static String getAnnotationValue(Element element, String annotationName) {
+        var annotation = findAnnotation(element, annotationName);
+        if (annotation == null) {
+            return null;
+        }
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return entry.getValue().getValue().toString();
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return findAnnotation(element, annotationName) != null;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            var type = (TypeElement) annotation.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private String getPackageName(TypeElement entity) {
+        return processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+    }
+
+    private String getFlatName(TypeElement entity) {
+        var binaryName = processingEnv.getElementUtils().getBinaryName(entity).toString();
+        var packageName = getPackageName(entity);
+        var simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return simpleBinaryName.replace('$', '_');
+    }
+
+    private PrintWriter openSource(TypeElement entity, String packageName, String className) throws IOException {
+        var qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, entity).openWriter();
+        var out = new PrintWriter(writer);
+        if (!packageName.isEmpty()) {
+            out.printf("package %s;%n%n", packageName);
+        }
+        return out;
+    }
+
+    private void printGenerated(PrintWriter out) {
+        out.printf("@javax.annotation.processing.Generated(\"%s\")%n", EntityProcessor.class.getName());
+    }
+
+    private void note(Element element, String format, Object... args) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, String.format(format, args), element);
+    }
+
+    private static String toConstantName(String propertyName) {
+        return propertyName.chars()
+                .mapToObj(c -> Character.isUpperCase(c) ? "_" + (char) c : String.valueOf((char) c))
+                .collect(Collectors.joining())
+                .toUpperCase();
+    }
+
+    private static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,29 @@
+package com.petros.bibernate.query;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes all rows matching the criteria with a single {@code DELETE} statement.
+ *
+ * @param <T> the entity type
+ * @see com.petros.bibernate.session.Session#createDelete(Class)
+ */
+public class DeleteQuery<T> extends MutationQuery<T, DeleteQuery<T>> {
+    private final ToIntFunction<DeleteQuery<T>> executor;
+
+    /**
+     * Creates a delete query.
+     *
+     * @param entityClass the entity class whose rows are deleted
+     * @param executor    executes the query and returns the number of deleted rows
+     */
+    public DeleteQuery(Class<T> entityClass, ToIntFunction<DeleteQuery<T>> executor) {
+        super(entityClass);
+        this.executor = executor;
+    }
+
+    @Override
+    public int executeUpdate() {
+        return executor.applyAsInt(this);
+    }
+}
@@ -0,0 +1,59 @@
+package com.petros.bibernate.query;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A set-based statement on the table of an entity class that is executed without loading the entities. The rows are
+ * selected by equality criteria on entity properties, joined with {@code AND}. A null criterion value matches the
+ * rows whose column is {@code NULL}, and the value of a relation property is the related entity or its id. Without
+ * criteria the statement affects all rows of the table.
+ *
+ * @param <T> the entity type
+ * @param <Q> the type of the query, returned by the fluent methods
+ * @see UpdateQuery
+ * @see DeleteQuery
+ */
+public abstract class MutationQuery<T, Q extends MutationQuery<T, Q>> {
+    @Getter
+    private final Class<T> entityClass;
+    private final Map<String, Object> criteria = new LinkedHashMap<>();
+
+    protected MutationQuery(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * Restricts the statement to the rows whose column of the given property is equal to the value. A criterion on
+     * the same property replaces the previous one.
+     *
+     * @param property the name of the entity field
+     * @param value    the value to compare with
+     * @return this query
+     */
+    @SuppressWarnings("unchecked")
+    public Q where(String property, Object value) {
+        criteria.put(property, value);
+        return (Q) this;
+    }
+
+    /**
+     * Retrieves the criteria of this query in the order they were added.
+     *
+     * @return the criterion values by property name
+     */
+    public Map<String, Object> getCriteria() {
+        return Collections.unmodifiableMap(criteria);
+    }
+
+    /**
+     * Executes the statement. Pending changes of the session are flushed first.
+     *
+     * @return the number of affected rows
+     * @throws com.petros.bibernate.exception.BibernateException if the query is invalid or could not be executed
+     */
+    public abstract int executeUpdate();
+}
@@ -0,0 +1,54 @@
+package com.petros.bibernate.query;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Updates the columns of all rows matching the criteria with a single {@code UPDATE} statement.
+ *
+ * @param <T> the entity type
+ * @see com.petros.bibernate.session.Session#createUpdate(Class)
+ */
+public class UpdateQuery<T> extends MutationQuery<T, UpdateQuery<T>> {
+    private final Map<String, Object> assignments = new LinkedHashMap<>();
+    private final ToIntFunction<UpdateQuery<T>> executor;
+
+    /**
+     * Creates an update query.
+     *
+     * @param entityClass the entity class whose table is updated
+     * @param executor    executes the query and returns the number of updated rows
+     */
+    public UpdateQuery(Class<T> entityClass, ToIntFunction<UpdateQuery<T>> executor) {
+        super(entityClass);
+        this.executor = executor;
+    }
+
+    /**
+     * Sets the column of the given property to the value. Setting the same property again replaces the value.
+     *
+     * @param property the name of an updatable entity field
+     * @param value    the new value, the related entity or its id for relation properties
+     * @return this query
+     */
+    public UpdateQuery<T> set(String property, Object value) {
+        assignments.put(property, value);
+        return this;
+    }
+
+    /**
+     * Retrieves the new values of this query in the order they were set.
+     *
+     * @return the new values by property name
+     */
+    public Map<String, Object> getAssignments() {
+        return Collections.unmodifiableMap(assignments);
+    }
+
+    @Override
+    public int executeUpdate() {
+        return executor.applyAsInt(this);
+    }
+}
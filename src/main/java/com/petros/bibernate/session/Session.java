@@ -1,7 +1,10 @@
 package com.petros.bibernate.session;
 
 import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.query.DeleteQuery;
+import com.petros.bibernate.query.UpdateQuery;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -46,6 +49,31 @@ public interface Session extends AutoCloseable {
      */
     <T> void persist(T object);
 
+    /**
+     * Insert the entity or, if a row with its id already exists, overwrite the row with the state of the entity. The
+     * row is written on flush with a single statement, so there is no need to find the entity first. Afterwards the
+     * entity is persistent.
+     * <p/>
+     * Ids generated before insert are generated if missing. Ids of other entities must be set; the database must
+     * accept explicit values for the id column. Entities with identity ids can only be upserted if the dialect
+     * {@link com.petros.bibernate.dialect.Dialect#supportsIdentityUpsert() supports} it.
+     *
+     * @param entity the entity to insert or update
+     * @throws BibernateException if the entity has no id, its identity id cannot be upserted, or another instance
+     *                            with the same id is persistent
+     */
+    <T> void upsert(T entity);
+
+    /**
+     * Upsert all given entities, see {@link #upsert(Object)}. Upserts of entities of the same class are sent in
+     * JDBC batches when batching is enabled.
+     *
+     * @param entities the entities to insert or update
+     */
+    default <T> void upsertAll(Collection<T> entities) {
+        entities.forEach(this::upsert);
+    }
+
     /**
      * Find by primary key.
      * Search for an entity of the specified class and primary key.
@@ -70,7 +98,8 @@ public interface Session extends AutoCloseable {
     <T> List<T> findAll(Class<T> entityClass);
 
     /**
-     * Remove the entity instance.
+     * Remove the entity instance. If the entity was persisted in this session and has not been flushed yet, neither
+     * its insert nor its delete is executed.
      *
      * @param entity entity instance
      * @throws IllegalArgumentException if the instance is not an
@@ -78,6 +107,34 @@ public interface Session extends AutoCloseable {
      */
     <T> void remove(T entity);
 
+    /**
+     * Create a set-based update of the rows of the entity table, e.g.
+     * <pre>{@code
+     * int updated = session.createUpdate(Product.class)
+     *         .set("isAvailable", false)
+     *         .where("producer", "Super factory")
+     *         .executeUpdate();
+     * }</pre>
+     * The statement is executed without loading the entities. Pending changes are flushed before it, and the
+     * entities of the class are evicted from the persistence context after it, so they are read again on the next
+     * lookup.
+     *
+     * @param entityClass entity class
+     * @return the update query
+     */
+    <T> UpdateQuery<T> createUpdate(Class<T> entityClass);
+
+    /**
+     * Create a set-based delete of the rows of the entity table. The statement is executed without loading the
+     * entities. Pending changes are flushed before it, and the entities of the class are evicted from the
+     * persistence context after it.
+     *
+     * @param entityClass entity class
+     * @return the delete query
+     * @see #createUpdate(Class)
+     */
+    <T> DeleteQuery<T> createDelete(Class<T> entityClass);
+
     /**
      * End the session by releasing the JDBC connection and cleaning up.
      *
@@ -25,13 +25,31 @@ public interface SessionFactory extends AutoCloseable {
      */
     Session openSession();
 
+    /**
+     * Open a {@link StatelessSession} for bulk operations that bypass the persistence context.
+     *
+     * @return The created stateless session.
+     */
+    StatelessSession openStatelessSession();
+
+    /**
+     * Get the {@link WriteBehindSession} of this factory. It is created with the write-behind settings of the
+     * configuration on the first call and shared by all callers afterwards.
+     *
+     * @return The write-behind session.
+     * @throws com.petros.bibernate.exception.BibernateException Indicates the factory is closed or the entities left in
+     * the write-behind journal could not be read.
+     */
+    WriteBehindSession getWriteBehindSession();
+
     /**
      * Destroy this <tt>SessionFactory</tt> and release all resources (caches,
      * connection pools, etc).
      * <p/>
      * It is the responsibility of the application to ensure that there are no
      * open {@link Session sessions} before calling this method as the impact
-     * on those {@link Session sessions} is indeterminate.
+     * on those {@link Session sessions} is indeterminate. The {@link WriteBehindSession} is closed first, so its
+     * buffered entities are written.
      * <p/>
      * No-ops if already {@link #isClosed closed}.
      *
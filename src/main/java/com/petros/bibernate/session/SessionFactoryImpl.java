@@ -2,11 +2,37 @@ package com.petros.bibernate.session;
 
 import com.petros.bibernate.config.Configuration;
 import com.petros.bibernate.config.ConfigurationImpl;
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.dao.InsertStrategy;
 import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.dialect.DialectResolver;
 import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.IdGeneratorRegistry;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.EntityScanner;
+import com.petros.bibernate.type.TypeConverterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
 import static com.petros.bibernate.config.Configuration.DEFAULT_CONNECTION_POOL_SIZE;
+import static com.petros.bibernate.config.Configuration.DEFAULT_WRITE_BEHIND_BUFFER_SIZE;
+import static com.petros.bibernate.config.Configuration.DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL;
+import static com.petros.bibernate.config.Configuration.DEFAULT_WRITE_BEHIND_FLUSH_SIZE;
+import static com.petros.bibernate.config.Configuration.DIALECT;
+import static com.petros.bibernate.config.Configuration.ENTITIES;
+import static com.petros.bibernate.config.Configuration.ID_NODE_ID;
+import static com.petros.bibernate.config.Configuration.JDBC_INSERT_STRATEGY;
+import static com.petros.bibernate.config.Configuration.METADATA_SNAPSHOT;
+import static com.petros.bibernate.config.Configuration.TYPE_CONVERTERS;
+import static com.petros.bibernate.config.Configuration.WRITE_BEHIND_BUFFER_SIZE;
+import static com.petros.bibernate.config.Configuration.WRITE_BEHIND_FLUSH_INTERVAL;
+import static com.petros.bibernate.config.Configuration.WRITE_BEHIND_FLUSH_SIZE;
+import static com.petros.bibernate.config.Configuration.WRITE_BEHIND_JOURNAL;
+import static java.util.function.Predicate.not;
 
 @Slf4j
 public class SessionFactoryImpl implements SessionFactory {
@@ -14,6 +40,10 @@ public class SessionFactoryImpl implements SessionFactory {
     private static final String DEFAULT_PROPERTIES_PATH = "src/main/resources/application.properties";
     private final Configuration configuration;
     private final BibernateDataSource dataSource;
+    private final EntityMetadataRegistry metadataRegistry = new EntityMetadataRegistry();
+    private final EntityPersister entityPersister;
+    private final IdGeneratorRegistry idGeneratorRegistry;
+    private WriteBehindSession writeBehindSession;
     private boolean closed = false;
     public SessionFactoryImpl() {
         this(DEFAULT_PROPERTIES_PATH);
@@ -22,28 +52,125 @@ public class SessionFactoryImpl implements SessionFactory {
     public SessionFactoryImpl(String configPath) {
         this.configuration = new ConfigurationImpl(configPath);
         this.dataSource = new BibernateDataSource(configuration.getUrl(), configuration.getUsername(),
-                configuration.getPassword(), configuration.getConnectionPoolSize());
+                configuration.getPassword(), configuration.getConnectionPoolSize(),
+                configuration.getStatementCacheSize());
+        this.entityPersister = new EntityPersister(metadataRegistry, resolveDialect(configuration.getUrl()),
+                resolveInsertStrategy(), configuration.showSql());
+        this.idGeneratorRegistry = new IdGeneratorRegistry(dataSource, entityPersister.getDialect(), resolveNodeId());
+        registerTypeConverters();
+        buildMetadata();
     }
 
     public SessionFactoryImpl(String url, String username, String password) {
         this.configuration = new ConfigurationImpl(DEFAULT_PROPERTIES_PATH);
-        this.dataSource = new BibernateDataSource(url, username, password, DEFAULT_CONNECTION_POOL_SIZE);
+        this.dataSource = new BibernateDataSource(url, username, password, DEFAULT_CONNECTION_POOL_SIZE,
+                configuration.getStatementCacheSize());
+        this.entityPersister = new EntityPersister(metadataRegistry, resolveDialect(url), resolveInsertStrategy(),
+                configuration.showSql());
+        this.idGeneratorRegistry = new IdGeneratorRegistry(dataSource, entityPersister.getDialect(), resolveNodeId());
+        registerTypeConverters();
+        buildMetadata();
+    }
+
+    private Dialect resolveDialect(String url) {
+        return configuration.getProperty(DIALECT)
+                .map(String::trim)
+                .map(DialectResolver::create)
+                .orElseGet(() -> DialectResolver.resolve(url));
+    }
+
+    private InsertStrategy resolveInsertStrategy() {
+        return configuration.getProperty(JDBC_INSERT_STRATEGY)
+                .map(InsertStrategy::fromPropertyValue)
+                .orElse(InsertStrategy.BATCH);
+    }
+
+    private int resolveNodeId() {
+        return resolveInt(ID_NODE_ID, 0);
+    }
+
+    private int resolveInt(String key, int defaultValue) {
+        return configuration.getProperty(key)
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .orElse(defaultValue);
+    }
+
+    private void registerTypeConverters() {
+        getTypeConverterRegistry().registerDialectConverters(entityPersister.getDialect());
+        configuration.getProperty(TYPE_CONVERTERS).ifPresent(converters -> Arrays.stream(converters.split(","))
+                .map(String::trim)
+                .filter(not(String::isEmpty))
+                .forEach(getTypeConverterRegistry()::register));
+    }
+
+    private void buildMetadata() {
+        configuration.getProperty(ENTITIES).ifPresent(entities -> {
+            var entityClasses = new EntityScanner().scan(Arrays.stream(entities.split(","))
+                    .map(String::trim)
+                    .filter(not(String::isEmpty))
+                    .toList());
+            var snapshot = configuration.getProperty(METADATA_SNAPSHOT).map(Path::of);
+            int restored = snapshot.map(path -> metadataRegistry.restoreSnapshot(path, entityClasses)).orElse(0);
+            metadataRegistry.build(entityClasses);
+            if (snapshot.isPresent() && restored < entityClasses.size()) {
+                metadataRegistry.writeSnapshot(snapshot.get());
+            }
+        });
     }
 
     public Configuration getConfiguration() {
         return configuration;
     }
 
+    public EntityMetadataRegistry getMetadataRegistry() {
+        return metadataRegistry;
+    }
+
+    public Dialect getDialect() {
+        return entityPersister.getDialect();
+    }
+
+    public TypeConverterRegistry getTypeConverterRegistry() {
+        return metadataRegistry.getTypeConverterRegistry();
+    }
+
     @Override
     public Session openSession() {
         log.info("Opening new Session.");
-        return new SessionImpl(dataSource, configuration);
+        return new SessionImpl(dataSource, entityPersister, idGeneratorRegistry, configuration.getBatchSize());
+    }
+
+    @Override
+    public StatelessSession openStatelessSession() {
+        log.info("Opening new StatelessSession.");
+        return new StatelessSessionImpl(dataSource, entityPersister, idGeneratorRegistry,
+                configuration.getBatchSize());
+    }
+
+    @Override
+    public synchronized WriteBehindSession getWriteBehindSession() {
+        if (closed) {
+            throw new BibernateException("SessionFactory is closed");
+        }
+        if (writeBehindSession == null) {
+            log.info("Opening write-behind session.");
+            writeBehindSession = new WriteBehindSessionImpl(dataSource, entityPersister, idGeneratorRegistry,
+                    resolveInt(WRITE_BEHIND_BUFFER_SIZE, DEFAULT_WRITE_BEHIND_BUFFER_SIZE),
+                    resolveInt(WRITE_BEHIND_FLUSH_SIZE, DEFAULT_WRITE_BEHIND_FLUSH_SIZE),
+                    Duration.ofMillis(resolveInt(WRITE_BEHIND_FLUSH_INTERVAL, DEFAULT_WRITE_BEHIND_FLUSH_INTERVAL)),
+                    configuration.getProperty(WRITE_BEHIND_JOURNAL).map(String::trim).map(Path::of).orElse(null));
+        }
+        return writeBehindSession;
     }
 
     @Override
-    public void close() throws BibernateException {
+    public synchronized void close() throws BibernateException {
         log.info("Closing SessionFactory.");
         closed = true;
+        if (writeBehindSession != null) {
+            writeBehindSession.close();
+        }
         dataSource.close();
     }
 
@@ -1,18 +1,25 @@
 package com.petros.bibernate.session;
 
+import com.petros.bibernate.action.ActionQueue;
 import com.petros.bibernate.action.DeleteEntityAction;
-import com.petros.bibernate.action.EntityAction;
 import com.petros.bibernate.action.InsertEntityAction;
 import com.petros.bibernate.action.UpdateEntityAction;
+import com.petros.bibernate.action.UpsertEntityAction;
 import com.petros.bibernate.annotation.FetchType;
-import com.petros.bibernate.annotation.OneToMany;
 import com.petros.bibernate.config.Configuration;
 import com.petros.bibernate.dao.EntityPersister;
 import com.petros.bibernate.dao.lazy.LazyList;
+import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.Dialect;
 import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.IdGeneratorRegistry;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.PropertyMetadata;
+import com.petros.bibernate.query.DeleteQuery;
+import com.petros.bibernate.query.UpdateQuery;
+import com.petros.bibernate.session.context.DirtyEntity;
 import com.petros.bibernate.session.context.PersistenceContext;
 import com.petros.bibernate.session.context.PersistenceContextImpl;
-import com.petros.bibernate.util.EntityUtil;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.sql.DataSource;
@@ -21,8 +28,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
-import java.util.Queue;
+import java.util.function.IntSupplier;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
@@ -37,43 +43,63 @@ public class SessionImpl implements Session {
     private final Transaction transaction;
     private final DataSource dataSource;
     private final EntityPersister entityPersister;
-    private final Queue<EntityAction> actionQueue;
+    private final EntityMetadataRegistry metadataRegistry;
+    private final IdGeneratorRegistry idGeneratorRegistry;
+    private final ActionQueue actionQueue;
     private final PersistenceContext persistenceContext;
     private boolean isOpened = true;
     private Connection connection;
 
     public SessionImpl(DataSource dataSource, Configuration configuration) {
-        log.info("Creating SessionImpl instance with dataSource and configuration");
-        this.entityPersister = new EntityPersister(configuration.showSql());
-        this.dataSource = dataSource;
-        this.persistenceContext = new PersistenceContextImpl();
-        this.actionQueue = new PriorityQueue<>(Comparator.comparing(EntityAction::priority));
-        this.transaction = new TransactionImpl(this);
+        this(dataSource, new EntityPersister(configuration.showSql()), configuration.getBatchSize());
     }
 
     public SessionImpl(DataSource dataSource, EntityPersister entityPersister) {
+        this(dataSource, entityPersister, Configuration.DEFAULT_BATCH_SIZE);
+    }
+
+    // sessions created without a factory share the id generators of a BibernateDataSource, other data sources need
+    // the registry to be passed in to share them
+    private SessionImpl(DataSource dataSource, EntityPersister entityPersister, int batchSize) {
+        this(dataSource, entityPersister, idGeneratorRegistry(dataSource, entityPersister.getDialect()), batchSize);
+    }
+
+    public SessionImpl(DataSource dataSource, EntityPersister entityPersister, IdGeneratorRegistry idGeneratorRegistry,
+                       int batchSize) {
         log.info("Creating SessionImpl instance with dataSource and entityPersister");
         this.entityPersister = entityPersister;
+        this.idGeneratorRegistry = idGeneratorRegistry;
+        this.metadataRegistry = entityPersister.getMetadataRegistry();
         this.dataSource = dataSource;
-        this.persistenceContext = new PersistenceContextImpl();
-        this.actionQueue = new PriorityQueue<>(Comparator.comparing(EntityAction::priority));
+        this.persistenceContext = new PersistenceContextImpl(metadataRegistry);
+        this.actionQueue = new ActionQueue(batchSize);
         this.transaction = new TransactionImpl(this);
     }
 
+    private static IdGeneratorRegistry idGeneratorRegistry(DataSource dataSource, Dialect dialect) {
+        return dataSource instanceof BibernateDataSource bibernateDataSource
+                ? bibernateDataSource.getIdGeneratorRegistry(dialect)
+                : new IdGeneratorRegistry(dataSource, dialect);
+    }
+
     @Override
     public void flush() throws BibernateException {
         openConnection();
         log.info("Flushing session");
         requireOpenSession();
         try {
-            persistenceContext.getSnapshotDiff().forEach(entity -> actionQueue.add(new UpdateEntityAction(entityPersister,
-                    entity)));
+            // dirty entities come in no particular order, grouping them by class and changed properties lets their
+            // updates be batched
+            persistenceContext.getDirtyEntities().stream()
+                    .sorted(Comparator.comparing((DirtyEntity dirty) -> dirty.entity().getClass().getName())
+                            .thenComparing(dirty -> dirty.dirtyProperties().toString()))
+                    .forEach(dirty -> actionQueue.add(
+                            new UpdateEntityAction(entityPersister, dirty.entity(), dirty.dirtyProperties())));
             if (actionQueue.isEmpty()) {
                 return;
             }
             setAutoCommitIfTxOpen(FALSE);
-            actionQueue.forEach(action -> action.execute(connection, persistenceContext));
-            actionQueue.clear();
+            actionQueue.executeActions(connection, persistenceContext);
             connection.commit();
             setAutoCommitIfTxOpen(TRUE);
         } catch (Exception ex) {
@@ -102,12 +128,50 @@ public class SessionImpl implements Session {
         requireOpenSession();
         requireOpenTransaction();
         requireTransientState(entity);
+        generateId(entity);
         actionQueue.add(InsertEntityAction.builder()
                 .entity(entity)
                 .persister(entityPersister)
                 .build());
     }
 
+    @Override
+    public <T> void upsert(T entity) {
+        log.trace("Upserting entity of class {}", entity.getClass());
+        requireOpenSession();
+        requireOpenTransaction();
+        if (metadataRegistry.getMetadata(entity.getClass()).getIdProperty().isGeneratedId()
+                && !entityPersister.getDialect().supportsIdentityUpsert()) {
+            throw new BibernateException(format("Entity %s with an identity id cannot be upserted with %s",
+                    entity.getClass(), entityPersister.getDialect().getClass().getSimpleName()));
+        }
+        generateId(entity);
+        var id = getIdValue(entity);
+        if (id == null) {
+            throw new BibernateException(format("Entity %s must have an id to be upserted", entity.getClass()));
+        }
+        persistenceContext.getCachedEntity(entity.getClass(), id)
+                .filter(cached -> cached != entity)
+                .ifPresent(cached -> {
+                    throw new BibernateException(format("Another instance of entity %s with id [%s] is already " +
+                            "associated with persistence context", entity.getClass(), id));
+                });
+        actionQueue.add(UpsertEntityAction.builder()
+                .entity(entity)
+                .persister(entityPersister)
+                .build());
+    }
+
+    // ids that are not generated by the database are assigned right away, so the entity is managed before the flush
+    private <T> void generateId(T entity) {
+        var metadata = metadataRegistry.getMetadata(entity.getClass());
+        var idProperty = metadata.getIdProperty();
+        if (idProperty.isGeneratedBeforeInsert() && idProperty.getValue(entity) == null) {
+            idProperty.setValue(entity, idGeneratorRegistry.getGenerator(metadata).generate());
+            persistenceContext.cache(entity);
+        }
+    }
+
     @Override
     public <T> T find(Class<T> entityClass, Object primaryKey) {
         log.trace("Finding entity of class {} with primary key {}", entityClass, primaryKey);
@@ -116,7 +180,9 @@ public class SessionImpl implements Session {
         return persistenceContext.getCachedEntity(entityClass, primaryKey)
                 .orElseGet(() -> {
                     T entity = persistenceContext.cache(entityPersister.findById(entityClass, primaryKey, connection));
-                    initializeRelations(entityClass, entity);
+                    if (entity != null) {
+                        initializeRelations(entityClass, entity);
+                    }
                     return entity;
                 });
     }
@@ -127,9 +193,10 @@ public class SessionImpl implements Session {
             throw new BibernateException(format("Could not lazily initialize field [%s] of class [%s]", field,
                     entityClass));
         }
+        var metadata = metadataRegistry.getMetadata(entityClass);
         return entityPersister.findAll(entityClass, field, fieldValue, connection).stream()
                 .map(entity ->
-                        persistenceContext.getCachedEntity(entityClass, EntityUtil.getIdValue(entity))
+                        persistenceContext.getCachedEntity(entityClass, metadata.getIdValue(entity))
                                 .orElseGet(() -> persistenceContext.cache(entity)))
                 .toList();
     }
@@ -147,13 +214,55 @@ public class SessionImpl implements Session {
         log.trace("Removing entity of class {}", entity.getClass());
         requireOpenSession();
         requireOpenTransaction();
-        requirePersistentState(entity);
+        if (!actionQueue.containsInsert(entity)) {
+            requirePersistentState(entity);
+        }
         actionQueue.add(DeleteEntityAction.builder()
                 .entity(entity)
                 .persister(entityPersister)
                 .build());
     }
 
+    @Override
+    public <T> UpdateQuery<T> createUpdate(Class<T> entityClass) {
+        requireOpenSession();
+        return new UpdateQuery<>(entityClass, query -> executeBulk(entityClass,
+                () -> entityPersister.updateWhere(entityClass, query.getAssignments(), query.getCriteria(),
+                        connection)));
+    }
+
+    @Override
+    public <T> DeleteQuery<T> createDelete(Class<T> entityClass) {
+        requireOpenSession();
+        return new DeleteQuery<>(entityClass, query -> executeBulk(entityClass,
+                () -> entityPersister.deleteWhere(entityClass, query.getCriteria(), connection)));
+    }
+
+    // the statement bypasses the persistence context, so the managed entities of the class may be stale afterwards
+    // and are evicted
+    private int executeBulk(Class<?> entityClass, IntSupplier statement) {
+        log.trace("Executing bulk statement on entities of class {}", entityClass);
+        requireOpenSession();
+        requireOpenTransaction();
+        flush();
+        setAutoCommitIfTxOpen(FALSE);
+        try {
+            int rowsAffected = statement.getAsInt();
+            connection.commit();
+            setAutoCommitIfTxOpen(TRUE);
+            persistenceContext.evictAll(entityClass);
+            return rowsAffected;
+        } catch (Exception ex) {
+            try {
+                connection.rollback();
+                setAutoCommitIfTxOpen(TRUE);
+                throw new BibernateException("Exception occurred during bulk statement", ex);
+            } catch (SQLException e) {
+                throw new BibernateException("Exception occurred during connection.rollback()", e);
+            }
+        }
+    }
+
     @Override
     public void close() {
         log.info("Closing session");
@@ -188,7 +297,7 @@ public class SessionImpl implements Session {
     // 1) entity id is null
     // 2) if entity id is not null, then persistence context should not contain an entity with such id
     private <T> void requireTransientState(T entity) {
-        ofNullable(EntityUtil.getIdValue(entity))
+        ofNullable(getIdValue(entity))
                 .ifPresent(id -> {
                     persistenceContext.getCachedEntity(entity.getClass(), id)
                             .ifPresent(e -> {
@@ -200,7 +309,7 @@ public class SessionImpl implements Session {
 
     // An entity is in persistent state only when the entity id is not null, and it is present in persistence context
     private <T> void requirePersistentState(T entity) {
-        ofNullable(EntityUtil.getIdValue(entity))
+        ofNullable(getIdValue(entity))
                 .flatMap(id -> persistenceContext.getCachedEntity(entity.getClass(), id))
                 .orElseThrow(() -> new BibernateException(format("Entity %s must be in persistent state (entity must " +
                         "be associated with persistence context)", entity.getClass())));
@@ -226,50 +335,53 @@ public class SessionImpl implements Session {
         }
     }
 
+    private Object getIdValue(Object entity) {
+        return metadataRegistry.getMetadata(entity.getClass()).getIdValue(entity);
+    }
+
     private <T> void initializeRelations(Class<T> entityClass, T entity) {
-        Field[] entityFields = EntityUtil.getEntityRelationFields(entityClass);
-        for (var entityField : entityFields) {
-            entityField.setAccessible(TRUE);
-            if (EntityUtil.isEntityField(entityField)) {
-                initializeEntityRelation(entity, entityField);
-            } else if (EntityUtil.isEntityCollectionField(entityField)) {
-                initializeCollectionRelation(entity, entityField);
+        for (var property : metadataRegistry.getMetadata(entityClass).getRelationProperties()) {
+            if (property.isToOne()) {
+                initializeEntityRelation(entity, property);
+            } else if (property.isToMany()) {
+                initializeCollectionRelation(entity, property);
             }
         }
     }
 
-    private <T> void initializeEntityRelation(T entity, Field entityField) {
-        try {
-            var relatedEntity = entityField.get(entity);
-            var relatedEntityClass = entityField.getType();
-            var relatedEntityIdValue = EntityUtil.getIdValue(relatedEntity);
-            var initializedEntity = find(relatedEntityClass, relatedEntityIdValue);
-            entityField.set(entity, initializedEntity);
-        } catch (IllegalAccessException e) {
-            throw new BibernateException(format("Could not initialize field [%s] in entity [%s]", entityField,
-                    entity), e);
+    private <T> void initializeEntityRelation(T entity, PropertyMetadata property) {
+        var relatedEntity = property.getValue(entity);
+        if (relatedEntity == null) {
+            return;
+        }
+        var relatedEntityIdValue = getIdValue(relatedEntity);
+        var initializedEntity = find(property.getRelatedEntityType(), relatedEntityIdValue);
+        property.setValue(entity, initializedEntity);
+    }
+
+    private <T> void initializeCollectionRelation(T entity, PropertyMetadata property) {
+        var relatedEntityType = property.getRelatedEntityType();
+        var relatedEntityId = getIdValue(entity);
+        var relatedEntityField = getMappedByField(entity, property);
+        if (property.getFetchType().equals(FetchType.LAZY)) {
+            var relatedEntityCollection = new LazyList<T>(() -> findAll(relatedEntityType, relatedEntityField,
+                    relatedEntityId, connection));
+            property.setValue(entity, relatedEntityCollection);
+        } else {
+            var relatedEntityCollection = findAll(relatedEntityType, relatedEntityField, relatedEntityId,
+                    connection);
+            property.setValue(entity, relatedEntityCollection);
         }
     }
 
-    private <T> void initializeCollectionRelation(T entity, Field entityField) {
+    private <T> Field getMappedByField(T entity, PropertyMetadata property) {
         try {
-            var relatedEntityType = EntityUtil.getRelatedEntityType(entityField);
-            var relatedEntityId = EntityUtil.getIdValue(entity);
-            var ann = entityField.getAnnotation(OneToMany.class);
-            var relatedEntityField = relatedEntityType.getDeclaredField(ann.mappedBy());
-            var fetchType = ann.fetchType();
-            if (fetchType.equals(FetchType.LAZY)) {
-                var relatedEntityCollection = new LazyList<T>(() -> findAll(relatedEntityType, relatedEntityField,
-                        relatedEntityId, connection));
-                entityField.set(entity, relatedEntityCollection);
-            } else {
-                var relatedEntityCollection = findAll(relatedEntityType, relatedEntityField, relatedEntityId,
-                        connection);
-                entityField.set(entity, relatedEntityCollection);
-            }
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new BibernateException(format("Could not initialize field [%s] in entity [%s]", entityField,
-                    entity), e);
+            return metadataRegistry.getMetadata(property.getRelatedEntityType())
+                    .getProperty(property.getMappedBy())
+                    .getField();
+        } catch (BibernateException e) {
+            throw new BibernateException(format("Could not initialize field [%s] in entity [%s]",
+                    property.getField(), entity), e);
         }
     }
 
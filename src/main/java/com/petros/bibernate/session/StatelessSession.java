@@ -0,0 +1,87 @@
+package com.petros.bibernate.session;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.util.stream.Stream;
+
+/**
+ * A command-oriented API for bulk operations, such as imports and exports, that sends every operation straight to the
+ * database. There is no persistence context: entities are neither cached nor snapshotted, so {@link #update(Object)}
+ * must be called for every change and the memory used does not grow with the number of rows processed.<br>
+ * <br>
+ * Writes of the same kind and entity class are buffered and executed as a single JDBC batch of up to
+ * {@link com.petros.bibernate.config.Configuration#JDBC_BATCH_SIZE batch-size} statements. The buffer is executed
+ * when it is full, before a different kind of write or entity class, before reads and on {@link #flush()}. Without an
+ * open {@link #getTransaction() transaction} every batch is committed as soon as it is executed.<br>
+ * <br>
+ * Entities read by a <tt>StatelessSession</tt> are detached: their to-one relations only have the id of the related
+ * entity set and their to-many relations are not loaded.
+ *
+ * @see SessionFactory#openStatelessSession()
+ */
+public interface StatelessSession extends AutoCloseable {
+
+    /**
+     * Insert a row. Ids generated before insert are assigned right away, database generated ids are assigned when the
+     * batch the insert belongs to is executed.
+     *
+     * @param entity a new entity
+     */
+    <T> void insert(T entity);
+
+    /**
+     * Update the row of the entity with all its columns.
+     *
+     * @param entity a detached entity with an id
+     */
+    <T> void update(T entity);
+
+    /**
+     * Delete the row of the entity.
+     *
+     * @param entity a detached entity with an id
+     */
+    <T> void delete(T entity);
+
+    /**
+     * Read the entity with the given id. A new instance is returned on every call.
+     *
+     * @param entityClass entity class
+     * @param id          primary key
+     * @return the entity, or null if there is no row with the given id
+     */
+    <T> T get(Class<T> entityClass, Object id);
+
+    /**
+     * Stream all entities of the class. Rows are fetched and mapped as the stream is consumed, so they do not have to
+     * fit in memory. Some drivers, such as PostgreSQL, only fetch rows in chunks inside a transaction.
+     * <p/>
+     * The stream holds database resources and must be closed, preferably with a try-with-resources statement, before
+     * the session is closed.
+     *
+     * @param entityClass entity class
+     * @return a stream of detached entities
+     */
+    <T> Stream<T> stream(Class<T> entityClass);
+
+    /**
+     * Execute the buffered writes.
+     *
+     * @throws BibernateException Indicates problems talking to the database.
+     */
+    void flush();
+
+    /**
+     * Get the transaction of this session. Committing it executes the buffered writes first, rolling it back discards
+     * them.
+     *
+     * @return the transaction
+     */
+    Transaction getTransaction();
+
+    /**
+     * Execute the buffered writes and release the connection. A transaction that is still open is rolled back.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,268 @@
+package com.petros.bibernate.session;
+
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.IdGeneratorRegistry;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+
+/**
+ * Implementation of the {@link StatelessSession} interface. The only state it keeps is the connection and the buffer
+ * of writes that have not been executed yet, which holds the entities of a single batch.
+ */
+@Slf4j
+public class StatelessSessionImpl implements StatelessSession {
+    /**
+     * The number of rows fetched per round trip by {@link #stream(Class)} when batching is disabled.
+     */
+    static final int DEFAULT_FETCH_SIZE = 100;
+
+    private enum WriteKind {INSERT, UPDATE, DELETE}
+
+    private final DataSource dataSource;
+    private final EntityPersister entityPersister;
+    private final EntityMetadataRegistry metadataRegistry;
+    private final IdGeneratorRegistry idGeneratorRegistry;
+    private final int batchSize;
+    private final Transaction transaction = new StatelessTransaction();
+    private final List<Object> batch = new ArrayList<>();
+    private WriteKind batchKind;
+    private Class<?> batchClass;
+    private boolean isOpened = true;
+    private Connection connection;
+
+    public StatelessSessionImpl(DataSource dataSource, EntityPersister entityPersister,
+                                IdGeneratorRegistry idGeneratorRegistry, int batchSize) {
+        log.info("Creating StatelessSessionImpl instance with dataSource and entityPersister");
+        this.dataSource = dataSource;
+        this.entityPersister = entityPersister;
+        this.metadataRegistry = entityPersister.getMetadataRegistry();
+        this.idGeneratorRegistry = idGeneratorRegistry;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Override
+    public <T> void insert(T entity) {
+        log.trace("Inserting entity of class {}", entity.getClass());
+        requireOpenSession();
+        var metadata = metadataRegistry.getMetadata(entity.getClass());
+        var idProperty = metadata.getIdProperty();
+        if (idProperty.isGeneratedBeforeInsert() && idProperty.getValue(entity) == null) {
+            idProperty.setValue(entity, idGeneratorRegistry.getGenerator(metadata).generate());
+        }
+        addToBatch(WriteKind.INSERT, entity);
+    }
+
+    @Override
+    public <T> void update(T entity) {
+        log.trace("Updating entity of class {}", entity.getClass());
+        requireOpenSession();
+        requireId(entity);
+        addToBatch(WriteKind.UPDATE, entity);
+    }
+
+    @Override
+    public <T> void delete(T entity) {
+        log.trace("Deleting entity of class {}", entity.getClass());
+        requireOpenSession();
+        requireId(entity);
+        addToBatch(WriteKind.DELETE, entity);
+    }
+
+    @Override
+    public <T> T get(Class<T> entityClass, Object id) {
+        log.trace("Getting entity of class {} with primary key {}", entityClass, id);
+        requireOpenSession();
+        flush();
+        return entityPersister.findById(entityClass, id, getConnection());
+    }
+
+    @Override
+    public <T> Stream<T> stream(Class<T> entityClass) {
+        log.trace("Streaming entities of class {}", entityClass);
+        requireOpenSession();
+        flush();
+        var fetchSize = batchSize > 1 ? batchSize : DEFAULT_FETCH_SIZE;
+        return entityPersister.stream(entityClass, fetchSize, getConnection());
+    }
+
+    @Override
+    public void flush() {
+        requireOpenSession();
+        if (batch.isEmpty()) {
+            return;
+        }
+        log.trace("Executing {} buffered {} statements of entity {}", batch.size(), batchKind, batchClass);
+        try {
+            switch (batchKind) {
+                case INSERT -> entityPersister.insertAll(batch, getConnection());
+                case UPDATE -> entityPersister.updateAll(batch, getConnection());
+                case DELETE -> entityPersister.deleteAll(batch, getConnection());
+            }
+        } finally {
+            batch.clear();
+            batchKind = null;
+            batchClass = null;
+        }
+    }
+
+    @Override
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    @Override
+    public void close() {
+        log.info("Closing stateless session");
+        requireOpenSession();
+        try {
+            if (transaction.isOpen()) {
+                log.warn("Rolling back the transaction of a stateless session that is being closed");
+                transaction.rollback();
+            } else {
+                flush();
+            }
+        } finally {
+            isOpened = false;
+            closeConnection();
+        }
+    }
+
+    private void addToBatch(WriteKind kind, Object entity) {
+        if (kind != batchKind || entity.getClass() != batchClass) {
+            flush();
+            batchKind = kind;
+            batchClass = entity.getClass();
+        }
+        batch.add(entity);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void requireId(Object entity) {
+        if (metadataRegistry.getMetadata(entity.getClass()).getIdValue(entity) == null) {
+            throw new BibernateException(format("Entity %s must have an id", entity.getClass()));
+        }
+    }
+
+    private void requireOpenSession() {
+        if (!isOpened) {
+            throw new BibernateException("Session has been closed");
+        }
+    }
+
+    private Connection getConnection() {
+        if (connection == null) {
+            try {
+                connection = dataSource.getConnection();
+            } catch (SQLException ex) {
+                throw new BibernateException("Could not open database connection", ex);
+            }
+            if (connection == null) {
+                throw new BibernateException("Could not open database connection");
+            }
+        }
+        return connection;
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ex) {
+                throw new BibernateException("Could not close database connection", ex);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void setAutoCommit(boolean autoCommit) {
+        try {
+            getConnection().setAutoCommit(autoCommit);
+        } catch (SQLException ex) {
+            throw new BibernateException(format("Could not set autoCommit=%s", autoCommit), ex);
+        }
+    }
+
+    /**
+     * Transaction of a stateless session, it maps directly to the transaction of the connection.
+     */
+    private class StatelessTransaction implements Transaction {
+        private boolean open = false;
+
+        @Override
+        public void begin() {
+            log.trace("Beginning a new transaction");
+            if (open) {
+                return;
+            }
+            requireOpenSession();
+            flush();
+            setAutoCommit(false);
+            open = true;
+        }
+
+        @Override
+        public void commit() {
+            log.trace("Committing the transaction");
+            requireOpenTransaction();
+            try {
+                flush();
+                getConnection().commit();
+            } catch (RuntimeException | SQLException ex) {
+                try {
+                    connection.rollback();
+                } catch (SQLException e) {
+                    ex.addSuppressed(e);
+                }
+                throw new BibernateException("Exception occurred during committing data", ex);
+            } finally {
+                finish();
+            }
+        }
+
+        @Override
+        public void rollback() {
+            log.info("Rolling back the transaction");
+            requireOpenTransaction();
+            batch.clear();
+            batchKind = null;
+            batchClass = null;
+            try {
+                getConnection().rollback();
+            } catch (SQLException ex) {
+                throw new BibernateException("Exception occurred during connection.rollback()", ex);
+            } finally {
+                finish();
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        private void finish() {
+            open = false;
+            setAutoCommit(true);
+        }
+
+        private void requireOpenTransaction() {
+            if (!open) {
+                throw new BibernateException("Transaction is closed. tx.begin() must be invoked before tx.commit() " +
+                        "or tx.rollback()");
+            }
+        }
+    }
+}
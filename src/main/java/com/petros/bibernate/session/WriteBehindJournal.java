@@ -0,0 +1,255 @@
+package com.petros.bibernate.session;
+
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Append-only file of the entities buffered by a {@link WriteBehindSessionImpl}. Every record is the class name of an
+ * entity followed by the serialized values of its {@link com.petros.bibernate.metadata.EntityMetadata#getSnapshotProperties()
+ * snapshot properties}, where a to-one relation is stored as the id of the related entity. Records are prefixed with
+ * their length, so a record cut off by a crash is ignored when the journal is read. When a record is read, only a
+ * class annotated with {@link Entity} is accepted as its entity class, and an {@link ObjectInputFilter} limits its
+ * values to the types the snapshot properties of that entity can hold.
+ * <p>
+ * Records are flushed to the operating system after every append but not synced to the disk, so the journal survives
+ * a crash of the application, not of the machine.
+ */
+@Slf4j
+class WriteBehindJournal implements AutoCloseable {
+    private final Path path;
+    private final EntityMetadataRegistry metadataRegistry;
+    private final Map<Class<?>, ObjectInputFilter> valueFilters = new ConcurrentHashMap<>();
+    private DataOutputStream out;
+    private int recordCount;
+
+    WriteBehindJournal(Path path, EntityMetadataRegistry metadataRegistry) {
+        this.path = path;
+        this.metadataRegistry = metadataRegistry;
+    }
+
+    /**
+     * Reads the entities recorded in the journal. Relations are restored as instances of the related entity that
+     * only have the id set.
+     *
+     * @return the recorded entities in the order they were appended
+     */
+    List<Object> readAll() {
+        var entities = new ArrayList<>();
+        try (var in = new DataInputStream(Files.newInputStream(path))) {
+            var fileSize = Files.size(path);
+            while (true) {
+                var length = in.readInt();
+                if (length < 0 || length > fileSize) {
+                    throw new BibernateException(format("Invalid record length %d in the write-behind journal %s",
+                            length, path));
+                }
+                var bytes = new byte[length];
+                in.readFully(bytes);
+                entities.add(readEntity(bytes));
+            }
+        } catch (NoSuchFileException e) {
+            return entities;
+        } catch (EOFException e) {
+            return entities;
+        } catch (IOException | ClassNotFoundException e) {
+            throw new BibernateException(format("Could not read the write-behind journal %s", path), e);
+        }
+    }
+
+    void append(Object entity) {
+        try {
+            var bytes = writeEntity(entity);
+            var stream = getOutputStream();
+            stream.writeInt(bytes.length);
+            stream.write(bytes);
+            stream.flush();
+            recordCount++;
+        } catch (IOException e) {
+            throw new BibernateException(format("Could not journal entity %s to %s", entity.getClass(), path), e);
+        }
+    }
+
+    /**
+     * Replaces the journal with the records of the given entities, the ones that are still buffered.
+     */
+    void rewrite(Collection<?> entities) {
+        try {
+            closeOutputStream();
+            var parent = path.toAbsolutePath().getParent();
+            var tempFile = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (var tempOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                for (Object entity : entities) {
+                    var bytes = writeEntity(entity);
+                    tempOut.writeInt(bytes.length);
+                    tempOut.write(bytes);
+                }
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING);
+            recordCount = entities.size();
+        } catch (IOException e) {
+            throw new BibernateException(format("Could not rewrite the write-behind journal %s", path), e);
+        }
+    }
+
+    /**
+     * Moves the journal aside, so its records are kept for inspection but are not read again.
+     *
+     * @return the path the journal was moved to
+     */
+    Path moveAside() {
+        try {
+            closeOutputStream();
+            var target = path.resolveSibling(path.getFileName() + ".failed");
+            Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+            recordCount = 0;
+            return target;
+        } catch (IOException e) {
+            throw new BibernateException(format("Could not move the write-behind journal %s", path), e);
+        }
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeOutputStream();
+        } catch (IOException e) {
+            log.warn("Could not close the write-behind journal {}", path, e);
+        }
+    }
+
+    private DataOutputStream getOutputStream() throws IOException {
+        if (out == null) {
+            var parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)));
+        }
+        return out;
+    }
+
+    private void closeOutputStream() throws IOException {
+        if (out != null) {
+            var stream = out;
+            out = null;
+            stream.close();
+        }
+    }
+
+    private byte[] writeEntity(Object entity) throws IOException {
+        var properties = metadataRegistry.getMetadata(entity.getClass()).getSnapshotProperties();
+        var values = new Object[properties.size()];
+        for (var i = 0; i < values.length; i++) {
+            var property = properties.get(i);
+            var value = property.getValue(entity);
+            values[i] = property.isToOne() && value != null
+                    ? metadataRegistry.getMetadata(property.getRelatedEntityType()).getIdValue(value)
+                    : value;
+        }
+        var bytes = new ByteArrayOutputStream();
+        try (var objectOut = new ObjectOutputStream(bytes)) {
+            objectOut.writeUTF(entity.getClass().getName());
+            objectOut.writeObject(values);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object readEntity(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (var objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            var entityClass = Class.forName(objectIn.readUTF(), false, getClass().getClassLoader());
+            if (!entityClass.isAnnotationPresent(Entity.class)) {
+                throw new BibernateException(format("Journal record of %s is not an entity", entityClass.getName()));
+            }
+            var metadata = metadataRegistry.getMetadata(entityClass);
+            objectIn.setObjectInputFilter(valueFilters.computeIfAbsent(entityClass, k -> createValueFilter(metadata)));
+            var values = (Object[]) objectIn.readObject();
+            var properties = metadata.getSnapshotProperties();
+            if (values.length != properties.size()) {
+                throw new BibernateException(format("Journal record of %s has %d values instead of %d",
+                        entityClass.getName(), values.length, properties.size()));
+            }
+            var entity = metadata.newInstance();
+            for (var i = 0; i < values.length; i++) {
+                var property = properties.get(i);
+                var value = values[i];
+                if (property.isToOne() && value != null) {
+                    var relatedMetadata = metadataRegistry.getMetadata(property.getRelatedEntityType());
+                    var related = relatedMetadata.newInstance();
+                    relatedMetadata.getIdProperty().setValue(related, value);
+                    value = related;
+                }
+                property.setValue(entity, value);
+            }
+            return entity;
+        }
+    }
+
+    /**
+     * Creates a filter that accepts the {@code Object[]} of the values and the classes the values of the snapshot
+     * properties of the entity are serialized with: the declared types, their subclasses and superclasses, arrays of
+     * primitives, such as the magnitude of a {@link java.math.BigInteger}, and the serial form of {@code java.time}
+     * values. Any other class is rejected.
+     */
+    private ObjectInputFilter createValueFilter(EntityMetadata metadata) {
+        Set<Class<?>> valueTypes = new HashSet<>();
+        for (var property : metadata.getSnapshotProperties()) {
+            var type = property.isToOne()
+                    ? metadataRegistry.getMetadata(property.getRelatedEntityType()).getIdProperty().getType()
+                    : property.getType();
+            valueTypes.add(box(type));
+        }
+        return info -> {
+            var serialClass = info.serialClass();
+            if (serialClass == null) {
+                return ObjectInputFilter.Status.UNDECIDED;
+            }
+            if (serialClass == Object[].class
+                    || serialClass.isArray() && serialClass.getComponentType().isPrimitive()
+                    || serialClass.getName().equals("java.time.Ser")
+                    || valueTypes.stream().anyMatch(type -> type.isAssignableFrom(serialClass)
+                    || serialClass.isAssignableFrom(type))) {
+                return ObjectInputFilter.Status.ALLOWED;
+            }
+            log.warn("Rejected class {} in the write-behind journal {}", serialClass.getName(), path);
+            return ObjectInputFilter.Status.REJECTED;
+        };
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return java.lang.invoke.MethodType.methodType(type).wrap().returnType();
+    }
+}
@@ -0,0 +1,56 @@
+package com.petros.bibernate.session;
+
+import com.petros.bibernate.exception.BibernateException;
+
+/**
+ * A session for loss-tolerant, high-volume inserts, such as audit or event records, that should not wait for the
+ * database. {@link #persist(Object)} only puts the entity into a bounded buffer, and a background writer inserts the
+ * buffered entities in batched transactions, either when the buffer holds
+ * {@link com.petros.bibernate.config.Configuration#WRITE_BEHIND_FLUSH_SIZE flush-size} entities or when the oldest
+ * of them has waited for the
+ * {@link com.petros.bibernate.config.Configuration#WRITE_BEHIND_FLUSH_INTERVAL flush interval}.
+ * <p/>
+ * Entities are not managed: they are neither cached nor dirty checked, and changes made after they are persisted may
+ * or may not be written. A batch that fails is rolled back and logged, and its entities are dropped.
+ * <p/>
+ * Unlike {@link Session}, a write-behind session is shared by all threads of the application and is obtained with
+ * {@link SessionFactory#getWriteBehindSession()}.
+ */
+public interface WriteBehindSession extends AutoCloseable {
+
+    /**
+     * Buffer the entity to be inserted by the background writer. Ids generated before insert are assigned right
+     * away; database generated ids are assigned when the entity is written. Blocks while the buffer is full.
+     *
+     * @param entity a transient instance to be inserted
+     * @throws BibernateException if the session is closed or the entity cannot be journaled
+     */
+    <T> void persist(T entity);
+
+    /**
+     * Wait until the entities buffered before this call have been written or dropped.
+     *
+     * @throws BibernateException if the session is closed or the current thread is interrupted while waiting
+     */
+    void flush();
+
+    /**
+     * Gets the number of entities inserted by the background writer.
+     *
+     * @return the number of written entities
+     */
+    long getWrittenCount();
+
+    /**
+     * Gets the number of entities dropped because the batch they were written in failed.
+     *
+     * @return the number of dropped entities
+     */
+    long getFailedCount();
+
+    /**
+     * Write the buffered entities and stop the background writer. No-ops if already closed.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,316 @@
+package com.petros.bibernate.session;
+
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.exception.JDBCException;
+import com.petros.bibernate.id.IdGeneratorRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * {@link WriteBehindSession} backed by a {@link LinkedBlockingQueue} that any number of threads put entities into and
+ * a single daemon thread drains. The queue is bounded by a {@link Semaphore} with a permit per buffered entity, which
+ * producers acquire before they queue an entity and the writer releases when it takes one. The writer collects up to
+ * {@code flushSize} entities, waiting at most {@code flushInterval} after the first one, groups them by class and
+ * inserts every group with {@link EntityPersister#insertAll(List, java.sql.Connection)} in one transaction. When no
+ * connection is free, the writer waits for one instead of dropping the batch.
+ * <p>
+ * {@link #flush()} and {@link #close()} put a marker into the queue that makes the writer write what it has collected
+ * right away, so they wait for the entities queued before them only.
+ * <p>
+ * With a journal, every entity is appended to it and queued under one lock, which is only taken for these
+ * non-blocking steps, so a producer waiting for a free permit never holds up the writer. After every batch the
+ * journal is rewritten to the entities that are still queued, so it never holds rows that were already committed.
+ * The entities left in the journal by the previous run are inserted when the session is created.
+ */
+@Slf4j
+public class WriteBehindSessionImpl implements WriteBehindSession {
+    private static final Object FLUSH = new Object();
+    private static final Object STOP = new Object();
+    private static final long MAX_CONNECTION_WAIT_MILLIS = 100;
+
+    private final DataSource dataSource;
+    private final EntityPersister entityPersister;
+    private final IdGeneratorRegistry idGeneratorRegistry;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final Semaphore freeSlots;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final WriteBehindJournal journal;
+    private final Object journalLock = new Object();
+    private final Thread writer;
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private long processed;
+    private volatile boolean closed;
+
+    public WriteBehindSessionImpl(DataSource dataSource, EntityPersister entityPersister,
+                                  IdGeneratorRegistry idGeneratorRegistry, int bufferSize, int flushSize,
+                                  Duration flushInterval, Path journalPath) {
+        if (bufferSize < 1 || flushSize < 1 || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new BibernateException(format("Invalid write-behind settings: buffer size %d, flush size %d, " +
+                    "flush interval %s", bufferSize, flushSize, flushInterval));
+        }
+        this.dataSource = dataSource;
+        this.entityPersister = entityPersister;
+        this.idGeneratorRegistry = idGeneratorRegistry;
+        this.freeSlots = new Semaphore(bufferSize);
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.journal = journalPath == null ? null
+                : new WriteBehindJournal(journalPath, entityPersister.getMetadataRegistry());
+        if (journal != null) {
+            replayJournal();
+        }
+        this.writer = new Thread(this::run, "bibernate-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public <T> void persist(T entity) {
+        log.trace("Buffering entity of class {}", entity.getClass());
+        requireOpenSession();
+        generateId(entity);
+        try {
+            freeSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BibernateException(format("Interrupted while buffering entity %s", entity.getClass()), e);
+        }
+        try {
+            if (journal != null) {
+                synchronized (journalLock) {
+                    journal.append(entity);
+                    queue.add(entity);
+                }
+            } else {
+                queue.add(entity);
+            }
+        } catch (RuntimeException e) {
+            freeSlots.release();
+            throw e;
+        }
+        queued.incrementAndGet();
+    }
+
+    @Override
+    public void flush() {
+        requireOpenSession();
+        awaitWritten(FLUSH);
+    }
+
+    @Override
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        log.info("Closing write-behind session.");
+        closed = true;
+        try {
+            awaitWritten(STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while closing write-behind session, buffered entities may be lost");
+        } finally {
+            if (journal != null) {
+                synchronized (journalLock) {
+                    journal.close();
+                }
+            }
+        }
+    }
+
+    private void awaitWritten(Object marker) {
+        var target = queued.get();
+        try {
+            queue.add(marker);
+            synchronized (this.queue) {
+                while (processed < target && writer.isAlive()) {
+                    this.queue.wait(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 1);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BibernateException("Interrupted while waiting for buffered entities to be written", e);
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<>(flushSize);
+        var stopping = false;
+        while (!stopping) {
+            try {
+                var first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == STOP) {
+                    stopping = true;
+                } else if (first != null && first != FLUSH) {
+                    freeSlots.release();
+                    batch.add(first);
+                    var deadline = System.nanoTime() + flushIntervalNanos;
+                    while (batch.size() < flushSize) {
+                        var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null || next == FLUSH) {
+                            break;
+                        } else if (next == STOP) {
+                            stopping = true;
+                            break;
+                        }
+                        freeSlots.release();
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                log.warn("Write-behind writer interrupted, writing {} buffered entities", queue.size());
+                stopping = true;
+                var remaining = new ArrayList<>();
+                queue.drainTo(remaining);
+                remaining.removeIf(entity -> entity == FLUSH || entity == STOP);
+                freeSlots.release(remaining.size());
+                batch.addAll(remaining);
+            }
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Object> batch) {
+        try {
+            write(batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Could not write a batch of {} buffered entities, dropping them", batch.size(), e);
+            failed.addAndGet(batch.size());
+        }
+        compactJournal();
+        synchronized (this.queue) {
+            processed += batch.size();
+            this.queue.notifyAll();
+        }
+    }
+
+    private void write(List<Object> entities) {
+        var entitiesByClass = new LinkedHashMap<Class<?>, List<Object>>();
+        for (Object entity : entities) {
+            entitiesByClass.computeIfAbsent(entity.getClass(), k -> new ArrayList<>()).add(entity);
+        }
+        try (var connection = awaitConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                entitiesByClass.values().forEach(group -> entityPersister.insertAll(group, connection));
+                connection.commit();
+            } catch (RuntimeException | SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            log.trace("Wrote {} buffered entities", entities.size());
+        } catch (SQLException e) {
+            throw new JDBCException("Could not write buffered entities", e);
+        }
+    }
+
+    /**
+     * Waits for a free connection of the data source, which is shared with the sessions of the application.
+     */
+    private Connection awaitConnection() throws SQLException {
+        var connection = dataSource.getConnection();
+        long waitMillis = 1;
+        while (connection == null) {
+            log.trace("No free connection for the write-behind writer, retrying in {} ms", waitMillis);
+            try {
+                Thread.sleep(waitMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BibernateException("Interrupted while waiting for a connection for the write-behind writer",
+                        e);
+            }
+            waitMillis = Math.min(waitMillis * 2, MAX_CONNECTION_WAIT_MILLIS);
+            connection = dataSource.getConnection();
+        }
+        return connection;
+    }
+
+    /**
+     * Rewrites the journal to the entities that are still queued. The entities of the batch that was just written
+     * have been taken from the queue, so their records are removed, and producers append and queue under the same
+     * lock, so no queued entity is missing from the journal.
+     */
+    private void compactJournal() {
+        if (journal == null) {
+            return;
+        }
+        synchronized (journalLock) {
+            try {
+                if (journal.getRecordCount() > 0) {
+                    journal.rewrite(queue.stream().filter(entity -> entity != FLUSH && entity != STOP).toList());
+                }
+            } catch (BibernateException e) {
+                log.error("Could not compact the write-behind journal", e);
+            }
+        }
+    }
+
+    private void replayJournal() {
+        try {
+            var entities = journal.readAll();
+            if (entities.isEmpty()) {
+                return;
+            }
+            log.info("Writing {} entities left in the write-behind journal", entities.size());
+            for (var from = 0; from < entities.size(); from += flushSize) {
+                var to = Math.min(from + flushSize, entities.size());
+                write(entities.subList(from, to));
+                written.addAndGet(to - from);
+                journal.rewrite(entities.subList(to, entities.size()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not replay the entities left in the write-behind journal, it was moved to {}",
+                    journal.moveAside(), e);
+        }
+    }
+
+    private <T> void generateId(T entity) {
+        var metadata = entityPersister.getMetadataRegistry().getMetadata(entity.getClass());
+        var idProperty = metadata.getIdProperty();
+        if (idProperty.isGeneratedBeforeInsert() && idProperty.getValue(entity) == null) {
+            idProperty.setValue(entity, idGeneratorRegistry.getGenerator(metadata).generate());
+        }
+    }
+
+    private void requireOpenSession() {
+        if (closed) {
+            throw new BibernateException("Write-behind session is closed");
+        }
+    }
+}
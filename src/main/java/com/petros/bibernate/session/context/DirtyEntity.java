@@ -0,0 +1,13 @@
+package com.petros.bibernate.session.context;
+
+import java.util.BitSet;
+
+/**
+ * A cached entity that has changed since its snapshot was taken.
+ *
+ * @param entity          the changed entity
+ * @param dirtyProperties the indexes of the changed properties in
+ *                        {@link com.petros.bibernate.metadata.EntityMetadata#getSnapshotProperties()}
+ */
+public record DirtyEntity(Object entity, BitSet dirtyProperties) {
+}
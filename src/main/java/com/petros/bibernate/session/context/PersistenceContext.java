@@ -46,6 +46,14 @@ public interface PersistenceContext {
      */
     <T> void remove(T entity);
 
+    /**
+     * Removing all entities of the given type from context. They become detached, so the next lookup reads their
+     * current state from the database.
+     *
+     * @param entityType entity class
+     */
+    void evictAll(Class<?> entityType);
+
     /**
      * Getting snapshot difference. If cached entity has been changed it's added to the result list.
      *
@@ -53,6 +61,14 @@ public interface PersistenceContext {
      */
     List<Object> getSnapshotDiff();
 
+    /**
+     * Getting snapshot difference per property. Every changed cached entity is returned together with the properties
+     * that have changed, and its snapshot is refreshed.
+     *
+     * @return list of changed entities with their changed properties
+     */
+    List<DirtyEntity> getDirtyEntities();
+
     /**
      * Clearing entity cache and snapshots
      */
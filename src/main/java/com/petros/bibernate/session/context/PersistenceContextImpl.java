@@ -1,20 +1,27 @@
 package com.petros.bibernate.session.context;
 
 import com.petros.bibernate.exception.BibernateException;
-import com.petros.bibernate.util.EntityUtil;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
 
 import java.util.*;
 
 public class PersistenceContextImpl implements PersistenceContext {
+    private final EntityMetadataRegistry metadataRegistry;
+
     Map<EntityKey, Object> entityCache;
 
     Map<EntityKey, Object[]> snapshot;
 
-    public PersistenceContextImpl() {
+    public PersistenceContextImpl(EntityMetadataRegistry metadataRegistry) {
+        this.metadataRegistry = metadataRegistry;
         this.entityCache = new HashMap<>();
         this.snapshot = new HashMap<>();
     }
 
+    public PersistenceContextImpl() {
+        this(new EntityMetadataRegistry());
+    }
+
     @Override
     public <T> Optional<T> getCachedEntity(Class<T> entityType, Object id) {
         return Optional.ofNullable(entityCache.get(EntityKey.of(entityType, id)))
@@ -38,8 +45,7 @@ public class PersistenceContextImpl implements PersistenceContext {
     @Override
     public <T> void snapshot(T entity) {
         var key = this.getKey(entity);
-        var values = EntityUtil.getEntityFieldsForSnapshot(entity).toArray();
-        snapshot.put(key, values);
+        snapshot.put(key, getSnapshotValues(entity));
     }
 
     @Override
@@ -49,20 +55,36 @@ public class PersistenceContextImpl implements PersistenceContext {
         this.entityCache.remove(key);
     }
 
+    @Override
+    public void evictAll(Class<?> entityType) {
+        this.snapshot.keySet().removeIf(key -> key.entityType() == entityType);
+        this.entityCache.keySet().removeIf(key -> key.entityType() == entityType);
+    }
+
     @Override
     public List<Object> getSnapshotDiff() {
-        var diff = new ArrayList<>();
+        return getDirtyEntities().stream()
+                .map(DirtyEntity::entity)
+                .toList();
+    }
+
+    @Override
+    public List<DirtyEntity> getDirtyEntities() {
+        var diff = new ArrayList<DirtyEntity>();
         for (var cachedEntry : entityCache.entrySet()) {
-            var cachedEntity = entityCache.get(cachedEntry.getKey());
+            var cachedEntity = cachedEntry.getValue();
             var cachedFieldValues = snapshot.get(cachedEntry.getKey());
-            var currentFieldValues = EntityUtil.getEntityFieldsForSnapshot(cachedEntity).toArray();
+            var currentFieldValues = getSnapshotValues(cachedEntity);
+            var dirtyProperties = new BitSet(currentFieldValues.length);
             for (var i = 0; i < currentFieldValues.length; i++) {
-                if (!Objects.equals(currentFieldValues[i],cachedFieldValues[i])) {
-                    diff.add(cachedEntity);
-                    snapshot.put(cachedEntry.getKey(),currentFieldValues);
-                    break;
+                if (!Objects.equals(currentFieldValues[i], cachedFieldValues[i])) {
+                    dirtyProperties.set(i);
                 }
             }
+            if (!dirtyProperties.isEmpty()) {
+                diff.add(new DirtyEntity(cachedEntity, dirtyProperties));
+                snapshot.put(cachedEntry.getKey(), currentFieldValues);
+            }
         }
         return diff;
     }
@@ -73,8 +95,21 @@ public class PersistenceContextImpl implements PersistenceContext {
         this.snapshot.clear();
     }
 
+    private Object[] getSnapshotValues(Object entity) {
+        var properties = metadataRegistry.getMetadata(entity.getClass()).getSnapshotProperties();
+        var values = new Object[properties.size()];
+        for (var i = 0; i < values.length; i++) {
+            var property = properties.get(i);
+            var value = property.getValue(entity);
+            values[i] = property.isToOne() && value != null
+                    ? metadataRegistry.getMetadata(property.getRelatedEntityType()).getIdValue(value)
+                    : value;
+        }
+        return values;
+    }
+
     private <T> EntityKey getKey(T entity) {
-        var id = EntityUtil.getIdValue(entity);
+        var id = metadataRegistry.getMetadata(entity.getClass()).getIdValue(entity);
         if (id == null) {
             throw new BibernateException("Could not store entity with empty ID in the Persistence Context");
         }
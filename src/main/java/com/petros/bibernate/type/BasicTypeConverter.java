@@ -0,0 +1,56 @@
+package com.petros.bibernate.type;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link TypeConverter} for reference types that delegates to a single {@link ResultSet} getter and a single
+ * {@link PreparedStatement} setter. SQL {@code NULL} is mapped to null and null is bound with the SQL type of the
+ * converter.
+ *
+ * @param <T> the Java type handled by the converter
+ */
+class BasicTypeConverter<T> implements TypeConverter<T> {
+    private final Class<T> javaType;
+    private final int sqlType;
+    private final ColumnGetter<T> getter;
+    private final ParameterSetter<T> setter;
+
+    BasicTypeConverter(Class<T> javaType, int sqlType, ColumnGetter<T> getter, ParameterSetter<T> setter) {
+        this.javaType = javaType;
+        this.sqlType = sqlType;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    public Class<T> getJavaType() {
+        return javaType;
+    }
+
+    @Override
+    public T read(ResultSet resultSet, int columnIndex) throws SQLException {
+        T value = getter.get(resultSet, columnIndex);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    @Override
+    public void bind(PreparedStatement statement, int parameterIndex, T value) throws SQLException {
+        if (value == null) {
+            statement.setNull(parameterIndex, sqlType);
+        } else {
+            setter.set(statement, parameterIndex, value);
+        }
+    }
+
+    @FunctionalInterface
+    interface ColumnGetter<T> {
+        T get(ResultSet resultSet, int columnIndex) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface ParameterSetter<T> {
+        void set(PreparedStatement statement, int parameterIndex, T value) throws SQLException;
+    }
+}
@@ -0,0 +1,50 @@
+package com.petros.bibernate.type;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static java.lang.String.format;
+
+/**
+ * {@link TypeConverter} that stores enum constants by their {@link Enum#name() name} in a character column.
+ *
+ * @param <E> the enum type
+ */
+class EnumTypeConverter<E extends Enum<E>> implements TypeConverter<E> {
+    private final Class<E> enumType;
+
+    EnumTypeConverter(Class<E> enumType) {
+        this.enumType = enumType;
+    }
+
+    @Override
+    public Class<E> getJavaType() {
+        return enumType;
+    }
+
+    @Override
+    public E read(ResultSet resultSet, int columnIndex) throws SQLException {
+        String name = resultSet.getString(columnIndex);
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, name);
+        } catch (IllegalArgumentException e) {
+            throw new BibernateException(format("Unknown constant %s of enum %s", name, enumType.getSimpleName()), e);
+        }
+    }
+
+    @Override
+    public void bind(PreparedStatement statement, int parameterIndex, E value) throws SQLException {
+        if (value == null) {
+            statement.setNull(parameterIndex, Types.VARCHAR);
+        } else {
+            statement.setString(parameterIndex, value.name());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.petros.bibernate.type;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static java.lang.String.format;
+
+/**
+ * Fallback {@link TypeConverter} for types without a registered converter. It reads the column with
+ * {@link ResultSet#getObject(int)} and accepts the value only if the driver already returns the property type.
+ *
+ * @param <T> the Java type handled by the converter
+ */
+class ObjectTypeConverter<T> implements TypeConverter<T> {
+    private final Class<T> javaType;
+
+    ObjectTypeConverter(Class<T> javaType) {
+        this.javaType = javaType;
+    }
+
+    @Override
+    public Class<T> getJavaType() {
+        return javaType;
+    }
+
+    @Override
+    public T read(ResultSet resultSet, int columnIndex) throws SQLException {
+        Object value = resultSet.getObject(columnIndex);
+        if (value == null || javaType.isInstance(value)) {
+            return javaType.cast(value);
+        }
+        throw new BibernateException(format("Cannot convert value of type %s to field type %s",
+                value.getClass().getSimpleName(), javaType.getSimpleName()));
+    }
+}
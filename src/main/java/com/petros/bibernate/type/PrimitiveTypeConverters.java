@@ -0,0 +1,281 @@
+package com.petros.bibernate.type;
+
+import com.petros.bibernate.metadata.PropertyAccessor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Converters of primitive property types. They read and bind columns with the primitive {@link ResultSet} getters and
+ * {@link PreparedStatement} setters and pass the values through the primitive {@link PropertyAccessor} methods, so
+ * primitive properties are never boxed. SQL {@code NULL} leaves the property at its default value.
+ */
+final class PrimitiveTypeConverters {
+    static final List<TypeConverter<?>> ALL = List.of(new IntConverter(), new LongConverter(), new ShortConverter(),
+            new ByteConverter(), new DoubleConverter(), new FloatConverter(), new BooleanConverter());
+
+    private PrimitiveTypeConverters() {
+    }
+
+    static final class IntConverter implements TypeConverter<Integer> {
+        @Override
+        public Class<Integer> getJavaType() {
+            return int.class;
+        }
+
+        @Override
+        public Integer read(ResultSet resultSet, int columnIndex) throws SQLException {
+            int value = resultSet.getInt(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            int value = resultSet.getInt(columnIndex);
+            if (!resultSet.wasNull()) {
+                accessor.setInt(entity, value);
+            }
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int parameterIndex, Integer value) throws SQLException {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.INTEGER);
+            } else {
+                statement.setInt(parameterIndex, value);
+            }
+        }
+
+        @Override
+        public void bindFrom(PreparedStatement statement, int parameterIndex, Object entity,
+                             PropertyAccessor accessor) throws SQLException {
+            statement.setInt(parameterIndex, accessor.getInt(entity));
+        }
+    }
+
+    static final class LongConverter implements TypeConverter<Long> {
+        @Override
+        public Class<Long> getJavaType() {
+            return long.class;
+        }
+
+        @Override
+        public Long read(ResultSet resultSet, int columnIndex) throws SQLException {
+            long value = resultSet.getLong(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            long value = resultSet.getLong(columnIndex);
+            if (!resultSet.wasNull()) {
+                accessor.setLong(entity, value);
+            }
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int parameterIndex, Long value) throws SQLException {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.BIGINT);
+            } else {
+                statement.setLong(parameterIndex, value);
+            }
+        }
+
+        @Override
+        public void bindFrom(PreparedStatement statement, int parameterIndex, Object entity,
+                             PropertyAccessor accessor) throws SQLException {
+            statement.setLong(parameterIndex, accessor.getLong(entity));
+        }
+    }
+
+    static final class ShortConverter implements TypeConverter<Short> {
+        @Override
+        public Class<Short> getJavaType() {
+            return short.class;
+        }
+
+        @Override
+        public Short read(ResultSet resultSet, int columnIndex) throws SQLException {
+            short value = resultSet.getShort(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            short value = resultSet.getShort(columnIndex);
+            if (!resultSet.wasNull()) {
+                accessor.setShort(entity, value);
+            }
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int parameterIndex, Short value) throws SQLException {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.SMALLINT);
+            } else {
+                statement.setShort(parameterIndex, value);
+            }
+        }
+
+        @Override
+        public void bindFrom(PreparedStatement statement, int parameterIndex, Object entity,
+                             PropertyAccessor accessor) throws SQLException {
+            statement.setShort(parameterIndex, accessor.getShort(entity));
+        }
+    }
+
+    static final class ByteConverter implements TypeConverter<Byte> {
+        @Override
+        public Class<Byte> getJavaType() {
+            return byte.class;
+        }
+
+        @Override
+        public Byte read(ResultSet resultSet, int columnIndex) throws SQLException {
+            byte value = resultSet.getByte(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            byte value = resultSet.getByte(columnIndex);
+            if (!resultSet.wasNull()) {
+                accessor.setByte(entity, value);
+            }
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int parameterIndex, Byte value) throws SQLException {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.TINYINT);
+            } else {
+                statement.setByte(parameterIndex, value);
+            }
+        }
+
+        @Override
+        public void bindFrom(PreparedStatement statement, int parameterIndex, Object entity,
+                             PropertyAccessor accessor) throws SQLException {
+            statement.setByte(parameterIndex, accessor.getByte(entity));
+        }
+    }
+
+    static final class DoubleConverter implements TypeConverter<Double> {
+        @Override
+        public Class<Double> getJavaType() {
+            return double.class;
+        }
+
+        @Override
+        public Double read(ResultSet resultSet, int columnIndex) throws SQLException {
+            double value = resultSet.getDouble(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            double value = resultSet.getDouble(columnIndex);
+            if (!resultSet.wasNull()) {
+                accessor.setDouble(entity, value);
+            }
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int parameterIndex, Double value) throws SQLException {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.DOUBLE);
+            } else {
+                statement.setDouble(parameterIndex, value);
+            }
+        }
+
+        @Override
+        public void bindFrom(PreparedStatement statement, int parameterIndex, Object entity,
+                             PropertyAccessor accessor) throws SQLException {
+            statement.setDouble(parameterIndex, accessor.getDouble(entity));
+        }
+    }
+
+    static final class FloatConverter implements TypeConverter<Float> {
+        @Override
+        public Class<Float> getJavaType() {
+            return float.class;
+        }
+
+        @Override
+        public Float read(ResultSet resultSet, int columnIndex) throws SQLException {
+            float value = resultSet.getFloat(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            float value = resultSet.getFloat(columnIndex);
+            if (!resultSet.wasNull()) {
+                accessor.setFloat(entity, value);
+            }
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int parameterIndex, Float value) throws SQLException {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.REAL);
+            } else {
+                statement.setFloat(parameterIndex, value);
+            }
+        }
+
+        @Override
+        public void bindFrom(PreparedStatement statement, int parameterIndex, Object entity,
+                             PropertyAccessor accessor) throws SQLException {
+            statement.setFloat(parameterIndex, accessor.getFloat(entity));
+        }
+    }
+
+    static final class BooleanConverter implements TypeConverter<Boolean> {
+        @Override
+        public Class<Boolean> getJavaType() {
+            return boolean.class;
+        }
+
+        @Override
+        public Boolean read(ResultSet resultSet, int columnIndex) throws SQLException {
+            boolean value = resultSet.getBoolean(columnIndex);
+            return resultSet.wasNull() ? null : value;
+        }
+
+        @Override
+        public void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+                throws SQLException {
+            boolean value = resultSet.getBoolean(columnIndex);
+            if (!resultSet.wasNull()) {
+                accessor.setBoolean(entity, value);
+            }
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, int parameterIndex, Boolean value) throws SQLException {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.BOOLEAN);
+            } else {
+                statement.setBoolean(parameterIndex, value);
+            }
+        }
+
+        @Override
+        public void bindFrom(PreparedStatement statement, int parameterIndex, Object entity,
+                             PropertyAccessor accessor) throws SQLException {
+            statement.setBoolean(parameterIndex, accessor.getBoolean(entity));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.petros.bibernate.type;
+
+import com.petros.bibernate.metadata.PropertyAccessor;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts column values between JDBC and the Java type of an entity property. A converter is resolved once per
+ * property from the {@link TypeConverterRegistry} when the entity metadata is built.
+ * <p>
+ * Implementations are expected to call the type-specific {@link ResultSet} getters, e.g. {@link ResultSet#getLong}
+ * or {@link ResultSet#getTimestamp}, and to use {@link ResultSet#wasNull()} to detect SQL {@code NULL}. Likewise,
+ * parameters should be bound with the type-specific {@link PreparedStatement} setters and
+ * {@link PreparedStatement#setNull(int, int)} with the SQL type of the column, so the parameter types of a statement
+ * do not change between executions. The default {@link #bind} falls back to {@link PreparedStatement#setObject}.
+ * <p>
+ * Custom converters can be registered with {@link TypeConverterRegistry#register(TypeConverter)} or with the
+ * {@value com.petros.bibernate.config.Configuration#TYPE_CONVERTERS} property.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * public class MoneyConverter implements TypeConverter<Money> {
+ *      public Class<Money> getJavaType() {
+ *          return Money.class;
+ *      }
+ *
+ *      public Money read(ResultSet resultSet, int columnIndex) throws SQLException {
+ *          var amount = resultSet.getBigDecimal(columnIndex);
+ *          return amount == null ? null : new Money(amount);
+ *      }
+ * }
+ * }</pre>
+ *
+ * @param <T> the Java type handled by the converter
+ */
+public interface TypeConverter<T> {
+
+    /**
+     * @return the Java type handled by this converter, a primitive class for primitive converters
+     */
+    Class<T> getJavaType();
+
+    /**
+     * Reads the value of the given column of the current result set row.
+     *
+     * @param resultSet   result set positioned at the row to read
+     * @param columnIndex the column index, starting from 1
+     * @return the converted value, or null if the column is SQL {@code NULL}
+     * @throws SQLException if the value could not be read
+     */
+    T read(ResultSet resultSet, int columnIndex) throws SQLException;
+
+    /**
+     * Reads the value of the given column and writes it to an entity property. Converters of primitive types
+     * override this method to pass the value through the primitive methods of the accessor without boxing.
+     *
+     * @param resultSet   result set positioned at the row to read
+     * @param columnIndex the column index, starting from 1
+     * @param entity      the entity to populate
+     * @param accessor    the accessor of the property
+     * @throws SQLException if the value could not be read
+     */
+    default void readInto(ResultSet resultSet, int columnIndex, Object entity, PropertyAccessor accessor)
+            throws SQLException {
+        accessor.set(entity, read(resultSet, columnIndex));
+    }
+
+    /**
+     * Binds a value to the given statement parameter.
+     *
+     * @param statement      the statement to bind the value to
+     * @param parameterIndex the parameter index, starting from 1
+     * @param value          the value to bind, may be null
+     * @throws SQLException if the value could not be bound
+     */
+    default void bind(PreparedStatement statement, int parameterIndex, T value) throws SQLException {
+        statement.setObject(parameterIndex, value);
+    }
+
+    /**
+     * Reads an entity property and binds its value to the given statement parameter. Converters of primitive types
+     * override this method to read the value through the primitive methods of the accessor without boxing.
+     *
+     * @param statement      the statement to bind the value to
+     * @param parameterIndex the parameter index, starting from 1
+     * @param entity         the entity to read
+     * @param accessor       the accessor of the property
+     * @throws SQLException if the value could not be bound
+     */
+    @SuppressWarnings("unchecked")
+    default void bindFrom(PreparedStatement statement, int parameterIndex, Object entity, PropertyAccessor accessor)
+            throws SQLException {
+        bind(statement, parameterIndex, (T) accessor.get(entity));
+    }
+}
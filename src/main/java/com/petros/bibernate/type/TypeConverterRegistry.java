@@ -0,0 +1,147 @@
+package com.petros.bibernate.type;
+
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.exception.BibernateException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Thread-safe registry of {@link TypeConverter TypeConverters} keyed by Java type. A new registry contains converters
+ * for primitives and their wrappers, {@link String}, {@link BigDecimal}, {@code byte[]}, {@link java.util.UUID},
+ * the {@code java.time} types and the {@code java.sql} date and time types. Enums are stored by name. Other types are
+ * read with {@link ResultSet#getObject(int)} unless a custom converter is registered for them.
+ * <p>
+ * Converters are resolved when the entity metadata is built, so custom converters have to be registered before the
+ * first use of the entities that need them. Usually there is a single registry per
+ * {@link com.petros.bibernate.session.SessionFactory}.
+ */
+@Slf4j
+public class TypeConverterRegistry {
+    private final Map<Class<?>, TypeConverter<?>> converters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry with the built-in converters.
+     */
+    public TypeConverterRegistry() {
+        PrimitiveTypeConverters.ALL.forEach(this::register);
+        register(new BasicTypeConverter<>(Integer.class, Types.INTEGER, ResultSet::getInt,
+                PreparedStatement::setInt));
+        register(new BasicTypeConverter<>(Long.class, Types.BIGINT, ResultSet::getLong, PreparedStatement::setLong));
+        register(new BasicTypeConverter<>(Short.class, Types.SMALLINT, ResultSet::getShort,
+                PreparedStatement::setShort));
+        register(new BasicTypeConverter<>(Byte.class, Types.TINYINT, ResultSet::getByte, PreparedStatement::setByte));
+        register(new BasicTypeConverter<>(Double.class, Types.DOUBLE, ResultSet::getDouble,
+                PreparedStatement::setDouble));
+        register(new BasicTypeConverter<>(Float.class, Types.REAL, ResultSet::getFloat, PreparedStatement::setFloat));
+        register(new BasicTypeConverter<>(Boolean.class, Types.BOOLEAN, ResultSet::getBoolean,
+                PreparedStatement::setBoolean));
+        register(new BasicTypeConverter<>(String.class, Types.VARCHAR, ResultSet::getString,
+                PreparedStatement::setString));
+        register(new BasicTypeConverter<>(BigDecimal.class, Types.NUMERIC, ResultSet::getBigDecimal,
+                PreparedStatement::setBigDecimal));
+        register(new BasicTypeConverter<>(byte[].class, Types.VARBINARY, ResultSet::getBytes,
+                PreparedStatement::setBytes));
+        register(new BasicTypeConverter<>(Timestamp.class, Types.TIMESTAMP, ResultSet::getTimestamp,
+                PreparedStatement::setTimestamp));
+        register(new BasicTypeConverter<>(Date.class, Types.DATE, ResultSet::getDate, PreparedStatement::setDate));
+        register(new BasicTypeConverter<>(Time.class, Types.TIME, ResultSet::getTime, PreparedStatement::setTime));
+        register(new BasicTypeConverter<>(LocalDateTime.class, Types.TIMESTAMP, (resultSet, columnIndex) -> {
+            Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+            return timestamp == null ? null : timestamp.toLocalDateTime();
+        }, (statement, parameterIndex, value) -> statement.setTimestamp(parameterIndex, Timestamp.valueOf(value))));
+        register(new BasicTypeConverter<>(LocalDate.class, Types.DATE, (resultSet, columnIndex) -> {
+            Date date = resultSet.getDate(columnIndex);
+            return date == null ? null : date.toLocalDate();
+        }, (statement, parameterIndex, value) -> statement.setDate(parameterIndex, Date.valueOf(value))));
+        register(new BasicTypeConverter<>(LocalTime.class, Types.TIME, (resultSet, columnIndex) -> {
+            Time time = resultSet.getTime(columnIndex);
+            return time == null ? null : time.toLocalTime();
+        }, (statement, parameterIndex, value) -> statement.setTime(parameterIndex, Time.valueOf(value))));
+        register(new BasicTypeConverter<>(Instant.class, Types.TIMESTAMP, (resultSet, columnIndex) -> {
+            Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+            return timestamp == null ? null : timestamp.toInstant();
+        }, (statement, parameterIndex, value) -> statement.setTimestamp(parameterIndex, Timestamp.from(value))));
+        register(new BasicTypeConverter<>(OffsetDateTime.class, Types.TIMESTAMP_WITH_TIMEZONE,
+                (resultSet, columnIndex) -> resultSet.getObject(columnIndex, OffsetDateTime.class),
+                PreparedStatement::setObject));
+        register(new UuidTypeConverter(false));
+    }
+
+    /**
+     * Registers the built-in converters whose binding depends on the database. A new registry binds values the way
+     * every database accepts, e.g. UUIDs as text.
+     *
+     * @param dialect the dialect of the database
+     */
+    public void registerDialectConverters(Dialect dialect) {
+        register(new UuidTypeConverter(dialect.supportsNativeUuid()));
+    }
+
+    /**
+     * Registers a converter, replacing the converter previously registered for the same Java type.
+     *
+     * @param converter the converter to register
+     */
+    public void register(TypeConverter<?> converter) {
+        log.trace("Registering type converter {} for type {}", converter.getClass().getName(),
+                converter.getJavaType().getName());
+        converters.put(converter.getJavaType(), converter);
+    }
+
+    /**
+     * Instantiates the converter class with the given name using its no-argument constructor and registers it.
+     *
+     * @param converterClassName fully qualified name of a {@link TypeConverter} implementation
+     * @throws BibernateException if the class cannot be loaded or instantiated
+     */
+    public void register(String converterClassName) {
+        try {
+            var classLoader = Thread.currentThread().getContextClassLoader();
+            var converterClass = Class.forName(converterClassName, true,
+                    classLoader != null ? classLoader : TypeConverterRegistry.class.getClassLoader());
+            if (!TypeConverter.class.isAssignableFrom(converterClass)) {
+                throw new BibernateException(format("Class %s does not implement %s", converterClassName,
+                        TypeConverter.class.getSimpleName()));
+            }
+            register((TypeConverter<?>) converterClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            log.error("Could not create type converter {}", converterClassName, e);
+            throw new BibernateException(format("Could not create type converter %s", converterClassName), e);
+        }
+    }
+
+    /**
+     * Retrieves the converter of the given Java type.
+     *
+     * @param javaType the Java type of an entity property
+     * @param <T>      the Java type
+     * @return the registered converter, an enum converter for enum types, or a converter that accepts the values
+     * returned by {@link ResultSet#getObject(int)} as is
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> TypeConverter<T> getConverter(Class<T> javaType) {
+        var converter = converters.get(javaType);
+        if (converter == null) {
+            converter = converters.computeIfAbsent(javaType, type -> type.isEnum()
+                    ? new EnumTypeConverter(type)
+                    : new ObjectTypeConverter<>(type));
+        }
+        return (TypeConverter<T>) converter;
+    }
+}
@@ -0,0 +1,62 @@
+package com.petros.bibernate.type;
+
+import com.petros.bibernate.exception.BibernateException;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+import static java.lang.String.format;
+
+/**
+ * {@link TypeConverter} of {@link UUID}. Drivers with a native UUID type return it directly, others return the
+ * textual or the 16-byte binary representation, both of which are accepted. Values are bound as UUIDs only to
+ * databases with a native UUID type and as text otherwise.
+ */
+class UuidTypeConverter implements TypeConverter<UUID> {
+    private final boolean nativeUuid;
+
+    UuidTypeConverter(boolean nativeUuid) {
+        this.nativeUuid = nativeUuid;
+    }
+
+    @Override
+    public Class<UUID> getJavaType() {
+        return UUID.class;
+    }
+
+    @Override
+    public UUID read(ResultSet resultSet, int columnIndex) throws SQLException {
+        Object value = resultSet.getObject(columnIndex);
+        if (value == null || value instanceof UUID) {
+            return (UUID) value;
+        }
+        if (value instanceof String text) {
+            return UUID.fromString(text);
+        }
+        if (value instanceof byte[] bytes && bytes.length == 16) {
+            var buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        throw new BibernateException(format("Cannot convert value of type %s to field type %s",
+                value.getClass().getSimpleName(), UUID.class.getSimpleName()));
+    }
+
+    @Override
+    public void bind(PreparedStatement statement, int parameterIndex, UUID value) throws SQLException {
+        if (nativeUuid) {
+            if (value == null) {
+                statement.setNull(parameterIndex, Types.OTHER);
+            } else {
+                statement.setObject(parameterIndex, value);
+            }
+        } else if (value == null) {
+            statement.setNull(parameterIndex, Types.VARCHAR);
+        } else {
+            statement.setString(parameterIndex, value.toString());
+        }
+    }
+}
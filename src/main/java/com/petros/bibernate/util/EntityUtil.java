@@ -2,6 +2,7 @@ package com.petros.bibernate.util;
 
 import com.petros.bibernate.annotation.Column;
 import com.petros.bibernate.annotation.GeneratedValue;
+import com.petros.bibernate.annotation.GenerationType;
 import com.petros.bibernate.annotation.Id;
 import com.petros.bibernate.annotation.JoinColumn;
 import com.petros.bibernate.annotation.ManyToOne;
@@ -10,7 +11,6 @@ import com.petros.bibernate.annotation.OneToMany;
 import com.petros.bibernate.annotation.OneToOne;
 import com.petros.bibernate.annotation.Table;
 import com.petros.bibernate.exception.BibernateException;
-import com.petros.bibernate.session.context.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
@@ -118,13 +118,15 @@ public class EntityUtil {
     }
 
     /**
-     * Determines whether a field is annotated with {@link Id} and {@link GeneratedValue}.
+     * Determines whether a field is annotated with {@link Id} and {@link GeneratedValue} with the
+     * {@link GenerationType#IDENTITY} strategy, i.e. its value is generated by the database on insert.
      *
      * @param field the field to check
-     * @return true if the field is annotated with {@link Id} and {@link GeneratedValue}, false otherwise
+     * @return true if the id value of the field is generated by the database, false otherwise
      */
     public static boolean isGeneratedIdField(Field field) {
-        return field.isAnnotationPresent(Id.class) && field.isAnnotationPresent(GeneratedValue.class);
+        return field.isAnnotationPresent(Id.class) && field.isAnnotationPresent(GeneratedValue.class)
+                && field.getAnnotation(GeneratedValue.class).strategy() == GenerationType.IDENTITY;
     }
 
     /**
@@ -308,11 +310,9 @@ public class EntityUtil {
 
     /**
      * Checking if entity field is marked with {@link OneToMany} {@link OneToOne} or {@link ManyToOne} annotation.
-     * If field is marked with these annotations, it could not be added to snapshot context
      *
      * @param field entity field
      * @return true if field has one of annotations described above
-     * @see PersistenceContext#getSnapshotDiff()
      */
     public static boolean isEntityRelationField(Field field) {
         return field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToOne.class)
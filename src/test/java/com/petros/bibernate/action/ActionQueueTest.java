@@ -0,0 +1,180 @@
+package com.petros.bibernate.action;
+
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.session.context.PersistenceContext;
+import com.petros.bibernate.session.context.PersistenceContextImpl;
+import com.petros.bibernate.session.model.Note;
+import com.petros.bibernate.session.model.Person;
+import com.petros.bibernate.session.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ActionQueueTest {
+    private EntityPersister persister;
+    private PersistenceContext persistenceContext;
+    private Connection connection;
+    private ActionQueue actionQueue;
+
+    @BeforeEach
+    void setUp() {
+        var metadataRegistry = new EntityMetadataRegistry();
+        persister = mock(EntityPersister.class);
+        when(persister.getMetadataRegistry()).thenReturn(metadataRegistry);
+        lenient().when(persister.insert(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(persister.delete(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+        persistenceContext = new PersistenceContextImpl(metadataRegistry);
+        connection = mock(Connection.class);
+        actionQueue = new ActionQueue(10);
+    }
+
+    @Test
+    @DisplayName("Insert followed by delete cancel each other out")
+    void insertAndDelete() {
+        var product = product(1L);
+        persistenceContext.cache(product);
+        actionQueue.add(new InsertEntityAction(persister, product));
+        actionQueue.add(new UpdateEntityAction(persister, product, properties(1)));
+        assertTrue(actionQueue.containsInsert(product));
+        actionQueue.add(new DeleteEntityAction(persister, product));
+        actionQueue.add(new UpdateEntityAction(persister, product, properties(2)));
+
+        actionQueue.executeActions(connection, persistenceContext);
+
+        verifyNoInteractions(connection);
+        verify(persister, never()).insert(any(), any());
+        verify(persister, never()).delete(any(), any());
+        verify(persister, never()).update(any(), any(), any());
+        assertTrue(persistenceContext.getCachedEntity(Product.class, 1L).isEmpty());
+        assertFalse(actionQueue.containsInsert(product));
+    }
+
+    @Test
+    @DisplayName("Updates and upserts after an insert are dropped")
+    void insertAndUpdates() {
+        var product = product(1L);
+        actionQueue.add(new InsertEntityAction(persister, product));
+        actionQueue.add(new UpdateEntityAction(persister, product, properties(1)));
+        actionQueue.add(new UpsertEntityAction(persister, product));
+
+        actionQueue.executeActions(connection, persistenceContext);
+
+        verify(persister).insert(product, connection);
+        verify(persister, never()).update(any(), any(), any());
+        verify(persister, never()).upsert(any(), any());
+    }
+
+    @Test
+    @DisplayName("Repeated updates are merged and updates before a delete are dropped")
+    void mergeUpdates() {
+        var updated = product(1L);
+        var deleted = product(2L);
+        actionQueue.add(new UpdateEntityAction(persister, updated, properties(1)));
+        actionQueue.add(new UpdateEntityAction(persister, deleted, properties(1)));
+        actionQueue.add(new UpdateEntityAction(persister, updated, properties(3)));
+        actionQueue.add(new DeleteEntityAction(persister, deleted));
+        actionQueue.add(new DeleteEntityAction(persister, deleted));
+
+        actionQueue.executeActions(connection, persistenceContext);
+
+        verify(persister).update(updated, properties(1, 3), connection);
+        verify(persister, never()).update(eq(deleted), any(), any());
+        verify(persister).delete(deleted, connection);
+        verifyNoMoreInteractions(ignoreStubs(persister));
+    }
+
+    @Test
+    @DisplayName("Upsert replaces the updates of the entity")
+    void upsertAndUpdates() {
+        var product = product(1L);
+        actionQueue.add(new UpdateEntityAction(persister, product, properties(1)));
+        actionQueue.add(new UpsertEntityAction(persister, product));
+        actionQueue.add(new UpsertEntityAction(persister, product));
+        actionQueue.add(new UpdateEntityAction(persister, product));
+
+        actionQueue.executeActions(connection, persistenceContext);
+
+        verify(persister).upsert(product, connection);
+        verify(persister, never()).upsertAll(any(), any());
+        verify(persister, never()).update(any(), any());
+        verify(persister, never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Delete followed by an upsert or an insert is dropped")
+    void deleteAndWrite() {
+        var upserted = product(1L);
+        var inserted = product(2L);
+        actionQueue.add(new DeleteEntityAction(persister, upserted));
+        actionQueue.add(new UpsertEntityAction(persister, upserted));
+        actionQueue.add(new UpdateEntityAction(persister, upserted, properties(1)));
+        actionQueue.add(new DeleteEntityAction(persister, inserted));
+        actionQueue.add(new InsertEntityAction(persister, inserted));
+
+        actionQueue.executeActions(connection, persistenceContext);
+
+        verify(persister).upsertAll(List.of(upserted, inserted), connection);
+        verify(persister, never()).delete(any(), any());
+        verify(persister, never()).insert(any(), any());
+        verify(persister, never()).update(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Upsert followed by a delete is executed in that order")
+    void upsertAndDelete() {
+        var product = product(1L);
+        actionQueue.add(new UpsertEntityAction(persister, product));
+        actionQueue.add(new UpdateEntityAction(persister, product, properties(1)));
+        actionQueue.add(new DeleteEntityAction(persister, product));
+        actionQueue.add(new DeleteEntityAction(persister, product));
+
+        actionQueue.executeActions(connection, persistenceContext);
+
+        var inOrder = inOrder(persister);
+        inOrder.verify(persister).upsert(product, connection);
+        inOrder.verify(persister).delete(product, connection);
+        verify(persister, never()).update(any(), any(), any());
+        verifyNoMoreInteractions(ignoreStubs(persister));
+    }
+
+    @Test
+    @DisplayName("Upserted parent is written before the inserted child that refers to it")
+    void upsertParentAndInsertChild() {
+        var person = new Person();
+        person.setId(1L);
+        var note = new Note();
+        note.setId(1L);
+        note.setPerson(person);
+        actionQueue.add(new InsertEntityAction(persister, note));
+        actionQueue.add(new UpsertEntityAction(persister, person));
+
+        actionQueue.executeActions(connection, persistenceContext);
+
+        var inOrder = inOrder(persister);
+        inOrder.verify(persister).upsert(person, connection);
+        inOrder.verify(persister).insert(note, connection);
+    }
+
+    private static Product product(Long id) {
+        var product = new Product();
+        product.setId(id);
+        return product;
+    }
+
+    private static BitSet properties(int... indexes) {
+        var properties = new BitSet();
+        for (int index : indexes) {
+            properties.set(index);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,73 @@
+package com.petros.bibernate.action;
+
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.annotation.Id;
+import com.petros.bibernate.annotation.JoinColumn;
+import com.petros.bibernate.annotation.ManyToOne;
+import com.petros.bibernate.annotation.Table;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.session.model.Bid;
+import com.petros.bibernate.session.model.Item;
+import com.petros.bibernate.session.model.Note;
+import com.petros.bibernate.session.model.Person;
+import com.petros.bibernate.session.model.PersonInfo;
+import com.petros.bibernate.session.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityDependencyOrderTest {
+
+    @Test
+    @DisplayName("Entity classes are ranked after the classes they refer to")
+    void rankByForeignKeys() {
+        var ranks = EntityDependencyOrder.rank(List.of(Note.class, Bid.class, PersonInfo.class, Product.class),
+                new EntityMetadataRegistry());
+
+        assertEquals(6, ranks.size());
+        assertTrue(ranks.get(Person.class) < ranks.get(Note.class));
+        assertTrue(ranks.get(Person.class) < ranks.get(PersonInfo.class));
+        assertTrue(ranks.get(Item.class) < ranks.get(Bid.class));
+        assertEquals(6, ranks.values().stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Entity classes that refer to each other get the same rank")
+    void rankCycle() {
+        var ranks = EntityDependencyOrder.rank(List.of(Author.class, Book.class, Note.class),
+                new EntityMetadataRegistry());
+
+        assertEquals(ranks.get(Author.class), ranks.get(Book.class));
+        assertNotEquals(ranks.get(Author.class), ranks.get(Note.class));
+        assertTrue(ranks.get(Person.class) < ranks.get(Note.class));
+    }
+
+    @Entity
+    @Table("authors")
+    static class Author {
+        @Id
+        private Long id;
+
+        @ManyToOne
+        @JoinColumn("best_book_id")
+        private Book bestBook;
+
+        @ManyToOne
+        @JoinColumn("mentor_id")
+        private Author mentor;
+    }
+
+    @Entity
+    @Table("books")
+    static class Book {
+        @Id
+        private Long id;
+
+        @ManyToOne
+        @JoinColumn("author_id")
+        private Author author;
+    }
+}
@@ -39,5 +39,10 @@ class ConfigurationImplTest {
         assertEquals(expectedPassword, actualPassword);
     }
 
+    @Test
+    void getStatementCacheSizeThenDefault() {
+        assertEquals(Configuration.DEFAULT_STATEMENT_CACHE_SIZE, configuration.getStatementCacheSize());
+    }
+
 
 }
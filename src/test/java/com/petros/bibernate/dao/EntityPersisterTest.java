@@ -1,7 +1,10 @@
 package com.petros.bibernate.dao;
 
 import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.Dialect;
+import com.petros.bibernate.dialect.DialectResolver;
 import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
 import com.petros.bibernate.session.model.Car;
 import com.petros.bibernate.session.model.EagerWheelCar;
 import com.petros.bibernate.session.model.Note;
@@ -27,6 +30,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.BitSet;
 import java.util.List;
 
 import static com.petros.bibernate.config.Configuration.DEFAULT_CONNECTION_POOL_SIZE;
@@ -103,7 +107,7 @@ public class EntityPersisterTest {
                 .locations("classpath:db/migration/product-test-data" + subFolder).load();
         flyway.clean();
         flyway.migrate();
-        entityPersister = new EntityPersister(false);
+        entityPersister = new EntityPersister(new EntityMetadataRegistry(), DialectResolver.resolve(url), false);
     }
 
     @AfterEach
@@ -221,6 +225,64 @@ public class EntityPersisterTest {
         assertEquals(product.getSaleTime(), foundProduct.getSaleTime());
     }
 
+    @ParameterizedTest
+    @EnumSource(DatabaseType.class)
+    @DisplayName("Test the insertAll method writes generated ids back to all entities")
+    public void testInsertAll(DatabaseType databaseType) {
+        setUpDatabaseType(databaseType);
+        List<Product> products = List.of(new Product(), new Product(), new Product());
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setProductName("Batch product " + i);
+            products.get(i).setProducer("Batch producer");
+            products.get(i).setPrice(BigDecimal.TEN);
+        }
+
+        List<Product> insertedProducts = entityPersister.insertAll(products, dataSource.getConnection());
+
+        assertEquals(List.of(4L, 5L, 6L), insertedProducts.stream().map(Product::getId).toList());
+        Product foundProduct = entityPersister.findById(Product.class, 6L, dataSource.getConnection());
+        assertEquals("Batch product 2", foundProduct.getProductName());
+        assertEquals(6, entityPersister.findAll(Product.class, dataSource.getConnection()).size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DatabaseType.class)
+    @DisplayName("Test the insertAll method with multi-row inserts split by the parameter limit of the dialect")
+    public void testInsertAllMultiRow(DatabaseType databaseType) {
+        setUpDatabaseType(databaseType);
+        Dialect resolvedDialect = entityPersister.getDialect();
+        Dialect twoRowDialect = new Dialect() {
+            @Override
+            public boolean supportsBatchGeneratedKeys() {
+                return resolvedDialect.supportsBatchGeneratedKeys();
+            }
+
+            @Override
+            public boolean supportsMultiRowGeneratedKeys() {
+                return resolvedDialect.supportsMultiRowGeneratedKeys();
+            }
+
+            @Override
+            public int getMaxParameterCount() {
+                return 20;
+            }
+        };
+        EntityPersister persister = new EntityPersister(new EntityMetadataRegistry(), twoRowDialect,
+                InsertStrategy.MULTI_ROW, false);
+        List<Product> products = List.of(new Product(), new Product(), new Product());
+        for (int i = 0; i < products.size(); i++) {
+            products.get(i).setProductName("Multi-row product " + i);
+            products.get(i).setProducer("Multi-row producer");
+            products.get(i).setPrice(BigDecimal.ONE);
+        }
+
+        persister.insertAll(products, dataSource.getConnection());
+
+        assertEquals(List.of(4L, 5L, 6L), products.stream().map(Product::getId).toList());
+        Product foundProduct = persister.findById(Product.class, 5L, dataSource.getConnection());
+        assertEquals("Multi-row product 1", foundProduct.getProductName());
+    }
+
     @ParameterizedTest
     @EnumSource(DatabaseType.class)
     public void testInsertNullEntity(DatabaseType databaseType) {
@@ -257,6 +319,32 @@ public class EntityPersisterTest {
         assertEquals(product.getPrice(), updatedProduct.getPrice());
     }
 
+    @ParameterizedTest
+    @EnumSource(DatabaseType.class)
+    @DisplayName("Test the update method writes only the columns of the changed properties")
+    public void testUpdateDirtyProperties(DatabaseType databaseType) {
+        setUpDatabaseType(databaseType);
+
+        Product product = new Product();
+        product.setProductName("Nintendo Switch");
+        product.setProducer("Nintendo");
+        product.setPrice(BigDecimal.valueOf(29900, 2));
+
+        entityPersister.insert(product, dataSource.getConnection());
+
+        product.setProductName("Not written");
+        product.setPrice(BigDecimal.valueOf(88800, 2));
+        var metadata = entityPersister.getMetadataRegistry().getMetadata(Product.class);
+        var dirtyProperties = new BitSet();
+        dirtyProperties.set(metadata.getSnapshotProperties().indexOf(metadata.getProperty("price")));
+
+        entityPersister.update(product, dirtyProperties, dataSource.getConnection());
+
+        Product updatedProduct = entityPersister.findById(Product.class, product.getId(), dataSource.getConnection());
+        assertEquals("Nintendo Switch", updatedProduct.getProductName());
+        assertEquals(product.getPrice(), updatedProduct.getPrice());
+    }
+
     @ParameterizedTest
     @EnumSource(DatabaseType.class)
     @DisplayName("Test the update method with a non-existing entity")
@@ -273,6 +361,24 @@ public class EntityPersisterTest {
                 " database");
     }
 
+    @ParameterizedTest
+    @EnumSource(DatabaseType.class)
+    @DisplayName("Test the updateAll method checks that every entity updates exactly one row")
+    public void testUpdateAll(DatabaseType databaseType) {
+        setUpDatabaseType(databaseType);
+        List<Product> products = entityPersister.findAll(Product.class, dataSource.getConnection());
+        products.forEach(product -> product.setStockCount(7));
+
+        entityPersister.updateAll(products, dataSource.getConnection());
+
+        assertTrue(entityPersister.findAll(Product.class, dataSource.getConnection()).stream()
+                .allMatch(product -> product.getStockCount() == 7));
+        Product nonExistingProduct = entityPersister.findById(Product.class, 1L, dataSource.getConnection());
+        nonExistingProduct.setId(100L);
+        List<Product> batch = List.of(products.get(0), nonExistingProduct);
+        assertThrows(BibernateException.class, () -> entityPersister.updateAll(batch, dataSource.getConnection()));
+    }
+
     @ParameterizedTest
     @EnumSource(DatabaseType.class)
     @DisplayName("Test the update method with null entity")
@@ -327,6 +433,26 @@ public class EntityPersisterTest {
                 "the database");
     }
 
+    @ParameterizedTest
+    @EnumSource(DatabaseType.class)
+    @DisplayName("Test the deleteAll method splits the ids by the parameter limit of the dialect")
+    public void testDeleteAll(DatabaseType databaseType) {
+        setUpDatabaseType(databaseType);
+        Dialect twoParameterDialect = new Dialect() {
+            @Override
+            public int getMaxParameterCount() {
+                return 2;
+            }
+        };
+        EntityPersister persister = new EntityPersister(new EntityMetadataRegistry(), twoParameterDialect, false);
+        List<Product> products = persister.findAll(Product.class, dataSource.getConnection());
+
+        persister.deleteAll(products, dataSource.getConnection());
+
+        assertTrue(persister.findAll(Product.class, dataSource.getConnection()).isEmpty());
+        assertThrows(BibernateException.class, () -> persister.deleteAll(products, dataSource.getConnection()));
+    }
+
     @ParameterizedTest
     @EnumSource(DatabaseType.class)
     @DisplayName("Test the delete method with null entity")
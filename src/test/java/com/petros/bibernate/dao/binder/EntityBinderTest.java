@@ -0,0 +1,103 @@
+package com.petros.bibernate.dao.binder;
+
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.model.Measurement;
+import com.petros.bibernate.session.model.Bid;
+import com.petros.bibernate.session.model.Item;
+import com.petros.bibernate.session.model.Person;
+import com.petros.bibernate.session.model.PersonInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class EntityBinderTest {
+    private final EntityMetadataRegistry metadataRegistry = new EntityMetadataRegistry();
+
+    @Test
+    @DisplayName("Primitive properties are bound with typed setters")
+    void primitiveProperties() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        var measurement = new Measurement();
+        measurement.setId(9L);
+        measurement.setReadingCount(4);
+        measurement.setTemperature(20.5);
+        measurement.setValid(true);
+
+        int next = new EntityBinder(Measurement.class, metadataRegistry).bindUpdateValues(statement, 1, measurement);
+
+        assertEquals(5, next);
+        verify(statement).setNull(1, Types.VARCHAR);
+        verify(statement).setInt(2, 4);
+        verify(statement).setDouble(3, 20.5);
+        verify(statement).setBoolean(4, true);
+        verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    @DisplayName("Relations are bound as the id of the related entity, null relations with the id SQL type")
+    void relationProperties() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        var binder = new EntityBinder(Bid.class, metadataRegistry);
+        var item = new Item();
+        item.setId(3L);
+        var bid = new Bid();
+        bid.setId(1L);
+        bid.setPrice(BigDecimal.TEN);
+        bid.setItem(item);
+
+        binder.bindInsertValues(statement, 1, bid);
+        bid.setItem(null);
+        binder.bindInsertValues(statement, 4, bid);
+        binder.bindId(statement, 7, bid);
+
+        verify(statement).setLong(1, 1L);
+        verify(statement).setBigDecimal(2, BigDecimal.TEN);
+        verify(statement).setLong(3, 3L);
+        verify(statement).setLong(4, 1L);
+        verify(statement).setBigDecimal(5, BigDecimal.TEN);
+        verify(statement).setNull(6, Types.BIGINT);
+        verify(statement).setLong(7, 1L);
+        verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    @DisplayName("Id mapped by a relation is taken from the related entity")
+    void mapsIdProperty() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        var person = new Person();
+        person.setId(12L);
+        var personInfo = new PersonInfo();
+        personInfo.setInfo("info");
+        personInfo.setPerson(person);
+
+        new EntityBinder(PersonInfo.class, metadataRegistry).bindInsertValues(statement, 1, personInfo);
+
+        verify(statement).setLong(1, 12L);
+        verify(statement).setString(2, "info");
+        verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    @DisplayName("Search values of another type fall back to setObject")
+    void searchValues() throws SQLException {
+        var statement = mock(PreparedStatement.class);
+        var binder = new EntityBinder(Bid.class, metadataRegistry);
+        var metadata = metadataRegistry.getMetadata(Bid.class);
+
+        binder.bindValue(statement, 1, metadata.getProperty("item"), 3L);
+        binder.bindValue(statement, 2, metadata.getProperty("price"), 5);
+
+        verify(statement).setLong(1, 3L);
+        verify(statement).setObject(2, 5);
+        verifyNoMoreInteractions(statement);
+    }
+}
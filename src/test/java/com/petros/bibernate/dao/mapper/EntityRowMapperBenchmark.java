@@ -0,0 +1,169 @@
+package com.petros.bibernate.dao.mapper;
+
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.session.model.Product;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link EntityRowMapper} with a hand-written mapper that reads every column with its typed getter and
+ * calls the setters directly, i.e. the code a mapper generated per entity class would consist of. The first pair of
+ * benchmarks maps the rows of an in-memory result set, so only the mapping itself is measured, the second pair
+ * queries the same rows from an H2 in-memory database.
+ * <p>
+ * Run with {@code mvn test-compile} followed by the {@link #main(String[])} method on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityRowMapperBenchmark {
+    private static final int ROW_COUNT = 1000;
+    private static final String QUERY = "SELECT * FROM products";
+    private SimpleResultSet resultSet;
+    private Connection connection;
+    private EntityRowMapper<Product> entityRowMapper;
+    private int[] columnIndexes;
+
+    @Setup
+    public void setUp() throws SQLException {
+        resultSet = new SimpleResultSet();
+        resultSet.setAutoClose(false);
+        resultSet.addColumn("id", Types.BIGINT, 19, 0);
+        resultSet.addColumn("name", Types.VARCHAR, 255, 0);
+        resultSet.addColumn("producer", Types.VARCHAR, 255, 0);
+        resultSet.addColumn("price", Types.NUMERIC, 10, 2);
+        resultSet.addColumn("created_at", Types.TIMESTAMP, 26, 0);
+        resultSet.addColumn("is_available", Types.BOOLEAN, 1, 0);
+        resultSet.addColumn("stock_count", Types.INTEGER, 10, 0);
+        resultSet.addColumn("weight", Types.DOUBLE, 17, 0);
+        resultSet.addColumn("description", Types.VARCHAR, 255, 0);
+        resultSet.addColumn("sale_date", Types.DATE, 10, 0);
+        resultSet.addColumn("sale_time", Types.TIME, 8, 0);
+        for (long i = 0; i < ROW_COUNT; i++) {
+            resultSet.addRow(i, "product " + i, "producer", BigDecimal.valueOf(i, 2),
+                    Timestamp.valueOf(LocalDateTime.of(2023, 3, 14, 10, 15)), i % 2 == 0, (int) i, 1.5,
+                    null, Date.valueOf(LocalDate.of(2023, 3, 14)), Time.valueOf(LocalTime.NOON));
+        }
+        entityRowMapper = new EntityRowMapper<>(Product.class, new EntityMetadataRegistry());
+        columnIndexes = entityRowMapper.getColumnIndexes(QUERY, resultSet);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:row_mapper_benchmark");
+        try (var statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE products (id bigint PRIMARY KEY, name varchar(255), "
+                    + "producer varchar(255), price decimal(10, 2), created_at timestamp, is_available boolean, "
+                    + "stock_count int, weight double, description varchar(255), sale_date date, sale_time time)");
+        }
+        try (var statement = connection.prepareStatement(
+                "INSERT INTO products VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            while (resultSet.next()) {
+                for (int i = 1; i <= resultSet.getColumnCount(); i++) {
+                    statement.setObject(i, resultSet.getObject(i));
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void entityRowMapper(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            blackhole.consume(entityRowMapper.mapRow(resultSet, columnIndexes));
+        }
+    }
+
+    @Benchmark
+    public void handWrittenMapper(Blackhole blackhole) throws SQLException {
+        resultSet.beforeFirst();
+        while (resultSet.next()) {
+            blackhole.consume(mapProduct(resultSet));
+        }
+    }
+
+    @Benchmark
+    public void entityRowMapperQuery(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement(QUERY);
+             var queryResult = statement.executeQuery()) {
+            int[] indexes = entityRowMapper.getColumnIndexes(QUERY, queryResult);
+            while (queryResult.next()) {
+                blackhole.consume(entityRowMapper.mapRow(queryResult, indexes));
+            }
+        }
+    }
+
+    @Benchmark
+    public void handWrittenMapperQuery(Blackhole blackhole) throws SQLException {
+        try (var statement = connection.prepareStatement(QUERY);
+             var queryResult = statement.executeQuery()) {
+            while (queryResult.next()) {
+                blackhole.consume(mapProduct(queryResult));
+            }
+        }
+    }
+
+    private static Product mapProduct(ResultSet resultSet) throws SQLException {
+        var product = new Product();
+        long id = resultSet.getLong(1);
+        product.setId(resultSet.wasNull() ? null : id);
+        product.setProductName(resultSet.getString(2));
+        product.setProducer(resultSet.getString(3));
+        product.setPrice(resultSet.getBigDecimal(4));
+        Timestamp createdAt = resultSet.getTimestamp(5);
+        product.setCreatedAt(createdAt == null ? null : createdAt.toLocalDateTime());
+        boolean isAvailable = resultSet.getBoolean(6);
+        product.setIsAvailable(resultSet.wasNull() ? null : isAvailable);
+        int stockCount = resultSet.getInt(7);
+        product.setStockCount(resultSet.wasNull() ? null : stockCount);
+        double weight = resultSet.getDouble(8);
+        product.setWeight(resultSet.wasNull() ? null : weight);
+        product.setDescription(resultSet.getString(9));
+        Date saleDate = resultSet.getDate(10);
+        product.setSaleDate(saleDate == null ? null : saleDate.toLocalDate());
+        Time saleTime = resultSet.getTime(11);
+        product.setSaleTime(saleTime == null ? null : saleTime.toLocalTime());
+        return product;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EntityRowMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,101 @@
+package com.petros.bibernate.dao.mapper;
+
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.metadata.model.Measurement;
+import com.petros.bibernate.session.model.Bid;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntityRowMapperTest {
+    private final EntityMetadataRegistry metadataRegistry = new EntityMetadataRegistry();
+
+    private static ResultSet mockResultSet(String... columnLabels) throws SQLException {
+        var resultSet = mock(ResultSet.class);
+        var resultSetMetaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+        when(resultSetMetaData.getColumnCount()).thenReturn(columnLabels.length);
+        for (int i = 0; i < columnLabels.length; i++) {
+            when(resultSetMetaData.getColumnLabel(i + 1)).thenReturn(columnLabels[i]);
+        }
+        return resultSet;
+    }
+
+    @Test
+    @DisplayName("Basic columns are converted to the field types, null values leave primitives untouched")
+    void basicColumns() throws SQLException {
+        try (var connection = DriverManager.getConnection("jdbc:h2:mem:row_mapper_basic");
+             var statement = connection.createStatement()) {
+            var resultSet = statement.executeQuery("SELECT 5 AS id, 'north' AS sensor, 3 AS READING_COUNT, "
+                    + "CAST(19.5 AS REAL) AS temperature, CAST(NULL AS BOOLEAN) AS valid");
+            resultSet.next();
+
+            var measurement = new EntityRowMapper<>(Measurement.class, metadataRegistry).mapRow(resultSet);
+
+            assertEquals(5L, measurement.getId());
+            assertEquals("north", measurement.getSensor());
+            assertEquals(3, measurement.getReadingCount());
+            assertEquals(19.5, measurement.getTemperature());
+            assertFalse(measurement.isValid());
+        }
+    }
+
+    @Test
+    @DisplayName("Foreign key columns are mapped to stubs of the related entity")
+    void relationColumns() throws SQLException {
+        var mapper = new EntityRowMapper<>(Bid.class, metadataRegistry);
+        var query = "SELECT * FROM (VALUES (7, 10.00, 1), (NULL, 1.00, 2)) AS bids(item_id, price, id) ORDER BY id";
+        try (var connection = DriverManager.getConnection("jdbc:h2:mem:row_mapper_relation");
+             var statement = connection.createStatement()) {
+            var resultSet = statement.executeQuery(query);
+            resultSet.next();
+            int[] columnIndexes = mapper.getColumnIndexes(query, resultSet);
+            var first = mapper.mapRow(resultSet, columnIndexes);
+            resultSet.next();
+            var second = mapper.mapRow(resultSet, columnIndexes);
+
+            assertArrayEquals(new int[]{3, 2, 1}, columnIndexes);
+            assertEquals(1L, first.getId());
+            assertEquals(0, new BigDecimal("10.00").compareTo(first.getPrice()));
+            assertNotNull(first.getItem());
+            assertEquals(7L, first.getItem().getId());
+            assertEquals(2L, second.getId());
+            assertNull(second.getItem());
+        }
+    }
+
+    @Test
+    @DisplayName("Column indexes are resolved once per query")
+    void columnIndexesAreCached() throws SQLException {
+        var mapper = new EntityRowMapper<>(Bid.class, metadataRegistry);
+        var resultSet = mockResultSet("id", "price", "item_id");
+
+        int[] first = mapper.getColumnIndexes("SELECT * FROM bids;", resultSet);
+        int[] second = mapper.getColumnIndexes("SELECT * FROM bids;", resultSet);
+
+        assertArrayEquals(new int[]{1, 2, 3}, first);
+        assertSame(first, second);
+        verify(resultSet, times(1)).getMetaData();
+    }
+
+    @Test
+    @DisplayName("Missing column fails the mapping")
+    void missingColumn() throws SQLException {
+        var mapper = new EntityRowMapper<>(Bid.class, metadataRegistry);
+        var resultSet = mockResultSet("id", "price");
+
+        var exception = assertThrows(SQLException.class, () -> mapper.getColumnIndexes("SELECT 1;", resultSet));
+        assertEquals("Column item_id of entity Bid is not present in the result set", exception.getMessage());
+    }
+}
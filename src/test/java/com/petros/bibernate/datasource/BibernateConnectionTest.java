@@ -0,0 +1,160 @@
+package com.petros.bibernate.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BibernateConnectionTest {
+    private static final String URL = "jdbc:h2:mem:statement_cache;DB_CLOSE_DELAY=-1";
+    private static final String SELECT_SQL = "SELECT name FROM items WHERE id = ?";
+    private Connection physicalConnection;
+
+    @BeforeEach
+    void setUpDatabase() throws SQLException {
+        physicalConnection = DriverManager.getConnection(URL, "sa", "");
+        try (var statement = physicalConnection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE items (id bigint auto_increment PRIMARY KEY, name varchar(255))");
+            statement.execute("INSERT INTO items(name) VALUES ('first'), ('second')");
+        }
+    }
+
+    @AfterEach
+    void closeConnection() throws SQLException {
+        physicalConnection.close();
+    }
+
+    @Test
+    @DisplayName("Closed statements are reused for the same SQL and generated-keys mode")
+    void reuseStatements() throws SQLException {
+        var connection = new BibernateConnection(physicalConnection, new LinkedBlockingQueue<>(), 10);
+        var physicalStatement = selectName(connection, 1L);
+        assertSame(physicalStatement, selectName(connection, 2L));
+        assertEquals(1, connection.getStatementCacheHits());
+        assertEquals(1, connection.getStatementCacheMisses());
+
+        try (var insert = connection.prepareStatement("INSERT INTO items(name) VALUES (?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            insert.setString(1, "third");
+            insert.executeUpdate();
+            var generatedKeys = insert.getGeneratedKeys();
+            assertTrue(generatedKeys.next());
+            assertEquals(3L, generatedKeys.getLong(1));
+        }
+        try (var insert = connection.prepareStatement("INSERT INTO items(name) VALUES (?)")) {
+            assertSame(connection, insert.getConnection());
+        }
+        assertEquals(1, connection.getStatementCacheHits());
+        assertEquals(3, connection.getStatementCacheMisses());
+    }
+
+    @Test
+    @DisplayName("Statements in use are not shared and can not be used after close")
+    void statementsInUse() throws SQLException {
+        var connection = new BibernateConnection(physicalConnection, new LinkedBlockingQueue<>(), 10);
+        var first = connection.prepareStatement(SELECT_SQL);
+        var second = connection.prepareStatement(SELECT_SQL);
+        assertNotSame(first.unwrap(PreparedStatement.class), second.unwrap(PreparedStatement.class));
+        first.setLong(1, 1L);
+        var resultSet = first.executeQuery();
+        first.close();
+        second.close();
+
+        assertTrue(first.isClosed());
+        assertTrue(resultSet.isClosed());
+        assertThrows(SQLException.class, () -> first.setLong(1, 2L));
+        assertEquals(2, connection.getStatementCacheMisses());
+    }
+
+    @Test
+    @DisplayName("Fetch size, max rows and query timeout are reset when a statement is returned")
+    void resetStatementSettings() throws SQLException {
+        var connection = new BibernateConnection(physicalConnection, new LinkedBlockingQueue<>(), 10);
+        int fetchSize;
+        try (var statement = connection.prepareStatement(SELECT_SQL)) {
+            fetchSize = statement.getFetchSize();
+            statement.setFetchSize(fetchSize + 7);
+            statement.setMaxRows(1);
+            statement.setQueryTimeout(5);
+        }
+
+        try (var statement = connection.prepareStatement(SELECT_SQL)) {
+            assertEquals(1, connection.getStatementCacheHits());
+            assertEquals(fetchSize, statement.getFetchSize());
+            assertEquals(0, statement.getMaxRows());
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    @DisplayName("Least recently used statements are evicted and closed")
+    void evictStatements() throws SQLException {
+        var connection = new BibernateConnection(physicalConnection, new LinkedBlockingQueue<>(), 2);
+        var evicted = prepareAndClose(connection, "SELECT 1");
+        var kept = prepareAndClose(connection, "SELECT 2");
+        prepareAndClose(connection, "SELECT 2");
+        prepareAndClose(connection, "SELECT 3");
+
+        assertTrue(evicted.isClosed());
+        assertFalse(kept.isClosed());
+        assertNotSame(evicted, prepareAndClose(connection, "SELECT 1"));
+        assertEquals(1, connection.getStatementCacheHits());
+        assertEquals(4, connection.getStatementCacheMisses());
+
+        connection.closePhysical();
+        assertTrue(kept.isClosed());
+    }
+
+    @Test
+    @DisplayName("Statement cache is disabled when its size is not positive")
+    void disabledCache() throws SQLException {
+        var connection = new BibernateConnection(physicalConnection, new LinkedBlockingQueue<>(), 0);
+        var statement = selectName(connection, 1L);
+        assertTrue(statement.isClosed());
+        assertNotSame(statement, selectName(connection, 1L));
+        assertEquals(0, connection.getStatementCacheHits());
+        assertEquals(0, connection.getStatementCacheMisses());
+    }
+
+    @Test
+    @DisplayName("Data source sums the statement cache counters of its connections")
+    void dataSourceCounters() throws SQLException {
+        var dataSource = new BibernateDataSource(URL, "sa", "", 2, 10);
+        for (int i = 0; i < 3; i++) {
+            try (var connection = dataSource.getConnection()) {
+                selectName(connection, 1L);
+            }
+        }
+        assertEquals(3, dataSource.getStatementCacheHits() + dataSource.getStatementCacheMisses());
+        assertTrue(dataSource.getStatementCacheHits() >= 1);
+        dataSource.close();
+    }
+
+    // returns the physical statement
+    private static PreparedStatement selectName(Connection connection, long id) throws SQLException {
+        try (var statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setLong(1, id);
+            try (var resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+            }
+            return statement.unwrap(PreparedStatement.class);
+        }
+    }
+
+    private static PreparedStatement prepareAndClose(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.executeQuery();
+            return statement.unwrap(PreparedStatement.class);
+        }
+    }
+}
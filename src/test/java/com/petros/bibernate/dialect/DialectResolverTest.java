@@ -0,0 +1,28 @@
+package com.petros.bibernate.dialect;
+
+import com.petros.bibernate.exception.BibernateException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DialectResolverTest {
+
+    @Test
+    @DisplayName("Dialect is resolved from the JDBC URL")
+    void resolve() {
+        assertInstanceOf(H2Dialect.class, DialectResolver.resolve("jdbc:h2:mem:test;DB_CLOSE_DELAY=-1"));
+        assertInstanceOf(PostgreSQLDialect.class, DialectResolver.resolve("jdbc:postgresql://localhost:5432/db"));
+        assertInstanceOf(MySQLDialect.class, DialectResolver.resolve("jdbc:mysql://localhost:3306/db"));
+        assertInstanceOf(SQLServerDialect.class, DialectResolver.resolve("jdbc:sqlserver://localhost:1433"));
+        assertInstanceOf(GenericDialect.class, DialectResolver.resolve("jdbc:oracle:thin:@localhost:1521:db"));
+    }
+
+    @Test
+    @DisplayName("Configured dialect class is instantiated")
+    void create() {
+        assertInstanceOf(SQLServerDialect.class, DialectResolver.create(SQLServerDialect.class.getName()));
+        assertThrows(BibernateException.class, () -> DialectResolver.create(String.class.getName()));
+        assertThrows(BibernateException.class, () -> DialectResolver.create("com.example.UnknownDialect"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.petros.bibernate.dialect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DialectTest {
+    private static final List<String> COLUMNS = List.of("id", "name", "price");
+
+    @Test
+    @DisplayName("Upsert statements are rendered with the syntax of every database")
+    void upsertSql() {
+        assertEquals("MERGE INTO items(id, name, price) KEY(id) VALUES (?, ?, ?);",
+                new H2Dialect().getUpsertSql("items", "id", COLUMNS));
+        assertEquals("INSERT INTO items(id, name, price) VALUES (?, ?, ?) ON CONFLICT (id) "
+                        + "DO UPDATE SET name = EXCLUDED.name, price = EXCLUDED.price;",
+                new PostgreSQLDialect().getUpsertSql("items", "id", COLUMNS));
+        assertEquals("INSERT INTO items(id, name, price) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE "
+                        + "name = VALUES(name), price = VALUES(price);",
+                new MySQLDialect().getUpsertSql("items", "id", COLUMNS));
+        assertEquals("MERGE INTO items t USING (VALUES (?, ?, ?)) s(id, name, price) ON t.id = s.id "
+                        + "WHEN MATCHED THEN UPDATE SET t.name = s.name, t.price = s.price "
+                        + "WHEN NOT MATCHED THEN INSERT (id, name, price) VALUES (s.id, s.name, s.price);",
+                new SQLServerDialect().getUpsertSql("items", "id", COLUMNS));
+        assertEquals("INSERT INTO items(id) VALUES (?) ON CONFLICT (id) DO NOTHING;",
+                new PostgreSQLDialect().getUpsertSql("items", "id", List.of("id")));
+    }
+}
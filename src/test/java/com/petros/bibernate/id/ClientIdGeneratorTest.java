@@ -0,0 +1,111 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.H2Dialect;
+import com.petros.bibernate.dialect.MySQLDialect;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.model.Event;
+import com.petros.bibernate.id.model.Label;
+import com.petros.bibernate.id.model.Reading;
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.session.SessionImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClientIdGeneratorTest {
+    private final IdGeneratorRegistry idGeneratorRegistry = new IdGeneratorRegistry(null, new H2Dialect(), 42);
+
+    @Test
+    @DisplayName("UUID ids are version 7 UUIDs that start with the current time")
+    void uuidV7() throws InterruptedException {
+        var generator = idGeneratorRegistry.getGenerator(EntityMetadata.of(Event.class));
+        long before = System.currentTimeMillis();
+        var first = (UUID) generator.generate();
+        Thread.sleep(2);
+        var second = (UUID) generator.generate();
+
+        assertEquals(7, first.version());
+        assertEquals(2, first.variant());
+        long timestamp = first.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+        assertTrue(first.compareTo(second) < 0);
+        assertEquals(36, ((String) new UuidV7Generator(String.class).generate()).length());
+        assertThrows(BibernateException.class, () -> new UuidV7Generator(Long.class));
+    }
+
+    @Test
+    @DisplayName("Snowflake ids are increasing and contain the node id")
+    void snowflake() {
+        var generator = idGeneratorRegistry.getGenerator(EntityMetadata.of(Reading.class));
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = (Long) generator.generate();
+            assertTrue(id > previous);
+            assertEquals(42, (id >>> 12) & 1023);
+            previous = id;
+        }
+        assertThrows(BibernateException.class, () -> new SnowflakeIdGenerator(1024, Long.class));
+        assertThrows(BibernateException.class, () -> new SnowflakeIdGenerator(1, Integer.class));
+    }
+
+    @Test
+    @DisplayName("Sessions created without a factory share the id generators of their data source")
+    void sharedRegistry() {
+        var dataSource = new BibernateDataSource("jdbc:h2:mem:shared_ids;DB_CLOSE_DELAY=-1", "sa", "", 1);
+        var otherDataSource = new BibernateDataSource("jdbc:h2:mem:shared_ids;DB_CLOSE_DELAY=-1", "sa", "", 1);
+        var registry = dataSource.getIdGeneratorRegistry(new H2Dialect());
+        var metadata = EntityMetadata.of(Reading.class);
+
+        assertSame(registry, dataSource.getIdGeneratorRegistry(new H2Dialect()));
+        assertSame(registry.getGenerator(metadata),
+                dataSource.getIdGeneratorRegistry(new H2Dialect()).getGenerator(metadata));
+        assertNotSame(registry, dataSource.getIdGeneratorRegistry(new MySQLDialect()));
+        assertNotSame(registry, otherDataSource.getIdGeneratorRegistry(new H2Dialect()));
+        otherDataSource.close();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Custom id generator is created from the class name of @GeneratedValue")
+    void customGenerator() {
+        var generator = idGeneratorRegistry.getGenerator(EntityMetadata.of(Label.class));
+        assertEquals("label-1", generator.generate());
+        assertEquals("label-2", generator.generate());
+    }
+
+    @Test
+    @DisplayName("Entities with client-side ids are inserted without reading generated keys")
+    void persistWithClientIds() throws SQLException {
+        var dataSource = new BibernateDataSource("jdbc:h2:mem:client_ids;DB_CLOSE_DELAY=-1", "sa", "", 10);
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE events (id uuid PRIMARY KEY, name varchar(255))");
+        }
+        var persister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var session = new SessionImpl(dataSource, persister, idGeneratorRegistry, 10);
+        var first = new Event();
+        first.setName("first");
+        var second = new Event();
+        second.setName("second");
+
+        session.getTransaction().begin();
+        session.persist(first);
+        session.persist(second);
+        assertNotNull(first.getId());
+        assertSame(second, session.find(Event.class, second.getId()));
+        session.getTransaction().commit();
+
+        verify(persister, times(1)).insertAll(any(), any());
+        assertEquals(2, session.findAll(Event.class).size());
+        dataSource.close();
+    }
+}
@@ -0,0 +1,131 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.H2Dialect;
+import com.petros.bibernate.dialect.MySQLDialect;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.model.Ticket;
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
+import com.petros.bibernate.session.SessionImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SequenceIdGeneratorTest {
+    private BibernateDataSource dataSource;
+    private IdGeneratorRegistry idGeneratorRegistry;
+
+    @BeforeEach
+    void setUpDatabase() throws SQLException {
+        dataSource = new BibernateDataSource("jdbc:h2:mem:id_generator;DB_CLOSE_DELAY=-1", "sa", "", 10);
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE SEQUENCE tickets_seq START WITH 1 INCREMENT BY 5");
+            statement.execute("CREATE TABLE tickets (id bigint PRIMARY KEY, title varchar(255))");
+        }
+        idGeneratorRegistry = new IdGeneratorRegistry(dataSource, new H2Dialect());
+    }
+
+    @AfterEach
+    void closeDataSource() {
+        dataSource.close();
+    }
+
+    private long nextSequenceValue() throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT NEXT VALUE FOR tickets_seq")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Ids are handed out from blocks of allocation size reserved with one sequence call")
+    void pooledIds() throws SQLException {
+        var generator = idGeneratorRegistry.getGenerator(EntityMetadata.of(Ticket.class));
+        assertSame(generator, idGeneratorRegistry.getGenerator(EntityMetadata.of(Ticket.class)));
+
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(generator.generate());
+        }
+
+        assertEquals(LongStream.rangeClosed(1, 12).boxed().toList(), ids);
+        assertEquals(16, nextSequenceValue());
+    }
+
+    @Test
+    @DisplayName("Concurrent sessions never get the same id")
+    void concurrentIds() throws Exception {
+        var generator = idGeneratorRegistry.getGenerator(EntityMetadata.of(Ticket.class));
+        Set<Object> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        assertTrue(ids.add(generator.generate()));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Persist assigns the id at once and the inserts are batched")
+    void persistAssignsId() {
+        var persister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var session = new SessionImpl(dataSource, persister, idGeneratorRegistry, 10);
+        List<Ticket> tickets = new ArrayList<>();
+        session.getTransaction().begin();
+        for (int i = 0; i < 3; i++) {
+            var ticket = new Ticket();
+            ticket.setTitle("Ticket " + i);
+            session.persist(ticket);
+            tickets.add(ticket);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L), tickets.stream().map(Ticket::getId).toList());
+        verify(persister, never()).insertAll(any(), any());
+        session.getTransaction().commit();
+
+        verify(persister, times(1)).insertAll(any(), any());
+        verify(persister, never()).insert(any(), any());
+        assertSame(tickets.get(1), session.find(Ticket.class, 2L));
+        assertEquals(3, session.findAll(Ticket.class).size());
+    }
+
+    @Test
+    @DisplayName("Sequence ids are rejected on databases without sequences")
+    void unsupportedSequences() {
+        var registry = new IdGeneratorRegistry(dataSource, new MySQLDialect());
+        var metadata = EntityMetadata.of(Ticket.class);
+        assertThrows(BibernateException.class, () -> registry.getGenerator(metadata));
+    }
+}
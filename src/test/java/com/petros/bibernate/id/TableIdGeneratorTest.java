@@ -0,0 +1,102 @@
+package com.petros.bibernate.id;
+
+import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.H2Dialect;
+import com.petros.bibernate.id.model.Voucher;
+import com.petros.bibernate.metadata.EntityMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableIdGeneratorTest {
+    private BibernateDataSource dataSource;
+
+    @BeforeEach
+    void setUpDatabase() throws SQLException {
+        dataSource = new BibernateDataSource("jdbc:h2:mem:table_id_generator;DB_CLOSE_DELAY=-1", "sa", "", 10);
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("CREATE TABLE bibernate_sequences (sequence_name varchar(255) PRIMARY KEY, "
+                    + "next_val bigint NOT NULL)");
+        }
+    }
+
+    @AfterEach
+    void closeDataSource() {
+        dataSource.close();
+    }
+
+    private long nextValue() throws SQLException {
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement();
+             var resultSet = statement.executeQuery(
+                     "SELECT next_val FROM bibernate_sequences WHERE sequence_name = 'vouchers'")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Ids are handed out from blocks reserved in the id table")
+    void reserveBlocks() throws SQLException {
+        var metadata = EntityMetadata.of(Voucher.class);
+        var generator = new IdGeneratorRegistry(dataSource, new H2Dialect()).getGenerator(metadata);
+        assertInstanceOf(TableIdGenerator.class, generator);
+
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(generator.generate());
+        }
+        assertEquals(IntStream.rangeClosed(1, 10).boxed().toList(), ids);
+        assertEquals(11, nextValue());
+
+        var otherFactoryGenerator = new IdGeneratorRegistry(dataSource, new H2Dialect()).getGenerator(metadata);
+        assertEquals(11, otherFactoryGenerator.generate());
+        assertEquals(21, nextValue());
+        assertEquals(21, generator.generate());
+        assertEquals(31, nextValue());
+    }
+
+    @Test
+    @DisplayName("Generators of different factories never hand out the same id")
+    void concurrentGenerators() throws Exception {
+        var metadata = EntityMetadata.of(Voucher.class);
+        List<IdGenerator> generators = List.of(
+                new IdGeneratorRegistry(dataSource, new H2Dialect()).getGenerator(metadata),
+                new IdGeneratorRegistry(dataSource, new H2Dialect()).getGenerator(metadata));
+        generators.get(0).generate();
+        Set<Object> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                var generator = generators.get(i % 2);
+                tasks.add(() -> {
+                    for (int j = 0; j < 200; j++) {
+                        assertTrue(ids.add(generator.generate()));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(800, ids.size());
+    }
+}
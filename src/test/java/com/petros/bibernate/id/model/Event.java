@@ -0,0 +1,21 @@
+package com.petros.bibernate.id.model;
+
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.annotation.GeneratedValue;
+import com.petros.bibernate.annotation.GenerationType;
+import com.petros.bibernate.annotation.Id;
+import com.petros.bibernate.annotation.Table;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@Entity
+@Table("events")
+public class Event {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    private String name;
+}
@@ -0,0 +1,19 @@
+package com.petros.bibernate.id.model;
+
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.annotation.GeneratedValue;
+import com.petros.bibernate.annotation.GenerationType;
+import com.petros.bibernate.annotation.Id;
+import com.petros.bibernate.annotation.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table("labels")
+public class Label {
+    @Id
+    @GeneratedValue(strategy = GenerationType.CUSTOM, generator = "com.petros.bibernate.id.model.LabelIdGenerator")
+    private String id;
+
+    private String name;
+}
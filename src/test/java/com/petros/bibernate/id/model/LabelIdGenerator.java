@@ -0,0 +1,14 @@
+package com.petros.bibernate.id.model;
+
+import com.petros.bibernate.id.IdGenerator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LabelIdGenerator implements IdGenerator {
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Object generate() {
+        return "label-" + counter.incrementAndGet();
+    }
+}
@@ -0,0 +1,19 @@
+package com.petros.bibernate.id.model;
+
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.annotation.GeneratedValue;
+import com.petros.bibernate.annotation.GenerationType;
+import com.petros.bibernate.annotation.Id;
+import com.petros.bibernate.annotation.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table("tickets")
+public class Ticket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, allocationSize = 5)
+    private Long id;
+
+    private String title;
+}
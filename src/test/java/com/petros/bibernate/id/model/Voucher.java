@@ -0,0 +1,19 @@
+package com.petros.bibernate.id.model;
+
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.annotation.GeneratedValue;
+import com.petros.bibernate.annotation.GenerationType;
+import com.petros.bibernate.annotation.Id;
+import com.petros.bibernate.annotation.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table("vouchers")
+public class Voucher {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, allocationSize = 10)
+    private Integer id;
+
+    private String code;
+}
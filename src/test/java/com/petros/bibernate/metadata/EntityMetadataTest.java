@@ -0,0 +1,156 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.annotation.FetchType;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.session.model.Bid;
+import com.petros.bibernate.session.model.Item;
+import com.petros.bibernate.session.model.PersonInfo;
+import com.petros.bibernate.session.model.Product;
+import com.petros.bibernate.util.model.BrokenPerson;
+import com.petros.bibernate.util.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityMetadataTest {
+
+    private static List<String> columnNames(List<PropertyMetadata> properties) {
+        return properties.stream().map(PropertyMetadata::getColumnName).toList();
+    }
+
+    @Test
+    @DisplayName("Metadata contains table name, id property and ordered columns")
+    void productMetadata() {
+        var metadata = EntityMetadata.of(Product.class);
+
+        assertEquals("products", metadata.getTableName());
+        assertEquals("id", metadata.getIdProperty().getName());
+        assertTrue(metadata.getIdProperty().isGeneratedId());
+        assertNull(metadata.getMapsIdProperty());
+        assertEquals(List.of("name", "producer", "price", "created_at", "is_available", "stock_count", "weight",
+                "description", "sale_date", "sale_time"), columnNames(metadata.getInsertableProperties()));
+        assertEquals(columnNames(metadata.getInsertableProperties()),
+                columnNames(metadata.getUpdatableProperties()));
+        assertEquals(11, metadata.getSnapshotProperties().size());
+        assertTrue(metadata.getRelationProperties().isEmpty());
+    }
+
+    @Test
+    @DisplayName("@MapsId relation provides the id column and is neither insertable nor updatable")
+    void mapsIdMetadata() {
+        var metadata = EntityMetadata.of(PersonInfo.class);
+
+        assertEquals("person", metadata.getMapsIdProperty().getName());
+        assertEquals(List.of("id", "info"), columnNames(metadata.getInsertableProperties()));
+        assertEquals(List.of("info"), columnNames(metadata.getUpdatableProperties()));
+    }
+
+    @Test
+    @DisplayName("Relation descriptors contain related entity type, join column and fetch type")
+    void relationMetadata() {
+        var bidItem = EntityMetadata.of(Bid.class).getProperty("item");
+        assertEquals(PropertyKind.TO_ONE, bidItem.getKind());
+        assertEquals(Item.class, bidItem.getRelatedEntityType());
+        assertEquals("item_id", bidItem.getColumnName());
+
+        var itemMetadata = EntityMetadata.of(Item.class);
+        var itemBids = itemMetadata.getProperty("bids");
+        assertEquals(PropertyKind.TO_MANY, itemBids.getKind());
+        assertEquals(Bid.class, itemBids.getRelatedEntityType());
+        assertEquals("item", itemBids.getMappedBy());
+        assertEquals(FetchType.EAGER, itemBids.getFetchType());
+        assertEquals(List.of("id", "name"), columnNames(itemMetadata.getInsertableProperties()));
+    }
+
+    @Test
+    @DisplayName("CRUD statements are rendered together with the metadata")
+    void entitySql() {
+        var sql = EntityMetadata.of(PersonInfo.class).getSql();
+
+        assertEquals("INSERT INTO person_info(id, info) VALUES (?,?);", sql.getInsertSql());
+        assertEquals("UPDATE person_info SET info = ? WHERE id = ?;", sql.getUpdateByIdSql());
+        assertEquals("DELETE FROM person_info WHERE id = ?;", sql.getDeleteByIdSql());
+        assertEquals("SELECT * FROM person_info WHERE id = ?;", sql.getSelectByIdSql());
+        assertEquals("SELECT * FROM person_info;", sql.getSelectAllSql());
+        assertSame(sql.getSelectByIdSql(), sql.getSelectByColumnSql("id"));
+        assertEquals("SELECT * FROM person_info WHERE info = ?;", sql.getSelectByColumnSql("info"));
+        assertEquals("INSERT INTO person_info(id, info) VALUES (?,?),(?,?);", sql.getInsertRowsSql(2));
+        assertSame(sql.getInsertRowsSql(2), sql.getInsertRowsSql(2));
+        assertEquals("DELETE FROM person_info WHERE id IN (?,?,?);", sql.getDeleteByIdsSql(3));
+        assertSame(sql.getDeleteByIdsSql(3), sql.getDeleteByIdsSql(3));
+    }
+
+    @Test
+    @DisplayName("Bulk statements compare criteria for equality or with IS NULL")
+    void bulkSql() {
+        var metadata = EntityMetadata.of(Bid.class);
+        var sql = metadata.getSql();
+        var price = metadata.getProperty("price");
+        var item = metadata.getProperty("item");
+        var nullCriteria = new BitSet();
+        nullCriteria.set(1);
+
+        assertEquals("UPDATE bids SET price = ?;", sql.getUpdateWhereSql(List.of(price), List.of(), new BitSet()));
+        assertEquals("UPDATE bids SET price = ?, item_id = ? WHERE item_id = ? AND price IS NULL;",
+                sql.getUpdateWhereSql(List.of(price, item), List.of(item, price), nullCriteria));
+        assertEquals("DELETE FROM bids;", sql.getDeleteWhereSql(List.of(), new BitSet()));
+        assertEquals("DELETE FROM bids WHERE item_id = ? AND price IS NULL;",
+                sql.getDeleteWhereSql(List.of(item, price), nullCriteria));
+    }
+
+    @Test
+    @DisplayName("Dynamic update statements contain only the changed updatable columns")
+    void dynamicUpdateSql() {
+        var metadata = EntityMetadata.of(Bid.class);
+        var sql = metadata.getSql();
+        assertEquals(List.of("id", "price", "item_id"), columnNames(metadata.getSnapshotProperties()));
+
+        var dirtyProperties = new BitSet();
+        dirtyProperties.set(2);
+        assertEquals("UPDATE bids SET item_id = ? WHERE id = ?;", sql.getUpdateByIdSql(dirtyProperties));
+        assertSame(sql.getUpdateByIdSql(dirtyProperties), sql.getUpdateByIdSql((BitSet) dirtyProperties.clone()));
+
+        dirtyProperties.set(1);
+        assertEquals(sql.getUpdateByIdSql(), sql.getUpdateByIdSql(dirtyProperties));
+        dirtyProperties.set(0);
+        assertEquals(sql.getUpdateByIdSql(), sql.getUpdateByIdSql(dirtyProperties));
+
+        var idOnly = new BitSet();
+        idOnly.set(0);
+        assertFalse(metadata.isAnyUpdatable(idOnly));
+        assertTrue(metadata.isAnyUpdatable(dirtyProperties));
+    }
+
+    @Test
+    @DisplayName("Property values are read and written through metadata")
+    void propertyAccess() {
+        var metadata = EntityMetadata.of(Product.class);
+        var product = (Product) metadata.newInstance();
+
+        metadata.getProperty("productName").setValue(product, "Play Station");
+        product.setId(7L);
+
+        assertEquals("Play Station", product.getProductName());
+        assertEquals(7L, metadata.getIdValue(product));
+    }
+
+    @Test
+    @DisplayName("Invalid mappings are rejected when metadata is built")
+    void invalidMapping() {
+        var ex = assertThrows(BibernateException.class, () -> EntityMetadata.of(User.class));
+        assertEquals("Entity User must contain exactly one field annotated with @Id", ex.getMessage());
+        assertThrows(BibernateException.class, () -> EntityMetadata.of(BrokenPerson.class));
+        assertThrows(BibernateException.class, () -> EntityMetadata.of(Product.class).getProperty("unknown"));
+    }
+
+    @Test
+    @DisplayName("Registry builds metadata once per entity class")
+    void registryCachesMetadata() {
+        var registry = new EntityMetadataRegistry();
+        assertSame(registry.getMetadata(Product.class), registry.getMetadata(Product.class));
+    }
+}
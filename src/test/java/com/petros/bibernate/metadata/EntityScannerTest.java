@@ -0,0 +1,61 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.session.model.Bid;
+import com.petros.bibernate.session.model.Car;
+import com.petros.bibernate.session.model.EagerWheelCar;
+import com.petros.bibernate.session.model.Item;
+import com.petros.bibernate.session.model.Note;
+import com.petros.bibernate.session.model.Person;
+import com.petros.bibernate.session.model.PersonInfo;
+import com.petros.bibernate.session.model.Product;
+import com.petros.bibernate.session.model.Wheel;
+import com.petros.bibernate.util.model.BrokenPerson;
+import com.petros.bibernate.util.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityScannerTest {
+
+    private final EntityScanner scanner = new EntityScanner();
+
+    @Test
+    @DisplayName("Package scan finds all entity classes ordered by name")
+    void scanPackage() {
+        var entityClasses = scanner.scan(List.of("com.petros.bibernate.session.model",
+                "com.petros.bibernate.metadata.model.Measurement"));
+
+        assertEquals(List.of(com.petros.bibernate.metadata.model.Measurement.class, Bid.class, Car.class,
+                EagerWheelCar.class, Item.class, Note.class, Person.class, PersonInfo.class, Product.class,
+                Wheel.class), entityClasses);
+    }
+
+    @Test
+    @DisplayName("Classes without @Entity and unknown names are rejected")
+    void scanInvalidNames() {
+        var ex = assertThrows(BibernateException.class, () -> scanner.scan(List.of(User.class.getName())));
+        assertEquals("Class com.petros.bibernate.util.model.User is not annotated with @Entity", ex.getMessage());
+        assertThrows(BibernateException.class, () -> scanner.scan(List.of("com.petros.bibernate.unknown")));
+        assertTrue(scanner.scan(List.of("com.petros.bibernate.util.model")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Registry builds metadata of all entities and reports every invalid mapping")
+    void buildMetadata() {
+        var registry = new EntityMetadataRegistry();
+        var entityClasses = scanner.scan(List.of("com.petros.bibernate.session.model"));
+
+        registry.build(entityClasses);
+        assertEquals(Product.class, registry.getMetadata(Product.class).getEntityClass());
+
+        var ex = assertThrows(BibernateException.class,
+                () -> new EntityMetadataRegistry().build(List.of(Product.class, User.class, BrokenPerson.class)));
+        assertEquals(2, ex.getSuppressed().length);
+        assertTrue(ex.getMessage().contains("Invalid mapping of entity " + User.class.getName()));
+        assertTrue(ex.getMessage().contains("Invalid mapping of entity " + BrokenPerson.class.getName()));
+    }
+}
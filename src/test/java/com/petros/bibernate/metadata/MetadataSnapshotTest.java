@@ -0,0 +1,152 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.session.model.Item;
+import com.petros.bibernate.session.model.PersonInfo;
+import com.petros.bibernate.session.model.Product;
+import com.petros.bibernate.type.TypeConverter;
+import com.petros.bibernate.type.TypeConverterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetadataSnapshotTest {
+    private static final List<Class<?>> ENTITIES = List.of(Product.class, PersonInfo.class, Item.class);
+
+    @TempDir
+    Path directory;
+
+    private Path writeSnapshot() {
+        var snapshot = directory.resolve("metadata.bin");
+        var registry = new EntityMetadataRegistry();
+        registry.build(ENTITIES);
+        registry.writeSnapshot(snapshot);
+        return snapshot;
+    }
+
+    @Test
+    @DisplayName("Snapshot restores the same mapping, converters and SQL as reflection")
+    void restoreSnapshot() {
+        var snapshot = writeSnapshot();
+        var registry = new EntityMetadataRegistry();
+
+        assertEquals(ENTITIES.size(), registry.restoreSnapshot(snapshot, ENTITIES));
+
+        for (Class<?> entityClass : ENTITIES) {
+            var restored = registry.getMetadata(entityClass);
+            var built = EntityMetadata.of(entityClass);
+            assertEquals(built.getTableName(), restored.getTableName());
+            assertEquals(built.getIdProperty().getName(), restored.getIdProperty().getName());
+            assertEquals(built.getSql().getInsertSql(), restored.getSql().getInsertSql());
+            assertEquals(built.getSql().getUpdateByIdSql(), restored.getSql().getUpdateByIdSql());
+            assertEquals(built.getSql().getSelectByIdSql(), restored.getSql().getSelectByIdSql());
+            for (int i = 0; i < built.getProperties().size(); i++) {
+                var expected = built.getProperties().get(i);
+                var actual = restored.getProperties().get(i);
+                assertEquals(expected.getColumnName(), actual.getColumnName());
+                assertEquals(expected.getKind(), actual.getKind());
+                assertEquals(expected.isGeneratedId(), actual.isGeneratedId());
+                assertEquals(expected.getGenerationType(), actual.getGenerationType());
+                assertEquals(expected.getAllocationSize(), actual.getAllocationSize());
+                assertEquals(expected.isMapsId(), actual.isMapsId());
+                assertEquals(expected.getRelatedEntityType(), actual.getRelatedEntityType());
+                assertEquals(expected.getFetchType(), actual.getFetchType());
+            }
+        }
+        assertEquals("person", registry.getMetadata(PersonInfo.class).getMapsIdProperty().getName());
+    }
+
+    @Test
+    @DisplayName("Restored entities create accessors and instances on first use")
+    void restoredAccess() {
+        var snapshot = writeSnapshot();
+        var registry = new EntityMetadataRegistry();
+        registry.restoreSnapshot(snapshot, ENTITIES);
+
+        var metadata = registry.getMetadata(Product.class);
+        var product = (Product) metadata.newInstance();
+        metadata.getProperty("productName").setValue(product, "restored");
+
+        assertEquals("restored", product.getProductName());
+        assertEquals("restored", metadata.getProperty("productName").getValue(product));
+        assertSame(metadata.getProperty("id").getAccessor(), metadata.getProperty("id").getAccessor());
+    }
+
+    @Test
+    @DisplayName("Corrupted or missing snapshot is ignored")
+    void corruptedSnapshot() throws IOException {
+        var snapshot = writeSnapshot();
+        var bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshot, bytes);
+
+        assertEquals(0, new EntityMetadataRegistry().restoreSnapshot(snapshot, ENTITIES));
+        assertEquals(0, new EntityMetadataRegistry().restoreSnapshot(directory.resolve("missing.bin"), ENTITIES));
+    }
+
+    @Test
+    @DisplayName("Entities whose converters changed are not restored")
+    void changedConverters() {
+        var snapshot = writeSnapshot();
+        var typeConverterRegistry = new TypeConverterRegistry();
+        typeConverterRegistry.register(new TypeConverter<LocalTime>() {
+            @Override
+            public Class<LocalTime> getJavaType() {
+                return LocalTime.class;
+            }
+
+            @Override
+            public LocalTime read(ResultSet resultSet, int columnIndex) throws SQLException {
+                return resultSet.getObject(columnIndex, LocalTime.class);
+            }
+        });
+
+        var registry = new EntityMetadataRegistry(typeConverterRegistry);
+        assertEquals(ENTITIES.size() - 1, registry.restoreSnapshot(snapshot, ENTITIES));
+        registry.build(ENTITIES);
+        var saleTime = registry.getMetadata(Product.class).getProperty("saleTime");
+        assertSame(typeConverterRegistry.getConverter(LocalTime.class), saleTime.getTypeConverter());
+    }
+
+    @Test
+    @DisplayName("Entities whose classes changed are not restored")
+    void changedClass() throws IOException {
+        var snapshot = writeSnapshot();
+        var bytes = Files.readAllBytes(snapshot);
+        var className = Product.class.getName().getBytes(StandardCharsets.UTF_8);
+        int checksumOffset = indexOf(bytes, className) + className.length;
+        bytes[checksumOffset + Long.BYTES - 1] ^= 1;
+        var checksum = new CRC32();
+        checksum.update(bytes, 20, bytes.length - 20);
+        ByteBuffer.wrap(bytes).putLong(8, checksum.getValue());
+        Files.write(snapshot, bytes);
+
+        var registry = new EntityMetadataRegistry();
+        assertEquals(ENTITIES.size() - 1, registry.restoreSnapshot(snapshot, ENTITIES));
+        registry.build(ENTITIES);
+        assertEquals(EntityMetadata.of(Product.class).getSql().getInsertSql(),
+                registry.getMetadata(Product.class).getSql().getInsertSql());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] value) {
+        for (int i = 0; i <= bytes.length - value.length; i++) {
+            if (Arrays.equals(bytes, i, i + value.length, value, 0, value.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Value not found");
+    }
+}
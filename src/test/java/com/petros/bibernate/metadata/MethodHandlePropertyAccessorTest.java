@@ -0,0 +1,61 @@
+package com.petros.bibernate.metadata;
+
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.metadata.model.Measurement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodHandlePropertyAccessorTest {
+
+    private static PropertyAccessor accessor(String fieldName) throws NoSuchFieldException {
+        return new MethodHandlePropertyAccessor(Measurement.class.getDeclaredField(fieldName));
+    }
+
+    @Test
+    @DisplayName("Reference fields are read and written through method handles")
+    void referenceField() throws NoSuchFieldException {
+        var measurement = new Measurement();
+        var sensor = accessor("sensor");
+
+        sensor.set(measurement, "north");
+
+        assertEquals("north", measurement.getSensor());
+        assertEquals("north", sensor.get(measurement));
+    }
+
+    @Test
+    @DisplayName("Primitive fields are read and written with exactly typed accessors")
+    void primitiveFields() throws NoSuchFieldException {
+        var measurement = new Measurement();
+
+        accessor("id").setLong(measurement, 42L);
+        accessor("readingCount").setInt(measurement, 7);
+        accessor("temperature").setDouble(measurement, 21.5);
+        accessor("valid").setBoolean(measurement, true);
+
+        assertEquals(42L, accessor("id").getLong(measurement));
+        assertEquals(7, accessor("readingCount").getInt(measurement));
+        assertEquals(21.5, accessor("temperature").getDouble(measurement));
+        assertTrue(accessor("valid").getBoolean(measurement));
+        assertEquals(42L, accessor("id").get(measurement));
+    }
+
+    @Test
+    @DisplayName("Primitive fields accept boxed values through the generic setter")
+    void boxedValueForPrimitiveField() throws NoSuchFieldException {
+        var measurement = new Measurement();
+
+        accessor("readingCount").set(measurement, 3);
+
+        assertEquals(3, measurement.getReadingCount());
+    }
+
+    @Test
+    @DisplayName("Value of incompatible type is rejected with BibernateException")
+    void incompatibleValue() throws NoSuchFieldException {
+        var sensor = accessor("sensor");
+        assertThrows(BibernateException.class, () -> sensor.set(new Measurement(), 1L));
+    }
+}
@@ -0,0 +1,27 @@
+package com.petros.bibernate.metadata.model;
+
+import com.petros.bibernate.annotation.Column;
+import com.petros.bibernate.annotation.Entity;
+import com.petros.bibernate.annotation.Id;
+import com.petros.bibernate.annotation.Table;
+import lombok.Data;
+
+@Data
+@Entity
+@Table("measurements")
+public class Measurement {
+    @Id
+    private long id;
+
+    @Column("sensor")
+    private String sensor;
+
+    @Column("reading_count")
+    private int readingCount;
+
+    @Column("temperature")
+    private double temperature;
+
+    @Column("valid")
+    private boolean valid;
+}
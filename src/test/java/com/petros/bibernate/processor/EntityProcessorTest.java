@@ -0,0 +1,229 @@
+package com.petros.bibernate.processor;
+
+import com.petros.bibernate.metadata.EntityMetadata;
+import com.petros.bibernate.metadata.GeneratedEntityAccess;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityProcessorTest {
+    private static final String ENTITY_SOURCE = """
+            package sample;
+
+            import com.petros.bibernate.annotation.Column;
+            import com.petros.bibernate.annotation.Entity;
+            import com.petros.bibernate.annotation.Id;
+            import com.petros.bibernate.annotation.Table;
+
+            @Entity
+            @Table("sensors")
+            public class Sensor {
+                @Id
+                Long id;
+
+                @Column("sensor_name")
+                private String name;
+
+                private int readingCount;
+
+                private boolean active;
+
+                private String hidden;
+
+                public String getName() {
+                    return name;
+                }
+
+                public void setName(String name) {
+                    this.name = name;
+                }
+
+                public int getReadingCount() {
+                    return readingCount;
+                }
+
+                public void setReadingCount(int readingCount) {
+                    this.readingCount = readingCount;
+                }
+
+                public boolean isActive() {
+                    return active;
+                }
+
+                public void setActive(boolean active) {
+                    this.active = active;
+                }
+            }
+            """;
+
+    private static final String STATION_SOURCE = """
+            package sample;
+
+            import com.petros.bibernate.annotation.Entity;
+            import com.petros.bibernate.annotation.FetchType;
+            import com.petros.bibernate.annotation.GeneratedValue;
+            import com.petros.bibernate.annotation.GenerationType;
+            import com.petros.bibernate.annotation.Id;
+            import com.petros.bibernate.annotation.JoinColumn;
+            import com.petros.bibernate.annotation.ManyToOne;
+            import com.petros.bibernate.annotation.OneToMany;
+
+            import java.util.List;
+
+            @Entity
+            public class Station {
+                @Id
+                @GeneratedValue(strategy = GenerationType.SEQUENCE, allocationSize = 10)
+                private Long id;
+
+                private int[] levels;
+
+                @ManyToOne
+                @JoinColumn("parent_station_id")
+                private Station parent;
+
+                @OneToMany(mappedBy = "parent", fetchType = FetchType.EAGER)
+                private List<Station> children;
+            }
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private ClassLoader compile(String source) throws IOException {
+        return compile(Map.of("Sensor", source), "classes", true);
+    }
+
+    private ClassLoader compile(Map<String, String> sources, String classesDirName, boolean process)
+            throws IOException {
+        var arguments = new ArrayList<>(List.of("-classpath", System.getProperty("java.class.path")));
+        var classesDir = Files.createDirectories(tempDir.resolve(classesDirName));
+        if (process) {
+            var generatedDir = Files.createDirectories(tempDir.resolve("generated"));
+            arguments.addAll(List.of("-processor", EntityProcessor.class.getName(), "-s", generatedDir.toString()));
+        } else {
+            arguments.add("-proc:none");
+        }
+        arguments.addAll(List.of("-d", classesDir.toString()));
+        for (var source : sources.entrySet()) {
+            var sourceFile = tempDir.resolve("src/sample/" + source.getKey() + ".java");
+            Files.createDirectories(sourceFile.getParent());
+            Files.writeString(sourceFile, source.getValue());
+            arguments.add(sourceFile.toString());
+        }
+        var output = new ByteArrayOutputStream();
+        int result = ToolProvider.getSystemJavaCompiler().run(null, output, output, arguments.toArray(String[]::new));
+        assertEquals(0, result, output::toString);
+        return new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Metamodel contains the table name and the column names")
+    void generatesMetamodel() throws Exception {
+        var classLoader = compile(ENTITY_SOURCE);
+
+        var metamodel = classLoader.loadClass("sample.Sensor_");
+
+        assertEquals("sensors", metamodel.getField("TABLE").get(null));
+        assertEquals("id", metamodel.getField("ID").get(null));
+        assertEquals("sensor_name", metamodel.getField("NAME").get(null));
+        assertEquals("readingCount", metamodel.getField("READING_COUNT").get(null));
+    }
+
+    @Test
+    @DisplayName("Generated access class is picked up by the entity metadata")
+    void generatesAccess() throws Exception {
+        var classLoader = compile(ENTITY_SOURCE);
+        var entityClass = classLoader.loadClass("sample.Sensor");
+
+        var access = (GeneratedEntityAccess) classLoader.loadClass("sample.Sensor_Access")
+                .getDeclaredConstructor().newInstance();
+        var metadata = EntityMetadata.of(entityClass);
+        var entity = metadata.newInstance();
+        metadata.getProperty("id").setValue(entity, 3L);
+        metadata.getProperty("name").setValue(entity, "north");
+        metadata.getProperty("readingCount").getAccessor().setInt(entity, 12);
+        metadata.getProperty("active").getAccessor().setBoolean(entity, true);
+        metadata.getProperty("hidden").setValue(entity, "secret");
+
+        assertNotNull(access.getInstantiator());
+        assertNotNull(access.getAccessor("name"));
+        assertNull(access.getAccessor("hidden"));
+        assertSame(access.getClass(), metadata.getProperty("name").getAccessor().getClass().getEnclosingClass());
+        assertEquals(entityClass, entity.getClass());
+        assertEquals(3L, metadata.getIdValue(entity));
+        assertEquals("north", metadata.getProperty("name").getValue(entity));
+        assertEquals(12, metadata.getProperty("readingCount").getAccessor().getInt(entity));
+        assertTrue(metadata.getProperty("active").getAccessor().getBoolean(entity));
+        assertEquals("secret", metadata.getProperty("hidden").getValue(entity));
+    }
+
+    @Test
+    @DisplayName("Metadata built from the generated mapping matches the one built with reflection")
+    void generatesMapping() throws Exception {
+        var sources = Map.of("Sensor", ENTITY_SOURCE, "Station", STATION_SOURCE);
+        var generatedClassLoader = compile(sources, "classes", true);
+        var reflectiveClassLoader = compile(sources, "reflective-classes", false);
+
+        for (var entityName : List.of("sample.Sensor", "sample.Station")) {
+            var access = (GeneratedEntityAccess) generatedClassLoader.loadClass(entityName + "_Access")
+                    .getDeclaredConstructor().newInstance();
+            assertNotNull(access.getMapping());
+            var generated = EntityMetadata.of(generatedClassLoader.loadClass(entityName));
+            var reflective = EntityMetadata.of(reflectiveClassLoader.loadClass(entityName));
+            assertEquals(reflective.getTableName(), generated.getTableName());
+            assertEquals(reflective.getSql().getInsertSql(), generated.getSql().getInsertSql());
+            assertEquals(reflective.getSql().getUpdateByIdSql(), generated.getSql().getUpdateByIdSql());
+            assertEquals(reflective.getProperties().size(), generated.getProperties().size());
+            for (int i = 0; i < reflective.getProperties().size(); i++) {
+                var expected = reflective.getProperties().get(i);
+                var actual = generated.getProperties().get(i);
+                assertEquals(expected.getName(), actual.getName());
+                assertEquals(expected.getType().getName(), actual.getType().getName());
+                assertEquals(expected.getColumnName(), actual.getColumnName());
+                assertEquals(expected.getKind(), actual.getKind());
+                assertEquals(expected.isId(), actual.isId());
+                assertEquals(expected.getGenerationType(), actual.getGenerationType());
+                assertEquals(expected.getGenerator(), actual.getGenerator());
+                assertEquals(expected.getAllocationSize(), actual.getAllocationSize());
+                assertEquals(expected.isMapsId(), actual.isMapsId());
+                assertEquals(expected.getMappedBy(), actual.getMappedBy());
+                assertEquals(expected.getFetchType(), actual.getFetchType());
+                assertEquals(expected.getRelatedEntityType() == null ? null : expected.getRelatedEntityType().getName(),
+                        actual.getRelatedEntityType() == null ? null : actual.getRelatedEntityType().getName());
+                assertEquals(expected.getField().getName(), actual.getField().getName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Entity without @Id fails the compilation")
+    void reportsMissingId() throws IOException {
+        var sourceFile = tempDir.resolve("src/sample/Sensor.java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.writeString(sourceFile, ENTITY_SOURCE.replace("@Id", ""));
+        var output = new ByteArrayOutputStream();
+
+        int result = ToolProvider.getSystemJavaCompiler().run(null, output, output,
+                "-classpath", System.getProperty("java.class.path"),
+                "-processor", EntityProcessor.class.getName(),
+                "-proc:only",
+                sourceFile.toString());
+
+        assertNotEquals(0, result);
+        assertTrue(output.toString().contains("Entity Sensor must contain exactly one field annotated with @Id"));
+    }
+}
@@ -3,7 +3,11 @@ package com.petros.bibernate.session;
 import com.petros.bibernate.config.Configuration;
 import com.petros.bibernate.dao.EntityPersister;
 import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.H2Dialect;
+import com.petros.bibernate.dialect.PostgreSQLDialect;
 import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.IdGeneratorRegistry;
+import com.petros.bibernate.metadata.EntityMetadataRegistry;
 import com.petros.bibernate.session.model.*;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,11 +19,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 import static com.petros.bibernate.config.Configuration.DEFAULT_CONNECTION_POOL_SIZE;
 import static com.petros.bibernate.util.TestsConstants.TEST_PROPERTIES_PATH;
 import static org.junit.jupiter.api.Assertions.*;
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
 import static java.math.BigDecimal.ZERO;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -27,6 +36,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class SessionImplTest {
     private Session session;
+    private DataSource dataSource;
+    private IdGeneratorRegistry idGeneratorRegistry;
     @Spy
     private EntityPersister entityPersister;
 
@@ -34,13 +45,14 @@ class SessionImplTest {
     public void setUpDatabase() {
         SessionFactoryImpl sessionFactory = new SessionFactoryImpl(TEST_PROPERTIES_PATH);
         Configuration configuration = sessionFactory.getConfiguration();
-        DataSource dataSource = new BibernateDataSource(configuration.getUrl(), configuration.getUsername(),
+        dataSource = new BibernateDataSource(configuration.getUrl(), configuration.getUsername(),
                 configuration.getPassword(), DEFAULT_CONNECTION_POOL_SIZE);
         Flyway flyway = Flyway.configure().dataSource(dataSource)
                 .locations("classpath:db/migration/product-test-data/other").load();
         flyway.clean();
         flyway.migrate();
         session = new SessionImpl(dataSource, entityPersister);
+        idGeneratorRegistry = new IdGeneratorRegistry(dataSource, new H2Dialect());
     }
 
     @Test
@@ -210,6 +222,281 @@ class SessionImplTest {
         assertEquals(productsNumberBefore + 1, products.size());
     }
 
+    @Test
+    @DisplayName("Inserts of the same entity class are executed in JDBC batches of the configured size")
+    void batchInsert() {
+        var batchPersister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var batchSession = new SessionImpl(dataSource, batchPersister, idGeneratorRegistry, 2);
+        var products = List.of(createProduct(), createProduct(), createProduct());
+
+        batchSession.getTransaction().begin();
+        products.forEach(batchSession::persist);
+        batchSession.getTransaction().commit();
+
+        verify(batchPersister, times(1)).insertAll(any(), any());
+        verify(batchPersister, times(1)).insert(any(), any());
+        assertEquals(3, products.stream().map(Product::getId).distinct().filter(Objects::nonNull).count());
+        for (Product product : products) {
+            assertSame(product, batchSession.find(Product.class, product.getId()));
+        }
+        assertEquals(6, session.findAll(Product.class).size());
+    }
+
+    @Test
+    @DisplayName("Inserts are grouped by entity class and referenced entities are inserted first")
+    void insertInDependencyOrder() {
+        var batchPersister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var batchSession = new SessionImpl(dataSource, batchPersister, idGeneratorRegistry, 10);
+        var notes = new ArrayList<Note>();
+        batchSession.getTransaction().begin();
+        for (int i = 0; i < 3; i++) {
+            var person = new Person();
+            person.setFirstName("Person " + i);
+            var note = new Note();
+            note.setBody("Note " + i);
+            note.setPerson(person);
+            notes.add(note);
+            batchSession.persist(note);
+            batchSession.persist(person);
+        }
+        batchSession.getTransaction().commit();
+
+        verify(batchPersister, times(2)).insertAll(any(), any());
+        verify(batchPersister, never()).insert(any(), any());
+        for (Note note : notes) {
+            var selected = session.find(Note.class, note.getId());
+            assertEquals(note.getPerson().getId(), selected.getPerson().getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Entity that is persisted and removed before flush is never written")
+    void persistAndRemove() {
+        var product = createProduct();
+        session.getTransaction().begin();
+        session.persist(product);
+        session.remove(product);
+        session.getTransaction().commit();
+
+        verify(entityPersister, never()).insert(any(), any());
+        verify(entityPersister, never()).delete(any(), any());
+        assertNull(product.getId());
+        assertEquals(3, session.findAll(Product.class).size());
+    }
+
+    @Test
+    @DisplayName("Referencing entities are deleted first")
+    void deleteInDependencyOrder() {
+        var person = session.find(Person.class, 1L);
+        var note = session.find(Note.class, 1L);
+        session.getTransaction().begin();
+        session.remove(person);
+        session.remove(note);
+        session.getTransaction().commit();
+
+        assertNull(session.find(Note.class, 1L));
+        assertNull(session.find(Person.class, 1L));
+    }
+
+    @Test
+    @DisplayName("Updates of dirty entities of the same class are executed in a single JDBC batch")
+    void batchUpdate() {
+        var batchPersister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var batchSession = new SessionImpl(dataSource, batchPersister, idGeneratorRegistry, 10);
+        var products = batchSession.findAll(Product.class).stream()
+                .map(product -> batchSession.find(Product.class, product.getId()))
+                .toList();
+        batchSession.getTransaction().begin();
+        products.forEach(product -> product.setProducer("Batch producer"));
+        batchSession.getTransaction().commit();
+
+        verify(batchPersister, times(1)).updateAll(any(), any(), any());
+        verify(batchPersister, never()).update(any(), any(), any());
+        assertTrue(session.findAll(Product.class).stream()
+                .allMatch(product -> product.getProducer().equals("Batch producer")));
+    }
+
+    @Test
+    @DisplayName("Deletes of entities of the same class are executed as a single set-based statement")
+    void batchDelete() {
+        var batchPersister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var batchSession = new SessionImpl(dataSource, batchPersister, idGeneratorRegistry, 10);
+        var products = batchSession.findAll(Product.class).stream()
+                .map(product -> batchSession.find(Product.class, product.getId()))
+                .toList();
+        batchSession.getTransaction().begin();
+        products.forEach(batchSession::remove);
+        batchSession.getTransaction().commit();
+
+        verify(batchPersister, times(1)).deleteAll(any(), any());
+        verify(batchPersister, never()).delete(any(), any());
+        assertTrue(session.findAll(Product.class).isEmpty());
+        assertNull(batchSession.find(Product.class, products.get(0).getId()));
+    }
+
+    @Test
+    @DisplayName("Upsert inserts new rows and overwrites existing ones")
+    void upsert() {
+        var h2Persister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var h2Session = new SessionImpl(dataSource, h2Persister);
+        var existing = createProduct();
+        existing.setId(1L);
+        var created = createProduct();
+        created.setId(10L);
+        h2Session.getTransaction().begin();
+        h2Session.upsert(existing);
+        h2Session.upsert(created);
+        h2Session.getTransaction().commit();
+
+        verify(h2Persister, times(2)).upsert(any(), any());
+        assertSame(existing, h2Session.find(Product.class, 1L));
+        assertSame(created, h2Session.find(Product.class, 10L));
+        var rows = new SessionImpl(dataSource, new EntityPersister()).findAll(Product.class);
+        assertEquals(4, rows.size());
+        assertEquals("Super Cola", rows.stream().filter(p -> p.getId() == 1L).findFirst().orElseThrow()
+                .getProductName());
+    }
+
+    @Test
+    @DisplayName("Upserts of the same class are executed in a single JDBC batch")
+    void batchUpsert() {
+        var batchPersister = spy(new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var batchSession = new SessionImpl(dataSource, batchPersister, idGeneratorRegistry, 10);
+        List<Product> products = new ArrayList<>();
+        for (long id = 2; id <= 5; id++) {
+            var product = createProduct();
+            product.setId(id);
+            products.add(product);
+        }
+        batchSession.getTransaction().begin();
+        batchSession.upsertAll(products);
+        batchSession.getTransaction().commit();
+
+        verify(batchPersister, times(1)).upsertAll(any(), any());
+        verify(batchPersister, never()).upsert(any(), any());
+        assertEquals(5, session.findAll(Product.class).size());
+    }
+
+    @Test
+    @DisplayName("Entity that is removed and upserted again keeps its row")
+    void removeAndUpsert() {
+        var h2Session = new SessionImpl(dataSource,
+                new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var product = h2Session.find(Product.class, 1L);
+        h2Session.getTransaction().begin();
+        h2Session.remove(product);
+        product.setProductName("Restored");
+        h2Session.upsert(product);
+        h2Session.getTransaction().commit();
+
+        var row = new SessionImpl(dataSource, new EntityPersister()).find(Product.class, 1L);
+        assertNotNull(row);
+        assertEquals("Restored", row.getProductName());
+    }
+
+    @Test
+    @DisplayName("Upsert requires an id and rejects a second instance of a persistent entity")
+    void upsertInvalidEntity() {
+        var h2Session = new SessionImpl(dataSource,
+                new EntityPersister(new EntityMetadataRegistry(), new H2Dialect(), false));
+        var product = h2Session.find(Product.class, 1L);
+        h2Session.getTransaction().begin();
+        assertThrows(BibernateException.class, () -> h2Session.upsert(createProduct()));
+        var copy = createProduct();
+        copy.setId(product.getId());
+        assertThrows(BibernateException.class, () -> h2Session.upsert(copy));
+        h2Session.upsert(product);
+        h2Session.getTransaction().commit();
+    }
+
+    @Test
+    @DisplayName("Upsert rejects identity ids unless the dialect supports them")
+    void upsertIdentityEntity() {
+        var postgresSession = new SessionImpl(dataSource,
+                new EntityPersister(new EntityMetadataRegistry(), new PostgreSQLDialect(), false));
+        var product = createProduct();
+        product.setId(1L);
+        postgresSession.getTransaction().begin();
+        assertThrows(BibernateException.class, () -> postgresSession.upsert(product));
+        postgresSession.getTransaction().rollback();
+    }
+
+    @Test
+    @DisplayName("Bulk update changes matching rows without loading them and evicts stale entities")
+    void bulkUpdate() {
+        var loaded = session.find(Product.class, 1L);
+        var pending = session.find(Product.class, 2L);
+        session.getTransaction().begin();
+        pending.setDescription("Flushed before the update");
+        int updated = session.createUpdate(Product.class)
+                .set("isAvailable", false)
+                .set("stockCount", 0)
+                .where("producer", "Sony")
+                .executeUpdate();
+        session.getTransaction().commit();
+
+        assertEquals(2, updated);
+        verify(entityPersister, never()).findAll(eq(Product.class), any(Connection.class));
+        var reloaded = session.find(Product.class, 1L);
+        assertNotSame(loaded, reloaded);
+        assertEquals(FALSE, reloaded.getIsAvailable());
+        assertEquals(0, reloaded.getStockCount());
+        var other = session.find(Product.class, 2L);
+        assertEquals(TRUE, other.getIsAvailable());
+        assertEquals("Flushed before the update", other.getDescription());
+    }
+
+    @Test
+    @DisplayName("Bulk update and delete match relations and null values")
+    void bulkUpdateByRelationAndNull() {
+        var person = session.find(Person.class, 1L);
+        session.getTransaction().begin();
+        assertEquals(1, session.createUpdate(Note.class).set("body", "Updated").where("person", person)
+                .executeUpdate());
+        assertEquals(1, session.createUpdate(Note.class).set("person", 1L).where("person", 2L).executeUpdate());
+        assertEquals(3, session.createUpdate(Product.class).set("description", null).executeUpdate());
+        assertEquals(3, session.createDelete(Product.class).where("description", null).executeUpdate());
+        session.getTransaction().commit();
+
+        assertEquals(List.of(1L, 1L), session.findAll(Note.class).stream().map(note -> note.getPerson().getId())
+                .toList());
+        assertEquals("Updated", session.find(Note.class, 1L).getBody());
+        assertTrue(session.findAll(Product.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Bulk delete removes matching rows and evicts deleted entities")
+    void bulkDelete() {
+        var deleted = session.find(Product.class, 3L);
+        session.getTransaction().begin();
+        int count = session.createDelete(Product.class)
+                .where("producer", "Sony")
+                .where("productName", "Play Station Portable")
+                .executeUpdate();
+        session.getTransaction().commit();
+
+        assertEquals(1, count);
+        assertNotNull(deleted);
+        assertNull(session.find(Product.class, 3L));
+        assertEquals(2, session.findAll(Product.class).size());
+    }
+
+    @Test
+    @DisplayName("Invalid bulk statements are rejected")
+    void invalidBulkStatements() {
+        assertThrows(BibernateException.class, () -> session.createDelete(Product.class).executeUpdate());
+        session.getTransaction().begin();
+        assertThrows(BibernateException.class, () -> session.createUpdate(Product.class).executeUpdate());
+        assertThrows(BibernateException.class, () -> session.createUpdate(Product.class).set("id", 5L)
+                .executeUpdate());
+        assertThrows(BibernateException.class, () -> session.createUpdate(Product.class).set("unknown", 5L)
+                .executeUpdate());
+        assertThrows(BibernateException.class, () -> session.createDelete(Car.class).where("wheels", List.of())
+                .executeUpdate());
+        session.getTransaction().commit();
+        assertEquals(3, session.findAll(Product.class).size());
+    }
+
     private Product createProduct() {
         Product product = new Product();
         product.setPrice(ZERO);
@@ -0,0 +1,186 @@
+package com.petros.bibernate.session;
+
+import com.petros.bibernate.config.Configuration;
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.H2Dialect;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.IdGeneratorRegistry;
+import com.petros.bibernate.session.model.Note;
+import com.petros.bibernate.session.model.Person;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.petros.bibernate.config.Configuration.DEFAULT_CONNECTION_POOL_SIZE;
+import static com.petros.bibernate.util.TestsConstants.TEST_PROPERTIES_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class StatelessSessionImplTest {
+    private SessionFactoryImpl sessionFactory;
+    private BibernateDataSource dataSource;
+    private EntityPersister entityPersister;
+    private StatelessSession session;
+
+    @BeforeEach
+    void setUpDatabase() {
+        sessionFactory = new SessionFactoryImpl(TEST_PROPERTIES_PATH);
+        Configuration configuration = sessionFactory.getConfiguration();
+        dataSource = new BibernateDataSource(configuration.getUrl(), configuration.getUsername(),
+                configuration.getPassword(), DEFAULT_CONNECTION_POOL_SIZE);
+        Flyway flyway = Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration/product-test-data/other").load();
+        flyway.clean();
+        flyway.migrate();
+        entityPersister = spy(new EntityPersister(sessionFactory.getMetadataRegistry(), new H2Dialect(), false));
+        session = new StatelessSessionImpl(dataSource, entityPersister,
+                new IdGeneratorRegistry(dataSource, entityPersister.getDialect()), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Inserts are executed in batches of the batch size")
+    void insertInBatches() {
+        var notes = new ArrayList<Note>();
+        for (int i = 0; i < 25; i++) {
+            notes.add(createNote("note " + i, 1L));
+            session.insert(notes.get(i));
+        }
+        verify(entityPersister, times(2)).insertAll(anyList(), any());
+
+        session.close();
+
+        verify(entityPersister, times(3)).insertAll(anyList(), any());
+        assertTrue(notes.stream().allMatch(note -> note.getId() != null));
+        assertEquals(27, countNotes());
+    }
+
+    @Test
+    @DisplayName("Get reads a new detached instance every time")
+    void getReadsDetachedInstance() {
+        var note = session.get(Note.class, 2L);
+
+        assertNotNull(note);
+        assertNotSame(note, session.get(Note.class, 2L));
+        assertEquals(2L, note.getPerson().getId());
+        assertNull(note.getPerson().getFirstName());
+        assertNull(session.get(Note.class, 999L));
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Buffered writes are executed before reads and between different kinds of writes")
+    void updateAndDelete() {
+        var note = session.get(Note.class, 1L);
+        note.setBody("changed");
+        session.update(note);
+        session.delete(session.get(Note.class, 2L));
+        session.insert(createNote("new", 1L));
+
+        assertEquals("changed", session.get(Note.class, 1L).getBody());
+        assertNull(session.get(Note.class, 2L));
+        session.close();
+
+        assertEquals(2, countNotes());
+        verify(entityPersister).updateAll(anyList(), any());
+        verify(entityPersister).deleteAll(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Stream maps all rows")
+    void streamAllRows() {
+        for (int i = 0; i < 25; i++) {
+            session.insert(createNote("note " + i, 2L));
+        }
+
+        List<String> bodies;
+        try (var notes = session.stream(Note.class)) {
+            bodies = notes.map(Note::getBody).toList();
+        }
+
+        assertEquals(27, bodies.size());
+        assertTrue(bodies.contains("note 24"));
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Stream restores the fetch size of the cached select statement")
+    void streamRestoresFetchSize() throws SQLException {
+        var selectAllSql = sessionFactory.getMetadataRegistry().getMetadata(Note.class).getSql().getSelectAllSql();
+        try (var connection = dataSource.getConnection()) {
+            int defaultFetchSize;
+            try (var statement = connection.prepareStatement(selectAllSql)) {
+                defaultFetchSize = statement.getFetchSize();
+            }
+            try (var notes = entityPersister.stream(Note.class, defaultFetchSize + 7, connection)) {
+                assertEquals(2, notes.count());
+            }
+            try (var statement = connection.prepareStatement(selectAllSql)) {
+                assertEquals(defaultFetchSize, statement.getFetchSize());
+            }
+        }
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Rollback discards buffered and executed writes")
+    void rollbackDiscardsWrites() {
+        var transaction = session.getTransaction();
+        transaction.begin();
+        for (int i = 0; i < 15; i++) {
+            session.insert(createNote("note " + i, 1L));
+        }
+        transaction.rollback();
+        assertEquals(2, countNotes());
+
+        transaction.begin();
+        session.insert(createNote("committed", 1L));
+        transaction.commit();
+        assertEquals(3, countNotes());
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Closed session and writes without id are rejected")
+    void invalidOperations() {
+        assertThrows(BibernateException.class, () -> session.update(createNote("no id", 1L)));
+        assertThrows(BibernateException.class, () -> session.delete(createNote("no id", 1L)));
+        session.close();
+        assertThrows(BibernateException.class, () -> session.insert(createNote("closed", 1L)));
+        assertThrows(BibernateException.class, () -> session.get(Note.class, 1L));
+    }
+
+    private Note createNote(String body, Long personId) {
+        var person = new Person();
+        person.setId(personId);
+        var note = new Note();
+        note.setBody(body);
+        note.setPerson(person);
+        return note;
+    }
+
+    private int countNotes() {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT count(*) FROM notes")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.petros.bibernate.session;
+
+import com.petros.bibernate.config.Configuration;
+import com.petros.bibernate.dao.EntityPersister;
+import com.petros.bibernate.datasource.BibernateDataSource;
+import com.petros.bibernate.dialect.H2Dialect;
+import com.petros.bibernate.exception.BibernateException;
+import com.petros.bibernate.id.IdGeneratorRegistry;
+import com.petros.bibernate.session.model.Note;
+import com.petros.bibernate.session.model.Person;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.petros.bibernate.config.Configuration.DEFAULT_CONNECTION_POOL_SIZE;
+import static com.petros.bibernate.util.TestsConstants.TEST_PROPERTIES_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+class WriteBehindSessionTest {
+    private static final Duration NEVER = Duration.ofHours(1);
+
+    private SessionFactoryImpl sessionFactory;
+    private BibernateDataSource dataSource;
+    private EntityPersister entityPersister;
+    private IdGeneratorRegistry idGeneratorRegistry;
+    private WriteBehindSession writeBehindSession;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUpDatabase() {
+        sessionFactory = new SessionFactoryImpl(TEST_PROPERTIES_PATH);
+        Configuration configuration = sessionFactory.getConfiguration();
+        dataSource = new BibernateDataSource(configuration.getUrl(), configuration.getUsername(),
+                configuration.getPassword(), DEFAULT_CONNECTION_POOL_SIZE);
+        Flyway flyway = Flyway.configure().dataSource(dataSource)
+                .locations("classpath:db/migration/product-test-data/other").load();
+        flyway.clean();
+        flyway.migrate();
+        entityPersister = new EntityPersister(sessionFactory.getMetadataRegistry(), new H2Dialect(), false);
+        idGeneratorRegistry = new IdGeneratorRegistry(dataSource, entityPersister.getDialect());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writeBehindSession != null) {
+            writeBehindSession.close();
+        }
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Entities persisted by many threads are written on flush")
+    void flushWritesBufferedEntities() throws InterruptedException {
+        writeBehindSession = openSession(1000, 1000, NEVER, null);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        var persisted = new CountDownLatch(40);
+        for (int i = 0; i < 40; i++) {
+            var body = "note " + i;
+            executor.execute(() -> {
+                writeBehindSession.persist(createNote(body, 1L));
+                persisted.countDown();
+            });
+        }
+        assertTrue(persisted.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(2, countNotes());
+
+        writeBehindSession.flush();
+
+        assertEquals(42, countNotes());
+        assertEquals(40, writeBehindSession.getWrittenCount());
+        assertEquals(0, writeBehindSession.getFailedCount());
+    }
+
+    @Test
+    @DisplayName("Reaching the flush size writes buffered entities without flush")
+    void flushSizeTriggersWrite() throws InterruptedException {
+        writeBehindSession = openSession(1000, 5, NEVER, null);
+        var notes = new ArrayList<Note>();
+        for (int i = 0; i < 5; i++) {
+            notes.add(createNote("note " + i, 2L));
+            writeBehindSession.persist(notes.get(i));
+        }
+
+        awaitNotes(7);
+        assertTrue(notes.stream().allMatch(note -> note.getId() != null));
+    }
+
+    @Test
+    @DisplayName("Buffered entities are written after the flush interval")
+    void flushIntervalTriggersWrite() throws InterruptedException {
+        writeBehindSession = openSession(1000, 1000, Duration.ofMillis(50), null);
+        writeBehindSession.persist(createNote("late note", 1L));
+
+        awaitNotes(3);
+    }
+
+    @Test
+    @DisplayName("Failed batch is dropped and the writer keeps going")
+    void failedBatchIsDropped() {
+        writeBehindSession = openSession(1000, 1000, NEVER, null);
+        writeBehindSession.persist(createNote("orphan", 999L));
+        writeBehindSession.flush();
+        writeBehindSession.persist(createNote("valid", 1L));
+        writeBehindSession.flush();
+
+        assertEquals(1, writeBehindSession.getFailedCount());
+        assertEquals(1, writeBehindSession.getWrittenCount());
+        assertEquals(3, countNotes());
+    }
+
+    @Test
+    @DisplayName("Close writes buffered entities and rejects new ones")
+    void closeWritesBufferedEntities() {
+        writeBehindSession = openSession(1000, 1000, NEVER, null);
+        writeBehindSession.persist(createNote("first", 1L));
+        writeBehindSession.persist(createNote("second", 2L));
+
+        writeBehindSession.close();
+
+        assertEquals(4, countNotes());
+        assertThrows(BibernateException.class, () -> writeBehindSession.persist(createNote("third", 1L)));
+    }
+
+    @Test
+    @DisplayName("Entities left in the journal are written when the session is created")
+    void journalIsReplayed() throws Exception {
+        var journalPath = tempDir.resolve("write-behind.journal");
+        try (var journal = new WriteBehindJournal(journalPath, sessionFactory.getMetadataRegistry())) {
+            journal.append(createNote("journaled 1", 1L));
+            journal.append(createNote("journaled 2", 2L));
+        }
+
+        writeBehindSession = openSession(1000, 1000, NEVER, journalPath);
+
+        assertEquals(4, countNotes());
+        assertEquals(2, writeBehindSession.getWrittenCount());
+        assertEquals(0, Files.size(journalPath));
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT person_id FROM notes WHERE body = 'journaled 2'")) {
+            assertTrue(resultSet.next());
+            assertEquals(2L, resultSet.getLong(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Journal is truncated once buffered entities are written")
+    void journalIsTruncatedAfterWrite() throws Exception {
+        var journalPath = tempDir.resolve("write-behind.journal");
+        writeBehindSession = openSession(1000, 1000, NEVER, journalPath);
+        writeBehindSession.persist(createNote("first", 1L));
+        writeBehindSession.persist(createNote("second", 2L));
+        assertTrue(Files.size(journalPath) > 0);
+
+        writeBehindSession.flush();
+
+        assertEquals(4, countNotes());
+        assertEquals(0, Files.size(journalPath));
+    }
+
+    @Test
+    @DisplayName("Journal left by a crash holds only the entities that were not committed")
+    void crashWhileWritingIsReplayed() throws Exception {
+        var journalPath = tempDir.resolve("write-behind.journal");
+        var persisted = new CountDownLatch(1);
+        var crashedPersister = spy(entityPersister);
+        doAnswer(invocation -> {
+            persisted.await();
+            return invocation.callRealMethod();
+        }).when(crashedPersister).insertAll(anyList(), any());
+        var crashedSession = new WriteBehindSessionImpl(dataSource, crashedPersister, idGeneratorRegistry, 1000, 2,
+                NEVER, journalPath);
+        crashedSession.persist(createNote("committed 1", 1L));
+        crashedSession.persist(createNote("committed 2", 1L));
+        crashedSession.persist(createNote("queued", 2L));
+        persisted.countDown();
+        awaitNotes(4);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (readJournal(journalPath) != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        writeBehindSession = openSession(1000, 1000, NEVER, journalPath);
+
+        assertEquals(5, countNotes());
+        assertEquals(1, writeBehindSession.getWrittenCount());
+        assertEquals(0, Files.size(journalPath));
+    }
+
+    @Test
+    @DisplayName("Writer waits for a free connection instead of dropping the batch")
+    void writerWaitsForConnection() throws Exception {
+        var configuration = sessionFactory.getConfiguration();
+        var singleConnection = new BibernateDataSource(configuration.getUrl(), configuration.getUsername(),
+                configuration.getPassword(), 1);
+        try {
+            writeBehindSession = new WriteBehindSessionImpl(singleConnection, entityPersister, idGeneratorRegistry,
+                    1000, 1000, NEVER, null);
+            var flushed = new CountDownLatch(1);
+            try (var connection = singleConnection.getConnection()) {
+                writeBehindSession.persist(createNote("waiting", 1L));
+                new Thread(() -> {
+                    writeBehindSession.flush();
+                    flushed.countDown();
+                }).start();
+                assertFalse(flushed.await(200, TimeUnit.MILLISECONDS));
+            }
+
+            assertTrue(flushed.await(5, TimeUnit.SECONDS));
+            assertEquals(3, countNotes());
+            assertEquals(1, writeBehindSession.getWrittenCount());
+            assertEquals(0, writeBehindSession.getFailedCount());
+        } finally {
+            writeBehindSession.close();
+            singleConnection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Producers blocked on a full buffer do not hold up a slow writer with a journal")
+    void fullBufferWithJournal() throws InterruptedException {
+        entityPersister = spy(entityPersister);
+        doAnswer(invocation -> {
+            Thread.sleep(20);
+            return invocation.callRealMethod();
+        }).when(entityPersister).insertAll(anyList(), any());
+        writeBehindSession = openSession(1, 1, NEVER, tempDir.resolve("write-behind.journal"));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        for (int i = 0; i < 30; i++) {
+            var body = "note " + i;
+            executor.execute(() -> writeBehindSession.persist(createNote(body, 1L)));
+        }
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> writeBehindSession.flush());
+        assertEquals(32, countNotes());
+    }
+
+    @Test
+    @DisplayName("Journal with an unexpected class is moved aside instead of being replayed")
+    void journalWithUnexpectedClassIsMovedAside() throws Exception {
+        var journalPath = tempDir.resolve("write-behind.journal");
+        var record = new ByteArrayOutputStream();
+        try (var objectOut = new ObjectOutputStream(record)) {
+            objectOut.writeUTF(Note.class.getName());
+            objectOut.writeObject(new Object[]{null, new HashMap<>(), 1L});
+        }
+        try (var out = new DataOutputStream(Files.newOutputStream(journalPath))) {
+            out.writeInt(record.size());
+            out.write(record.toByteArray());
+        }
+
+        writeBehindSession = openSession(1000, 1000, NEVER, journalPath);
+
+        assertEquals(2, countNotes());
+        assertFalse(Files.exists(journalPath));
+        assertTrue(Files.exists(tempDir.resolve("write-behind.journal.failed")));
+    }
+
+    @Test
+    @DisplayName("Corrupt journal is moved aside instead of failing the session")
+    void corruptJournalIsMovedAside() throws Exception {
+        var journalPath = tempDir.resolve("write-behind.journal");
+        Files.write(journalPath, new byte[]{0, 0, 0, 4, 1, 2, 3, 4});
+
+        writeBehindSession = openSession(1000, 1000, NEVER, journalPath);
+        writeBehindSession.persist(createNote("after corrupt journal", 1L));
+        writeBehindSession.flush();
+
+        assertEquals(3, countNotes());
+        assertTrue(Files.exists(tempDir.resolve("write-behind.journal.failed")));
+    }
+
+    @Test
+    @DisplayName("Session factory shares one write-behind session and closes it")
+    void sessionFactoryWriteBehindSession() {
+        var factorySession = sessionFactory.getWriteBehindSession();
+        assertSame(factorySession, sessionFactory.getWriteBehindSession());
+        factorySession.persist(createNote("from factory", 1L));
+
+        sessionFactory.close();
+
+        assertEquals(3, countNotes());
+        assertThrows(BibernateException.class, () -> factorySession.persist(createNote("closed", 1L)));
+        assertThrows(BibernateException.class, sessionFactory::getWriteBehindSession);
+    }
+
+    private WriteBehindSession openSession(int bufferSize, int flushSize, Duration flushInterval, Path journal) {
+        return new WriteBehindSessionImpl(dataSource, entityPersister, idGeneratorRegistry, bufferSize, flushSize,
+                flushInterval, journal);
+    }
+
+    private Note createNote(String body, Long personId) {
+        var person = new Person();
+        person.setId(personId);
+        var note = new Note();
+        note.setBody(body);
+        note.setPerson(person);
+        return note;
+    }
+
+    private void awaitNotes(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (countNotes() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, countNotes());
+    }
+
+    private int readJournal(Path journalPath) {
+        try (var journal = new WriteBehindJournal(journalPath, sessionFactory.getMetadataRegistry())) {
+            return journal.readAll().size();
+        }
+    }
+
+    private int countNotes() {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT count(*) FROM notes")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
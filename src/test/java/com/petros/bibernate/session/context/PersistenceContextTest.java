@@ -1,5 +1,7 @@
 package com.petros.bibernate.session.context;
 
+import com.petros.bibernate.session.model.Bid;
+import com.petros.bibernate.session.model.Item;
 import com.petros.bibernate.session.model.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,6 +11,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.BitSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -110,6 +113,43 @@ class PersistenceContextTest {
         assertEquals(product, diff.get(0));
     }
 
+    @Test
+    @DisplayName("Dirty entities contain the indexes of the changed properties")
+    void testDirtyProperties() {
+        var product = getProduct();
+        persistenceContext.cache(product);
+        product.setProductName("Certain product");
+        product.setStockCount(10);
+
+        List<DirtyEntity> dirtyEntities = persistenceContext.getDirtyEntities();
+        assertEquals(1, dirtyEntities.size());
+        assertSame(product, dirtyEntities.get(0).entity());
+        var expected = new BitSet();
+        expected.set(1);
+        expected.set(6);
+        assertEquals(expected, dirtyEntities.get(0).dirtyProperties());
+        assertTrue(persistenceContext.getDirtyEntities().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Changing a to-one relation makes the entity dirty")
+    void testDirtyRelation() {
+        var item = new Item();
+        item.setId(1L);
+        var bid = new Bid();
+        bid.setId(1L);
+        bid.setItem(item);
+        persistenceContext.cache(bid);
+
+        var otherItem = new Item();
+        otherItem.setId(2L);
+        bid.setItem(otherItem);
+
+        List<DirtyEntity> dirtyEntities = persistenceContext.getDirtyEntities();
+        assertEquals(1, dirtyEntities.size());
+        assertEquals(BitSet.valueOf(new long[]{0b100}), dirtyEntities.get(0).dirtyProperties());
+    }
+
     @Test
     @DisplayName("Diff is empty if snapshot is empty")
     void testEmptySnapshot() {
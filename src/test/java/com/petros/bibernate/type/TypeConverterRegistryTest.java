@@ -0,0 +1,126 @@
+package com.petros.bibernate.type;
+
+import com.petros.bibernate.dialect.H2Dialect;
+import com.petros.bibernate.exception.BibernateException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TypeConverterRegistryTest {
+    private final TypeConverterRegistry registry = new TypeConverterRegistry();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:type_converters");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    private ResultSet query(String sql) throws SQLException {
+        var resultSet = connection.createStatement().executeQuery(sql);
+        resultSet.next();
+        return resultSet;
+    }
+
+    @Test
+    @DisplayName("Primitive and wrapper converters distinguish SQL NULL")
+    void primitivesAndWrappers() throws SQLException {
+        var resultSet = query("SELECT 42, CAST(NULL AS BIGINT)");
+
+        assertEquals(42L, registry.getConverter(long.class).read(resultSet, 1));
+        assertEquals(42, registry.getConverter(Integer.class).read(resultSet, 1));
+        assertNull(registry.getConverter(long.class).read(resultSet, 2));
+        assertNull(registry.getConverter(Long.class).read(resultSet, 2));
+    }
+
+    @Test
+    @DisplayName("Temporal, UUID and enum values are converted to their Java types")
+    void standardTypes() throws SQLException {
+        var uuid = UUID.randomUUID();
+        var resultSet = query("SELECT TIMESTAMP '2023-03-14 10:15:30', DATE '2023-03-14', '" + uuid + "', "
+                + "CAST('" + uuid + "' AS UUID), 'SECONDS', CAST(NULL AS VARCHAR)");
+
+        assertEquals(LocalDateTime.of(2023, 3, 14, 10, 15, 30),
+                registry.getConverter(LocalDateTime.class).read(resultSet, 1));
+        assertEquals(LocalDate.of(2023, 3, 14), registry.getConverter(LocalDate.class).read(resultSet, 2));
+        assertEquals(uuid, registry.getConverter(UUID.class).read(resultSet, 3));
+        assertEquals(uuid, registry.getConverter(UUID.class).read(resultSet, 4));
+        assertEquals(TimeUnit.SECONDS,
+                registry.getConverter(TimeUnit.class).read(resultSet, 5));
+        assertNull(registry.getConverter(TimeUnit.class).read(resultSet, 6));
+    }
+
+    @Test
+    @DisplayName("UUIDs are bound as text unless the dialect has a native UUID type")
+    void uuidBinding() throws SQLException {
+        var uuid = UUID.randomUUID();
+        var statement = mock(PreparedStatement.class);
+
+        registry.getConverter(UUID.class).bind(statement, 1, uuid);
+        registry.getConverter(UUID.class).bind(statement, 2, null);
+        registry.registerDialectConverters(new H2Dialect());
+        registry.getConverter(UUID.class).bind(statement, 3, uuid);
+        registry.getConverter(UUID.class).bind(statement, 4, null);
+
+        verify(statement).setString(1, uuid.toString());
+        verify(statement).setNull(2, Types.VARCHAR);
+        verify(statement).setObject(3, uuid);
+        verify(statement).setNull(4, Types.OTHER);
+        verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    @DisplayName("Custom converters replace the fallback for their type")
+    void customConverter() throws SQLException {
+        var resultSet = query("SELECT 'abc'");
+        var fallback = registry.getConverter(StringBuilder.class);
+
+        registry.register(new StringBuilderConverter());
+
+        var exception = assertThrows(BibernateException.class, () -> fallback.read(resultSet, 1));
+        assertEquals("Cannot convert value of type String to field type StringBuilder", exception.getMessage());
+        assertEquals("abc", registry.getConverter(StringBuilder.class).read(resultSet, 1).toString());
+    }
+
+    @Test
+    @DisplayName("Custom converters can be registered by class name")
+    void converterByClassName() {
+        registry.register(StringBuilderConverter.class.getName());
+
+        assertInstanceOf(StringBuilderConverter.class, registry.getConverter(StringBuilder.class));
+        assertThrows(BibernateException.class, () -> registry.register(String.class.getName()));
+        assertThrows(BibernateException.class, () -> registry.register("com.example.MissingConverter"));
+    }
+
+    public static class StringBuilderConverter implements TypeConverter<StringBuilder> {
+        @Override
+        public Class<StringBuilder> getJavaType() {
+            return StringBuilder.class;
+        }
+
+        @Override
+        public StringBuilder read(ResultSet resultSet, int columnIndex) throws SQLException {
+            var value = resultSet.getString(columnIndex);
+            return value == null ? null : new StringBuilder(value);
+        }
+    }
+}